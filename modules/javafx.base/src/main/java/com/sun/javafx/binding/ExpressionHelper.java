@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,9 +27,16 @@ package com.sun.javafx.binding;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.beans.value.ObservableFloatValue;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableLongValue;
 import javafx.beans.value.ObservableValue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A convenience class for creating implementations of {@link javafx.beans.value.ObservableValue}.
@@ -51,36 +58,109 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             throw new NullPointerException();
         }
         observable.getValue(); // validate observable
-        return (helper == null)? new SingleInvalidation<T>(observable, listener) : helper.addListener(listener);
+        return (helper == null)? new SingleInvalidation<T>(observable, listener) : transferPendingChange(helper, helper.addListener(listener));
     }
 
     public static <T> ExpressionHelper<T> removeListener(ExpressionHelper<T> helper, InvalidationListener listener) {
         if (listener == null) {
             throw new NullPointerException();
         }
-        return (helper == null)? null : helper.removeListener(listener);
+        return (helper == null)? null : transferPendingChange(helper, helper.removeListener(listener));
     }
 
     public static <T> ExpressionHelper<T> addListener(ExpressionHelper<T> helper, ObservableValue<T> observable, ChangeListener<? super T> listener) {
         if ((observable == null) || (listener == null)) {
             throw new NullPointerException();
         }
-        return (helper == null)? new SingleChange<T>(observable, listener) : helper.addListener(listener);
+        return (helper == null)? new SingleChange<T>(observable, listener) : transferPendingChange(helper, helper.addListener(listener));
     }
 
     public static <T> ExpressionHelper<T> removeListener(ExpressionHelper<T> helper, ChangeListener<? super T> listener) {
         if (listener == null) {
             throw new NullPointerException();
         }
-        return (helper == null)? null : helper.removeListener(listener);
+        return (helper == null)? null : transferPendingChange(helper, helper.removeListener(listener));
     }
 
     public static <T> void fireValueChangedEvent(ExpressionHelper<T> helper) {
         if (helper != null) {
+            if (activeBatches.get() > 0) {
+                final Batch batch = currentBatch.get();
+                if ((batch != null) && !batch.flushing) {
+                    batch.fireValueChangedEvent(helper);
+                    return;
+                }
+            }
             helper.fireValueChangedEvent();
         }
     }
 
+    /**
+     * Runs {@code updates} and defers the notification of change listeners
+     * until it returns. Invalidation listeners are still notified right away,
+     * so the invalidation spreads through the whole binding graph before any
+     * change listener requests a new value. Each observable with change
+     * listeners is notified at most once, dependencies before dependents.
+     * Nested calls join the outermost batch.
+     *
+     * @param updates the updates to run
+     */
+    public static void runAsBatch(Runnable updates) {
+        if (updates == null) {
+            throw new NullPointerException();
+        }
+        if (currentBatch.get() != null) {
+            updates.run();
+            return;
+        }
+        final Batch batch = new Batch();
+        currentBatch.set(batch);
+        activeBatches.incrementAndGet();
+        try {
+            updates.run();
+        } finally {
+            try {
+                batch.flush();
+            } finally {
+                currentBatch.remove();
+                activeBatches.decrementAndGet();
+            }
+        }
+    }
+
+    private static <T> ExpressionHelper<T> transferPendingChange(ExpressionHelper<T> oldHelper, ExpressionHelper<T> newHelper) {
+        if (oldHelper.changePending && (newHelper != oldHelper)) {
+            oldHelper.changePending = false;
+            final Batch batch = currentBatch.get();
+            if (batch != null) {
+                batch.replace(oldHelper, newHelper);
+            }
+        }
+        return newHelper;
+    }
+
+    /**
+     * Checks whether a primitive number observable still holds the value of
+     * {@code oldValue} without boxing its current value. Returns {@code false}
+     * if {@code observable} is not a primitive number value, in which case the
+     * caller has to compare the boxed values.
+     */
+    private static boolean isUnchangedPrimitive(ObservableValue<?> observable, Object oldValue) {
+        if (oldValue instanceof Double && observable instanceof ObservableDoubleValue) {
+            return Double.doubleToLongBits(((ObservableDoubleValue) observable).get()) == Double.doubleToLongBits((Double) oldValue);
+        }
+        if (oldValue instanceof Integer && observable instanceof ObservableIntegerValue) {
+            return ((ObservableIntegerValue) observable).get() == (Integer) oldValue;
+        }
+        if (oldValue instanceof Long && observable instanceof ObservableLongValue) {
+            return ((ObservableLongValue) observable).get() == (Long) oldValue;
+        }
+        if (oldValue instanceof Float && observable instanceof ObservableFloatValue) {
+            return Float.floatToIntBits(((ObservableFloatValue) observable).get()) == Float.floatToIntBits((Float) oldValue);
+        }
+        return false;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Common implementations
 
@@ -98,6 +178,77 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
     protected abstract void fireValueChangedEvent();
 
+    /**
+     * Notifies only the invalidation listeners.
+     *
+     * @return {@code true} if there are change listeners left to notify
+     */
+    protected abstract boolean fireInvalidationEvent();
+
+    /**
+     * Notifies only the change listeners, if the value has changed.
+     */
+    protected abstract void fireChangeEvent();
+
+    protected T getCurrentValue() {
+        return null;
+    }
+
+    /**
+     * Sets the value the change listeners have seen last.
+     *
+     * @return {@code true} if there are change listeners
+     */
+    protected boolean setCurrentValue(T value) {
+        return false;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Batched notification
+
+    // number of threads currently running a batch, avoids the thread local lookup otherwise
+    private static final AtomicInteger activeBatches = new AtomicInteger();
+    private static final ThreadLocal<Batch> currentBatch = new ThreadLocal<>();
+
+    private boolean changePending;
+
+    private static class Batch {
+
+        // helpers with pending change notifications, each one is added after
+        // the helpers of its dependents (post-order of the invalidation)
+        private final List<ExpressionHelper<?>> pending = new ArrayList<>();
+        private boolean flushing;
+
+        private void fireValueChangedEvent(ExpressionHelper<?> helper) {
+            if (helper.fireInvalidationEvent() && !helper.changePending) {
+                helper.changePending = true;
+                pending.add(helper);
+            }
+        }
+
+        private <T> void replace(ExpressionHelper<T> oldHelper, ExpressionHelper<T> newHelper) {
+            if ((newHelper != null) && newHelper.setCurrentValue(oldHelper.getCurrentValue())) {
+                final int index = pending.lastIndexOf(oldHelper);
+                if (index >= 0) {
+                    newHelper.changePending = true;
+                    pending.set(index, newHelper);
+                }
+            }
+        }
+
+        private void flush() {
+            flushing = true;
+            for (int i = pending.size() - 1; i >= 0; i--) {
+                final ExpressionHelper<?> helper = pending.get(i);
+                if (helper.changePending) {
+                    helper.changePending = false;
+                    helper.fireChangeEvent();
+                }
+            }
+            pending.clear();
+        }
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Implementations
 
@@ -138,6 +289,16 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
             }
         }
+
+        @Override
+        protected boolean fireInvalidationEvent() {
+            fireValueChangedEvent();
+            return false;
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+        }
     }
 
     private static class SingleChange<T> extends ExpressionHelper<T> {
@@ -173,7 +334,31 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
         @Override
         protected void fireValueChangedEvent() {
+            fireChangeEvent();
+        }
+
+        @Override
+        protected boolean fireInvalidationEvent() {
+            return true;
+        }
+
+        @Override
+        protected T getCurrentValue() {
+            return currentValue;
+        }
+
+        @Override
+        protected boolean setCurrentValue(T value) {
+            currentValue = value;
+            return true;
+        }
+
+        @Override
+        protected void fireChangeEvent() {
             final T oldValue = currentValue;
+            if (isUnchangedPrimitive(observable, oldValue)) {
+                return;
+            }
             currentValue = observable.getValue();
             final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
             if (changed) {
@@ -192,7 +377,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         private ChangeListener<? super T>[] changeListeners;
         private int invalidationSize;
         private int changeSize;
-        private boolean locked;
+        private int locked; // > 0 while notifying, counts nested notifications
         private T currentValue;
 
         private Generic(ObservableValue<T> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -224,7 +409,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
+                if (locked > 0) {
                     final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
                 } else if (invalidationSize == oldCapacity) {
@@ -255,7 +440,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = invalidationSize - index - 1;
                             final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
+                            if (locked > 0) {
                                 invalidationListeners = new InvalidationListener[invalidationListeners.length];
                                 System.arraycopy(oldListeners, 0, invalidationListeners, 0, index);
                             }
@@ -263,7 +448,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                                 System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
                             }
                             invalidationSize--;
-                            if (!locked) {
+                            if (locked == 0) {
                                 invalidationListeners[invalidationSize] = null; // Let gc do its work
                             }
                         }
@@ -281,7 +466,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
+                if (locked > 0) {
                     final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     changeListeners = Arrays.copyOf(changeListeners, newCapacity);
                 } else if (changeSize == oldCapacity) {
@@ -315,7 +500,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = changeSize - index - 1;
                             final ChangeListener<? super T>[] oldListeners = changeListeners;
-                            if (locked) {
+                            if (locked > 0) {
                                 changeListeners = new ChangeListener[changeListeners.length];
                                 System.arraycopy(oldListeners, 0, changeListeners, 0, index);
                             }
@@ -323,7 +508,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                                 System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
                             }
                             changeSize--;
-                            if (!locked) {
+                            if (locked == 0) {
                                 changeListeners[changeSize] = null; // Let gc do its work
                             }
                         }
@@ -342,7 +527,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             final int curChangeSize = changeSize;
 
             try {
-                locked = true;
+                locked++;
                 for (int i = 0; i < curInvalidationSize; i++) {
                     try {
                         curInvalidationList[i].invalidated(observable);
@@ -350,7 +535,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                         Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
                     }
                 }
-                if (curChangeSize > 0) {
+                if ((curChangeSize > 0) && !isUnchangedPrimitive(observable, currentValue)) {
                     final T oldValue = currentValue;
                     currentValue = observable.getValue();
                     final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
@@ -365,8 +550,68 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                locked--;
+            }
+        }
+
+        @Override
+        protected boolean fireInvalidationEvent() {
+            final InvalidationListener[] curInvalidationList = invalidationListeners;
+            final int curInvalidationSize = invalidationSize;
+
+            try {
+                locked++;
+                for (int i = 0; i < curInvalidationSize; i++) {
+                    try {
+                        curInvalidationList[i].invalidated(observable);
+                    } catch (Exception e) {
+                        Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                    }
+                }
+            } finally {
+                locked--;
+            }
+            return changeSize > 0;
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+            final ChangeListener<? super T>[] curChangeList = changeListeners;
+            final int curChangeSize = changeSize;
+
+            if ((curChangeSize > 0) && !isUnchangedPrimitive(observable, currentValue)) {
+                try {
+                    locked++;
+                    final T oldValue = currentValue;
+                    currentValue = observable.getValue();
+                    final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
+                    if (changed) {
+                        for (int i = 0; i < curChangeSize; i++) {
+                            try {
+                                curChangeList[i].changed(observable, oldValue, currentValue);
+                            } catch (Exception e) {
+                                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                            }
+                        }
+                    }
+                } finally {
+                    locked--;
+                }
+            }
+        }
+
+        @Override
+        protected T getCurrentValue() {
+            return currentValue;
+        }
+
+        @Override
+        protected boolean setCurrentValue(T value) {
+            if (changeSize == 0) {
+                return false;
             }
+            currentValue = value;
+            return true;
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -309,7 +309,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private int setChangeSize;
-        private boolean locked;
+        private int locked;
         private ObservableSet<E> currentValue;
 
         private Generic(ObservableSetValue<E> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -366,7 +366,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
+                if (locked > 0) {
                     final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
                 } else if (invalidationSize == oldCapacity) {
@@ -399,7 +399,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = invalidationSize - index - 1;
                             final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
+                            if (locked > 0) {
                                 invalidationListeners = new InvalidationListener[invalidationListeners.length];
                                 System.arraycopy(oldListeners, 0, invalidationListeners, 0, index+1);
                             }
@@ -407,7 +407,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                                 System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
                             }
                             invalidationSize--;
-                            if (!locked) {
+                            if (locked == 0) {
                                 invalidationListeners[invalidationSize] = null; // Let gc do its work
                             }
                         }
@@ -425,7 +425,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
+                if (locked > 0) {
                     final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     changeListeners = Arrays.copyOf(changeListeners, newCapacity);
                 } else if (changeSize == oldCapacity) {
@@ -461,7 +461,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = changeSize - index - 1;
                             final ChangeListener<? super ObservableSet<E>>[] oldListeners = changeListeners;
-                            if (locked) {
+                            if (locked > 0) {
                                 changeListeners = new ChangeListener[changeListeners.length];
                                 System.arraycopy(oldListeners, 0, changeListeners, 0, index+1);
                             }
@@ -469,7 +469,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                                 System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
                             }
                             changeSize--;
-                            if (!locked) {
+                            if (locked == 0) {
                                 changeListeners[changeSize] = null; // Let gc do its work
                             }
                         }
@@ -487,7 +487,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 setChangeSize = 1;
             } else {
                 final int oldCapacity = setChangeListeners.length;
-                if (locked) {
+                if (locked > 0) {
                     final int newCapacity = (setChangeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     setChangeListeners = Arrays.copyOf(setChangeListeners, newCapacity);
                 } else if (setChangeSize == oldCapacity) {
@@ -523,7 +523,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = setChangeSize - index - 1;
                             final SetChangeListener<? super E>[] oldListeners = setChangeListeners;
-                            if (locked) {
+                            if (locked > 0) {
                                 setChangeListeners = new SetChangeListener[setChangeListeners.length];
                                 System.arraycopy(oldListeners, 0, setChangeListeners, 0, index+1);
                             }
@@ -531,7 +531,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                                 System.arraycopy(oldListeners, index+1, setChangeListeners, index, numMoved);
                             }
                             setChangeSize--;
-                            if (!locked) {
+                            if (locked == 0) {
                                 setChangeListeners[setChangeSize] = null; // Let gc do its work
                             }
                         }
@@ -567,7 +567,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             final SetChangeListener<? super E>[] curListChangeList = setChangeListeners;
             final int curListChangeSize = setChangeSize;
             try {
-                locked = true;
+                locked++;
                 for (int i = 0; i < curInvalidationSize; i++) {
                     curInvalidationList[i].invalidated(observable);
                 }
@@ -619,7 +619,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                locked--;
             }
         }
 
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map with the semantics of a {@code HashMap} that stores up to
+ * {@link #MAX_ARRAY_SIZE} entries as key-value pairs in a single array,
+ * searched linearly, and switches to a {@code HashMap} when it grows beyond
+ * that. An empty map does not allocate any storage.
+ *
+ * Most maps attached to nodes, like their properties, hold only a few entries,
+ * for which a {@code HashMap} with its table and entry objects is several
+ * times larger than the entries themselves.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public final class CompactHashMap<K, V> extends AbstractMap<K, V> {
+
+    static final int MAX_ARRAY_SIZE = 8;
+
+    // keys at even and values at odd indices, null if empty or hashed
+    private Object[] table;
+    private int size;
+    // not null once the map has grown beyond MAX_ARRAY_SIZE
+    private HashMap<K, V> hashMap;
+    private int modCount;
+    private Set<Entry<K, V>> entrySet;
+
+    public CompactHashMap() {
+    }
+
+    public CompactHashMap(Map<? extends K, ? extends V> m) {
+        putAll(m);
+    }
+
+    @Override
+    public int size() {
+        return (hashMap != null)? hashMap.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (hashMap != null)? hashMap.containsKey(key) : indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (hashMap != null) {
+            return hashMap.containsValue(value);
+        }
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(table[2 * i + 1], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (hashMap != null) {
+            return hashMap.get(key);
+        }
+        final int index = indexOf(key);
+        return (index < 0)? null : (V) table[2 * index + 1];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (hashMap != null) {
+            return hashMap.put(key, value);
+        }
+        final int index = indexOf(key);
+        if (index >= 0) {
+            final V old = (V) table[2 * index + 1];
+            table[2 * index + 1] = value;
+            return old;
+        }
+        modCount++;
+        if (size == MAX_ARRAY_SIZE) {
+            hashMap = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                hashMap.put((K) table[2 * i], (V) table[2 * i + 1]);
+            }
+            hashMap.put(key, value);
+            table = null;
+            size = 0;
+            return null;
+        }
+        if (table == null) {
+            table = new Object[4];
+        } else if (2 * size == table.length) {
+            final Object[] newTable = new Object[Math.min(2 * table.length, 2 * MAX_ARRAY_SIZE)];
+            System.arraycopy(table, 0, newTable, 0, table.length);
+            table = newTable;
+        }
+        table[2 * size] = key;
+        table[2 * size + 1] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (hashMap != null) {
+            return hashMap.remove(key);
+        }
+        final int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final V old = (V) table[2 * index + 1];
+        removeAt(index);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        hashMap = null;
+        table = null;
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(table[2 * i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        modCount++;
+        size--;
+        System.arraycopy(table, 2 * index + 2, table, 2 * index, 2 * (size - index));
+        table[2 * size] = null;
+        table[2 * size + 1] = null;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return (hashMap != null)? hashMap.entrySet().iterator() : new ArrayIterator();
+        }
+
+        @Override
+        public int size() {
+            return CompactHashMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            CompactHashMap.this.clear();
+        }
+    }
+
+    private class ArrayIterator implements Iterator<Entry<K, V>> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new ArrayEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    // keeps its key and value after it was removed, like the entries of a HashMap
+    private class ArrayEntry implements Entry<K, V> {
+
+        private final int index;
+        private final K key;
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        private ArrayEntry(int index) {
+            this.index = index;
+            this.key = (K) table[2 * index];
+            this.value = (V) table[2 * index + 1];
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            final V old = this.value;
+            this.value = value;
+            if ((hashMap == null) && (index < size) && (table[2 * index] == key)) {
+                table[2 * index + 1] = value;
+            } else if (containsKey(key)) {
+                put(key, value);
+            }
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> e = (Entry<?, ?>) obj;
+            return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
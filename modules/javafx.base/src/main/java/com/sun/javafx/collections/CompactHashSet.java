@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A set with the semantics of a {@code HashSet} that stores up to
+ * {@link #MAX_ARRAY_SIZE} elements in an array, searched linearly, and
+ * switches to a {@code HashSet} when it grows beyond that. An empty set does
+ * not allocate any storage.
+ *
+ * @param <E> the type of elements
+ * @see CompactHashMap
+ */
+public final class CompactHashSet<E> extends AbstractSet<E> {
+
+    static final int MAX_ARRAY_SIZE = 8;
+
+    // null if empty or hashed
+    private Object[] elements;
+    private int size;
+    // not null once the set has grown beyond MAX_ARRAY_SIZE
+    private HashSet<E> hashSet;
+    private int modCount;
+
+    public CompactHashSet() {
+    }
+
+    public CompactHashSet(Collection<? extends E> c) {
+        addAll(c);
+    }
+
+    @Override
+    public int size() {
+        return (hashSet != null)? hashSet.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return (hashSet != null)? hashSet.contains(o) : indexOf(o) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean add(E e) {
+        if (hashSet != null) {
+            return hashSet.add(e);
+        }
+        if (indexOf(e) >= 0) {
+            return false;
+        }
+        modCount++;
+        if (size == MAX_ARRAY_SIZE) {
+            hashSet = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                hashSet.add((E) elements[i]);
+            }
+            hashSet.add(e);
+            elements = null;
+            size = 0;
+            return true;
+        }
+        if (elements == null) {
+            elements = new Object[2];
+        } else if (size == elements.length) {
+            final Object[] newElements = new Object[Math.min(2 * elements.length, MAX_ARRAY_SIZE)];
+            System.arraycopy(elements, 0, newElements, 0, elements.length);
+            elements = newElements;
+        }
+        elements[size++] = e;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (hashSet != null) {
+            return hashSet.remove(o);
+        }
+        final int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        hashSet = null;
+        elements = null;
+        size = 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return (hashSet != null)? hashSet.iterator() : new ArrayIterator();
+    }
+
+    private int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(elements[i], o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        modCount++;
+        size--;
+        System.arraycopy(elements, index + 1, elements, index, size - index);
+        elements[size] = null;
+    }
+
+    private class ArrayIterator implements Iterator<E> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return (E) elements[last];
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableListBase;
+
+/**
+ * An observable list that can be modified from any thread and notifies its
+ * listeners through an {@code Executor}.
+ *
+ * Modifications are recorded under a lock, without copying the list. Each
+ * one replaces a range of the list with a list of new elements. Reads on
+ * behalf of later modifications, such as the index checks and the results of
+ * {@code set} and {@code remove}, resolve an index through the recorded
+ * modifications down to the published content, which is what {@code get()},
+ * {@code size()} and the iterators return, so they return the same results
+ * as on an ordinary list. Modifications that test every element, such as
+ * {@code removeIf} and {@code sort}, build the pending content for the time
+ * of the call.
+ *
+ * The first modification after a notification submits a task to the
+ * executor. That task applies all modifications recorded until then to the
+ * published content under the lock, and reports them as a single change
+ * built by {@link FXCollections#runAsSingleChange} after releasing it, so
+ * listeners receive one valid change per executor task.
+ *
+ * The executor must run its tasks one at a time: only the notification task
+ * modifies the published content. If it rejects the task, the exception is
+ * thrown to the caller of the modification and the next modification
+ * submits the task again.
+ *
+ * @param <E> the type of the elements
+ */
+public final class ConcurrentObservableList<E> extends ObservableListBase<E> {
+
+    private final Executor notificationExecutor;
+
+    // the content that was reported to the listeners, only modified by the
+    // notification task while it holds lock
+    private final List<E> published = new ArrayList<>();
+    private final List<E> readOnlyPublished = Collections.unmodifiableList(published);
+
+    private final Object lock = new Object();
+    // modifications not applied to the published content yet, guarded by lock
+    private List<Replacement<E>> pending = new ArrayList<>();
+    // the size of the content including the pending modifications, which is
+    // the size of the published content when there are none, guarded by lock
+    private int pendingSize;
+    // whether a notification task was submitted and has not taken the pending
+    // modifications yet, guarded by lock
+    private boolean scheduled;
+
+    public ConcurrentObservableList(Executor notificationExecutor) {
+        this.notificationExecutor = Objects.requireNonNull(notificationExecutor);
+    }
+
+    @Override
+    public E get(int index) {
+        return published.get(index);
+    }
+
+    @Override
+    public int size() {
+        return published.size();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return readOnlyPublished.iterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return readOnlyPublished.listIterator(index);
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        return readOnlyPublished.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public boolean add(E element) {
+        final boolean schedule;
+        synchronized (lock) {
+            record(pendingSize, 0, Collections.singletonList(element));
+            schedule = needsPublish();
+        }
+        submit(schedule);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        final boolean schedule;
+        synchronized (lock) {
+            rangeCheckForAdd(index);
+            record(index, 0, Collections.singletonList(element));
+            schedule = needsPublish();
+        }
+        submit(schedule);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        final List<E> elements = new ArrayList<>(c);
+        if (elements.isEmpty()) {
+            return false;
+        }
+        final boolean schedule;
+        synchronized (lock) {
+            record(pendingSize, 0, elements);
+            schedule = needsPublish();
+        }
+        submit(schedule);
+        return true;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        final List<E> elements = new ArrayList<>(c);
+        final boolean schedule;
+        synchronized (lock) {
+            rangeCheckForAdd(index);
+            if (elements.isEmpty()) {
+                return false;
+            }
+            record(index, 0, elements);
+            schedule = needsPublish();
+        }
+        submit(schedule);
+        return true;
+    }
+
+    @Override
+    public boolean setAll(Collection<? extends E> col) {
+        final List<E> elements = new ArrayList<>(col);
+        final boolean schedule;
+        synchronized (lock) {
+            record(0, pendingSize, elements);
+            schedule = needsPublish();
+        }
+        submit(schedule);
+        return true;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        final E old;
+        final boolean schedule;
+        synchronized (lock) {
+            old = pendingGet(index);
+            record(index, 1, Collections.singletonList(element));
+            schedule = needsPublish();
+        }
+        submit(schedule);
+        return old;
+    }
+
+    @Override
+    public E remove(int index) {
+        final E old;
+        final boolean schedule;
+        synchronized (lock) {
+            old = pendingGet(index);
+            record(index, 1, Collections.emptyList());
+            schedule = needsPublish();
+        }
+        submit(schedule);
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        final boolean schedule;
+        synchronized (lock) {
+            final int index = pendingContent().indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            record(index, 1, Collections.emptyList());
+            schedule = needsPublish();
+        }
+        submit(schedule);
+        return true;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        final boolean schedule;
+        synchronized (lock) {
+            if ((fromIndex < 0) || (toIndex > pendingSize) || (fromIndex > toIndex)) {
+                throw new IndexOutOfBoundsException("from: " + fromIndex + ", to: " + toIndex + ", size: " + pendingSize);
+            }
+            if (fromIndex == toIndex) {
+                return;
+            }
+            record(fromIndex, toIndex - fromIndex, Collections.emptyList());
+            schedule = needsPublish();
+        }
+        submit(schedule);
+    }
+
+    @Override
+    public void clear() {
+        final boolean schedule;
+        synchronized (lock) {
+            if (pendingSize == 0) {
+                return;
+            }
+            record(0, pendingSize, Collections.emptyList());
+            schedule = needsPublish();
+        }
+        submit(schedule);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        final boolean schedule;
+        synchronized (lock) {
+            final List<E> content = pendingContent();
+            final int oldSize = pending.size();
+            // remove from the end so that the indices in content stay valid
+            int to = content.size();
+            while (to > 0) {
+                if (!filter.test(content.get(to - 1))) {
+                    to--;
+                    continue;
+                }
+                int from = to - 1;
+                while ((from > 0) && filter.test(content.get(from - 1))) {
+                    from--;
+                }
+                record(from, to - from, Collections.emptyList());
+                to = from;
+            }
+            if (pending.size() == oldSize) {
+                return false;
+            }
+            schedule = needsPublish();
+        }
+        submit(schedule);
+        return true;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        final boolean schedule;
+        synchronized (lock) {
+            final List<E> elements = pendingContent();
+            elements.replaceAll(operator);
+            record(0, pendingSize, elements);
+            schedule = needsPublish();
+        }
+        submit(schedule);
+    }
+
+    @Override
+    public void sort(Comparator<? super E> c) {
+        final boolean schedule;
+        synchronized (lock) {
+            final List<E> elements = pendingContent();
+            elements.sort(c);
+            record(0, pendingSize, elements);
+            schedule = needsPublish();
+        }
+        submit(schedule);
+    }
+
+    private void rangeCheckForAdd(int index) {
+        if ((index < 0) || (index > pendingSize)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + pendingSize);
+        }
+    }
+
+    // called under lock
+    private void record(int index, int removedSize, List<E> added) {
+        if (removedSize == 0 && added.isEmpty()) {
+            return;
+        }
+        pending.add(new Replacement<>(index, removedSize, added));
+        pendingSize += added.size() - removedSize;
+    }
+
+    // called under lock, returns the element at index in the content
+    // including the pending modifications
+    private E pendingGet(int index) {
+        if ((index < 0) || (index >= pendingSize)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + pendingSize);
+        }
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            final Replacement<E> r = pending.get(i);
+            if (index < r.index) {
+                continue;
+            }
+            if (index < r.index + r.added.size()) {
+                return r.added.get(index - r.index);
+            }
+            index += r.removedSize - r.added.size();
+        }
+        return published.get(index);
+    }
+
+    // called under lock, returns a new list with the content including the
+    // pending modifications
+    private List<E> pendingContent() {
+        final List<E> content = new ArrayList<>(published);
+        for (Replacement<E> r : pending) {
+            final List<E> range = content.subList(r.index, r.index + r.removedSize);
+            range.clear();
+            range.addAll(r.added);
+        }
+        return content;
+    }
+
+    // called under lock after recording a modification, returns whether the
+    // caller has to submit the notification task
+    private boolean needsPublish() {
+        if (scheduled || pending.isEmpty()) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    private void submit(boolean schedule) {
+        if (!schedule) {
+            return;
+        }
+        try {
+            notificationExecutor.execute(this::publish);
+        } catch (RuntimeException | Error e) {
+            // let the next modification submit the task again
+            synchronized (lock) {
+                scheduled = false;
+            }
+            throw e;
+        }
+    }
+
+    private void publish() {
+        FXCollections.runAsSingleChange(this, () -> {
+            synchronized (lock) {
+                for (Replacement<E> r : pending) {
+                    apply(r);
+                }
+                pending = new ArrayList<>();
+                scheduled = false;
+            }
+        });
+    }
+
+    private void apply(Replacement<E> r) {
+        if (r.removedSize > 0) {
+            final List<E> range = published.subList(r.index, r.index + r.removedSize);
+            final List<E> removed = new ArrayList<>(range);
+            range.clear();
+            nextRemove(r.index, removed);
+        }
+        if (!r.added.isEmpty()) {
+            published.addAll(r.index, r.added);
+            nextAdd(r.index, r.index + r.added.size());
+        }
+    }
+
+    /**
+     * A recorded modification: the removedSize elements at index were
+     * replaced by the added ones.
+     */
+    private static final class Replacement<E> {
+        final int index;
+        final int removedSize;
+        final List<E> added;
+
+        Replacement(int index, int removedSize, List<E> added) {
+            this.index = index;
+            this.removedSize = removedSize;
+            this.added = added;
+        }
+    }
+}
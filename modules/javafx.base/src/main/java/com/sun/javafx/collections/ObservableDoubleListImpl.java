@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import javafx.collections.ModifiableObservableListBase;
+import javafx.collections.ObservableDoubleList;
+
+/**
+ * ObservableDoubleList default implementation.
+ * <p>
+ * This class, {@link ObservableIntegerListImpl} and {@link ObservableLongListImpl}
+ * differ only in their element type and are kept in sync by hand, as
+ * {@link ObservableIntegerArrayImpl} and {@link ObservableFloatArrayImpl}
+ * are. Only growing and shifting the array could be shared, since reading
+ * and writing elements without boxing needs the primitive array type, so a
+ * common base class would save little code.
+ */
+public class ObservableDoubleListImpl extends ModifiableObservableListBase<Double> implements ObservableDoubleList {
+
+    private static final double[] INITIAL = new double[0];
+
+    private double[] array = INITIAL;
+    private int size = 0;
+
+    /**
+     * Creates an empty observable double list
+     */
+    public ObservableDoubleListImpl() {
+    }
+
+    /**
+     * Creates an observable double list with a copy of the given values
+     * @param elements initial values to copy to the list
+     */
+    public ObservableDoubleListImpl(double... elements) {
+        array = elements.clone();
+        size = elements.length;
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        rangeCheck(index);
+        return array[index];
+    }
+
+    @Override
+    public double setDouble(int index, double value) {
+        rangeCheck(index);
+        final double old = array[index];
+        array[index] = value;
+        beginChange();
+        nextSet(index, old);
+        endChange();
+        return old;
+    }
+
+    @Override
+    public void addDouble(double value) {
+        addDouble(size, value);
+    }
+
+    @Override
+    public void addDouble(int index, double value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        growCapacity(1);
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+        beginChange();
+        nextAdd(index, index + 1);
+        ++modCount;
+        endChange();
+    }
+
+    @Override
+    public void addAll(double[] elements) {
+        addAll(elements, 0, elements.length);
+    }
+
+    @Override
+    public void addAll(double[] src, int srcIndex, int length) {
+        rangeCheck(src, srcIndex, length);
+        if (length == 0) {
+            return;
+        }
+        growCapacity(length);
+        System.arraycopy(src, srcIndex, array, size, length);
+        size += length;
+        beginChange();
+        nextAdd(size - length, size);
+        ++modCount;
+        endChange();
+    }
+
+    @Override
+    public void setAll(double[] elements) {
+        setAll(elements, 0, elements.length);
+    }
+
+    @Override
+    public void setAll(double[] src, int srcIndex, int length) {
+        rangeCheck(src, srcIndex, length);
+        final double[] old = array;
+        final int oldSize = size;
+        array = Arrays.copyOfRange(src, srcIndex, srcIndex + length);
+        size = length;
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, boxed(old, oldSize));
+        }
+        if (length > 0) {
+            nextAdd(0, length);
+        }
+        ++modCount;
+        endChange();
+    }
+
+    @Override
+    public void copyTo(int srcIndex, double[] dest, int destIndex, int length) {
+        if (srcIndex < 0 || length < 0 || srcIndex + length > size) {
+            throw new ArrayIndexOutOfBoundsException(size);
+        }
+        System.arraycopy(array, srcIndex, dest, destIndex, length);
+    }
+
+    @Override
+    public double[] toDoubleArray(double[] dest) {
+        if (dest == null || dest.length < size) {
+            dest = new double[size];
+        }
+        System.arraycopy(array, 0, dest, 0, size);
+        return dest;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            removeRange(0, size);
+        }
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        final double[] removed = Arrays.copyOfRange(array, fromIndex, toIndex);
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        beginChange();
+        nextRemove(fromIndex, boxed(removed, removed.length));
+        ++modCount;
+        endChange();
+    }
+
+    @Override
+    protected void doAdd(int index, Double element) {
+        Objects.requireNonNull(element);
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        growCapacity(1);
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        size++;
+    }
+
+    @Override
+    protected Double doSet(int index, Double element) {
+        Objects.requireNonNull(element);
+        rangeCheck(index);
+        final double old = array[index];
+        array[index] = element;
+        return old;
+    }
+
+    @Override
+    protected Double doRemove(int index) {
+        rangeCheck(index);
+        final double old = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    private void growCapacity(int length) {
+        final int minCapacity = size + length;
+        final int oldCapacity = array.length;
+        if (minCapacity > array.length) {
+            int newCapacity = oldCapacity + (oldCapacity >> 1);
+            if (newCapacity < minCapacity) newCapacity = minCapacity;
+            array = Arrays.copyOf(array, newCapacity);
+        }
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static void rangeCheck(double[] src, int srcIndex, int length) {
+        if (srcIndex < 0 || length < 0 || srcIndex + length > src.length) {
+            throw new ArrayIndexOutOfBoundsException(src.length);
+        }
+    }
+
+    /**
+     * Returns a view of the first {@code size} values of {@code values}, which
+     * boxes a value only when it is accessed.
+     */
+    private static List<Double> boxed(double[] values, int size) {
+        return new AbstractList<Double>() {
+            @Override
+            public Double get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return values[index];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -26,7 +26,6 @@
 package com.sun.javafx.collections;
 
 import javafx.collections.ModifiableObservableListBase;
-import com.sun.javafx.collections.NonIterableChange.SimplePermutationChange;
 
 import java.util.BitSet;
 import java.util.Collection;
@@ -214,7 +213,9 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
             return;
         }
         int[] perm = getSortHelper().sort((List<? extends Comparable>)backingList);
-        fireChange(new SimplePermutationChange<E>(0, size(), perm, this));
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
     }
 
     @Override
@@ -223,7 +224,9 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
             return;
         }
         int[] perm = getSortHelper().sort(backingList, comparator);
-        fireChange(new SimplePermutationChange<E>(0, size(), perm, this));
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
     }
 
     private SortHelper getSortHelper() {
@@ -237,7 +237,9 @@ public final class ObservableSequentialListWrapper<E> extends ModifiableObservab
             return;
         }
         int[] perm = getSortHelper().sort((List<? extends Comparable>)backingList);
-        fireChange(new NonIterableChange.SimplePermutationChange<E>(0, size(), perm, this));
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
     }
 
     @Override
@@ -246,7 +248,9 @@ public final class ObservableSequentialListWrapper<E> extends ModifiableObservab
             return;
         }
         int[] perm = getSortHelper().sort(backingList, comparator);
-        fireChange(new NonIterableChange.SimplePermutationChange<E>(0, size(), perm, this));
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
     }
 
     private SortHelper getSortHelper() {
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations, in microseconds, with a fixed relative precision.
+ * <p>
+ * Values below {@code 32} are counted exactly. Above that, each power of two
+ * is split into 16 buckets of equal width, so that a value is known to within
+ * about 6% of its magnitude, whatever its magnitude. This keeps the histogram
+ * small, at a few hundred counters for durations of up to a day, and makes
+ * recording a value a constant time operation that does not allocate.
+ * <p>
+ * Values may be recorded from any thread. Reading the histogram while values
+ * are being recorded gives an approximate snapshot.
+ */
+public final class PulseHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_COUNT = SUB_COUNT / 2;
+
+    /**
+     * Largest value that is tracked; larger values are counted as this one.
+     */
+    private static final long MAX_VALUE = (1L << 37) - 1;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(bucketIndex(MAX_VALUE) + 1);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    public PulseHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of the phase this histogram records.
+     */
+    public String getName() {
+        return name;
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        // (value >> shift) is in the upper half of the sub-buckets
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1;
+        return shift * HALF_COUNT + (int) (value >> shift);
+    }
+
+    private static long bucketLowestValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / HALF_COUNT - 1;
+        return ((long) (index - shift * HALF_COUNT)) << shift;
+    }
+
+    private static long bucketHighestValue(int index) {
+        return bucketIndex(MAX_VALUE) == index ? MAX_VALUE : bucketLowestValue(index + 1) - 1;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        record(nanos / 1000L);
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param micros the duration in microseconds
+     */
+    public void record(long micros) {
+        final long value = Math.min(Math.max(micros, 0L), MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(value);
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the longest recorded duration in microseconds, or 0 if none
+     * was recorded.
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Returns the mean of the recorded durations in microseconds, or 0 if
+     * none was recorded.
+     */
+    public double getMean() {
+        final long count = totalCount.get();
+        return count == 0 ? 0.0 : (double) totalValue.get() / count;
+    }
+
+    /**
+     * Returns the duration, in microseconds, that the given percentage of the
+     * recorded durations are at most. The result is the highest value of the
+     * bucket of the percentile, so it is never lower than the exact value,
+     * and is never higher than {@link #getMax()}.
+     *
+     * @param percentile a percentage between 0 and 100
+     * @return the duration in microseconds, or 0 if none was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        final long count = totalCount.get();
+        if (count == 0) {
+            return 0L;
+        }
+        final long target = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0L;
+        final int length = counts.length();
+        for (int i = 0; i < length; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketHighestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Discards all recorded durations.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0L);
+        }
+        totalCount.set(0L);
+        totalValue.set(0L);
+        maxValue.set(0L);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-32s %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                name, getCount(), getMean() / 1000.0,
+                getValueAtPercentile(50.0) / 1000.0,
+                getValueAtPercentile(90.0) / 1000.0,
+                getValueAtPercentile(99.0) / 1000.0,
+                getValueAtPercentile(99.9) / 1000.0,
+                getMax() / 1000.0);
+    }
+}
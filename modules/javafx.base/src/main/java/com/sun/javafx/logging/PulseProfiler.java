@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+import java.io.PrintStream;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the duration of each pulse phase in a {@link PulseHistogram}, so
+ * that percentiles of frame times can be queried from a running application
+ * without attaching a profiler or keeping a log of every pulse.
+ * <p>
+ * The profiler is enabled by setting the system property
+ * {@code javafx.pulseProfiler} to true. Besides the phases named by the
+ * runtime, such as "Animations", "CSS Pass", "Layout Pass", "Copy state to
+ * render graph", "Painting" and "Presenting", it records the whole pulse
+ * on the FX thread as {@value #PULSE} and the whole rendering of a pulse
+ * as {@value #RENDER}.
+ * <p>
+ * Applications can get the profiler with {@link #getInstance()}, query its
+ * histograms, and {@link #dump dump} or {@link #reset reset} them, for
+ * example periodically to report frame time percentiles. Since this package
+ * is only exported to the JavaFX modules, an application must be run with
+ * {@code --add-exports javafx.base/com.sun.javafx.logging=<module>}, where
+ * {@code <module>} is the name of the application module or
+ * {@code ALL-UNNAMED}, to call these methods.
+ */
+public final class PulseProfiler extends Logger {
+
+    /**
+     * Name of the histogram of the time spent by pulses on the FX thread.
+     */
+    public static final String PULSE = "Pulse";
+
+    /**
+     * Name of the histogram of the time spent rendering pulses.
+     */
+    public static final String RENDER = "Render";
+
+    private static volatile PulseProfiler instance;
+
+    private final Map<String, PulseHistogram> histograms = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<PhaseData> phaseData = ThreadLocal.withInitial(PhaseData::new);
+
+    private long pulseStartTime;
+    private volatile long renderStartTime;
+
+    private static final class PhaseData {
+        String phaseName;
+        long phaseStart;
+    }
+
+    private PulseProfiler() {
+    }
+
+    public static Logger createInstance() {
+        boolean enabled = AccessController.doPrivileged(
+                (PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.pulseProfiler"));
+        if (enabled) {
+            instance = new PulseProfiler();
+            return instance;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the profiler, or null if it is not enabled.
+     */
+    public static PulseProfiler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the histogram of the given phase, creating it if needed.
+     */
+    public PulseHistogram getHistogram(String phase) {
+        PulseHistogram histogram = histograms.get(phase);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(phase, PulseHistogram::new);
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns the histograms of all phases recorded so far, sorted by name.
+     */
+    public List<PulseHistogram> getHistograms() {
+        List<PulseHistogram> list = new ArrayList<>(histograms.values());
+        Collections.sort(list, (a, b) -> a.getName().compareTo(b.getName()));
+        return list;
+    }
+
+    /**
+     * Discards the durations recorded so far.
+     */
+    public void reset() {
+        for (PulseHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Prints a table of the recorded durations of each phase, in
+     * milliseconds.
+     */
+    public void dump(PrintStream out) {
+        out.println(String.format("%-32s %8s %9s %9s %9s %9s %9s %9s",
+                "Phase", "Count", "Mean", "p50", "p90", "p99", "p99.9", "Max"));
+        for (PulseHistogram histogram : getHistograms()) {
+            out.println(histogram);
+        }
+    }
+
+    @Override
+    public void pulseStart() {
+        pulseStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void pulseEnd() {
+        newPhase(null);
+        if (pulseStartTime != 0) {
+            getHistogram(PULSE).recordNanos(System.nanoTime() - pulseStartTime);
+            pulseStartTime = 0;
+        }
+    }
+
+    @Override
+    public void renderStart() {
+        newPhase(null); // finish the current phase on the FX thread
+        renderStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void renderEnd() {
+        newPhase(null); // finish the current phase on the render thread
+        final long start = renderStartTime;
+        if (start != 0) {
+            getHistogram(RENDER).recordNanos(System.nanoTime() - start);
+            renderStartTime = 0;
+        }
+    }
+
+    @Override
+    public void newPhase(String name) {
+        final long curTime = System.nanoTime();
+        final PhaseData curPhase = phaseData.get();
+        if (curPhase.phaseName != null) {
+            getHistogram(curPhase.phaseName).recordNanos(curTime - curPhase.phaseStart);
+        }
+        curPhase.phaseName = name;
+        curPhase.phaseStart = curTime;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,8 +26,12 @@
 package com.sun.javafx.property;
 
 import com.sun.javafx.reflect.MethodUtil;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import com.sun.javafx.reflect.ReflectUtil;
@@ -83,6 +87,107 @@ public class MethodHelper {
         return MethodUtil.invoke(m, obj, params);
     }
 
+    // Wraps the exceptions thrown by the method of a handle created by
+    // createMethodHandle, to tell them from a failed argument conversion
+    private static final class TargetException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TargetException(Throwable cause) {
+            super(null, cause, false, false);
+        }
+    }
+
+    private static final MethodHandle WRAP_TARGET_EXCEPTION;
+    static {
+        try {
+            WRAP_TARGET_EXCEPTION = MethodHandles.lookup().findStatic(MethodHelper.class,
+                    "wrapTargetException", MethodType.methodType(Object.class, Throwable.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static Object wrapTargetException(Throwable t) {
+        throw new TargetException(t);
+    }
+
+    /**
+     * Creates a method handle for {@code m} that can be passed to
+     * {@link #invoke(MethodHandle, Method, Object, Object[])} in order to call
+     * the method directly instead of through reflection.
+     *
+     * The handle is looked up with the public lookup, which has no privileges
+     * of its own: it only succeeds for public methods of public classes in
+     * packages that are exported unconditionally, and it refuses
+     * caller-sensitive methods. In all other cases {@code null} is returned
+     * and the method has to be invoked through the trampoline.
+     *
+     * @param m the method, may be {@code null}
+     * @return the method handle, or {@code null}
+     */
+    public static MethodHandle createMethodHandle(Method m) {
+        if (m == null) {
+            return null;
+        }
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(m);
+            // The receiver and the arguments are converted outside of this
+            // handler, so their conversion failures are not wrapped
+            handle = MethodHandles.catchException(handle, Throwable.class,
+                    WRAP_TARGET_EXCEPTION.asType(MethodType.methodType(handle.type().returnType(), Throwable.class)));
+            if (Modifier.isStatic(m.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            final int paramCount = m.getParameterCount();
+            return handle.asType(MethodType.genericMethodType(paramCount + 1))
+                    .asSpreader(Object[].class, paramCount);
+        } catch (IllegalAccessException | SecurityException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Invokes {@code m} through {@code handle} if it is not {@code null} and
+     * through {@link #invoke(Method, Object, Object[])} otherwise.
+     *
+     * @param handle the method handle created by {@link #createMethodHandle}
+     * for {@code m}, or {@code null}
+     * @param m the method
+     * @param obj the object the method is invoked on
+     * @param params the arguments, may be {@code null} if there are none
+     * @return the result of the method
+     * @throws InvocationTargetException if the method throws an exception
+     * @throws IllegalAccessException if the method is not accessible
+     * @throws IllegalArgumentException if {@code obj} is not an instance of
+     * the class of the method, or if the arguments do not match its parameters
+     * @throws NullPointerException if {@code obj} is {@code null} and the
+     * method is an instance method
+     */
+    public static Object invoke(MethodHandle handle, Method m, Object obj, Object[] params)
+            throws InvocationTargetException, IllegalAccessException {
+
+        if (handle == null) {
+            return invoke(m, obj, params);
+        }
+        if (obj == null && !Modifier.isStatic(m.getModifiers())) {
+            throw new NullPointerException();
+        }
+        try {
+            return (Object) handle.invokeExact(obj, params);
+        } catch (TargetException ex) {
+            throw new InvocationTargetException(ex.getCause());
+        } catch (ClassCastException | NullPointerException ex) {
+            // obj or an argument could not be converted to the parameter type
+            throw new IllegalArgumentException("argument type mismatch", ex);
+        } catch (RuntimeException | Error ex) {
+            // such as a wrong number of arguments
+            throw ex;
+        } catch (Throwable t) {
+            // the conversions only throw unchecked exceptions
+            throw new InvocationTargetException(t);
+        }
+    }
+
     // Utility class, do not instantiate
     private MethodHelper() {
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,9 +27,12 @@ package com.sun.javafx.property;
 
 import static java.security.AccessController.doPrivileged;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javafx.beans.property.ReadOnlyProperty;
 
@@ -39,13 +42,17 @@ import com.sun.javafx.reflect.ReflectUtil;
  * A handle to a specific property defined on some {@link Bean}.
  */
 public final class PropertyReference<T> {
+    // reflected accessors, shared by all references to the same property
+    private static final ClassValue<Map<String, Accessors>> ACCESSORS = new ClassValue<Map<String, Accessors>>() {
+        @Override
+        protected Map<String, Accessors> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private String name;
-    private Method getter;
-    private Method setter;
-    private Method propertyGetter;
     private Class<?> clazz;
-    private Class<?> type;
-    private boolean reflected = false;
+    private Accessors accessors;
 
     // uses reflection to implement the get / set methods
     /**
@@ -78,8 +85,7 @@ public final class PropertyReference<T> {
      * @return {@code true}, if the property can be set, {@code false} otherwise
      */
     public boolean isWritable() {
-        reflect();
-        return setter != null;
+        return reflect().setter != null;
     }
 
     /**
@@ -88,8 +94,7 @@ public final class PropertyReference<T> {
      * @return {@code true}, if the property can be get, {@code false} otherwise
      */
     public boolean isReadable() {
-        reflect();
-        return getter != null;
+        return reflect().getter != null;
     }
 
     /**
@@ -99,8 +104,7 @@ public final class PropertyReference<T> {
      * @return
      */
     public boolean hasProperty() {
-        reflect();
-        return propertyGetter != null;
+        return reflect().propertyGetter != null;
     }
 
     /**
@@ -128,8 +132,7 @@ public final class PropertyReference<T> {
      * @return the type of the property
      */
     public Class<?> getType() {
-        reflect();
-        return type;
+        return reflect().type;
     }
 
     /**
@@ -146,9 +149,10 @@ public final class PropertyReference<T> {
         if (!isWritable())
             throw new IllegalStateException(
                     "Cannot write to readonly property " + name);
-        assert setter != null;
+        final Accessors a = reflect();
+        assert a.setter != null;
         try {
-            MethodHelper.invoke(setter, bean, new Object[] {value});
+            MethodHelper.invoke(a.setterHandle, a.setter, bean, new Object[] {value});
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -169,9 +173,10 @@ public final class PropertyReference<T> {
         if (!isReadable())
             throw new IllegalStateException(
                     "Cannot read from unreadable property " + name);
-        assert getter != null;
+        final Accessors a = reflect();
+        assert a.getter != null;
         try {
-            return (T)MethodHelper.invoke(getter, bean, (Object[])null);
+            return (T)MethodHelper.invoke(a.getterHandle, a.getter, bean, (Object[])null);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -192,9 +197,10 @@ public final class PropertyReference<T> {
     public ReadOnlyProperty<T> getProperty(Object bean) {
         if (!hasProperty())
             throw new IllegalStateException("Cannot get property " + name);
-        assert propertyGetter != null;
+        final Accessors a = reflect();
+        assert a.propertyGetter != null;
         try {
-            return (ReadOnlyProperty<T>)MethodHelper.invoke(propertyGetter, bean, (Object[])null);
+            return (ReadOnlyProperty<T>)MethodHelper.invoke(a.propertyGetterHandle, a.propertyGetter, bean, (Object[])null);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -208,11 +214,23 @@ public final class PropertyReference<T> {
         return name;
     }
 
-    private void reflect() {
-        // If both the getter and setter are null then we have not reflected
-        // on this property before
-        if (!reflected) {
-            reflected = true;
+    private Accessors reflect() {
+        if (accessors == null) {
+            accessors = ACCESSORS.get(clazz).computeIfAbsent(name, n -> new Accessors(clazz, n));
+        }
+        return accessors;
+    }
+
+    private static final class Accessors {
+        private Method getter;
+        private Method setter;
+        private Method propertyGetter;
+        private Class<?> type;
+        private MethodHandle getterHandle;
+        private MethodHandle setterHandle;
+        private MethodHandle propertyGetterHandle;
+
+        private Accessors(Class<?> clazz, String name) {
             try {
                 // Since we use it in several places, construct the
                 // first-letter-capitalized version of name
@@ -298,6 +316,9 @@ public final class PropertyReference<T> {
             } catch (RuntimeException e) {
                 System.err.println("Failed to introspect property " + name);
             }
+            getterHandle = MethodHelper.createMethodHandle(getter);
+            setterHandle = MethodHelper.createMethodHandle(setter);
+            propertyGetterHandle = MethodHelper.createMethodHandle(propertyGetter);
         }
     }
 
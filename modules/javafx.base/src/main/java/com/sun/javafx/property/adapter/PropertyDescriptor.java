@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -34,6 +34,7 @@ import javafx.beans.value.ObservableValue;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyVetoException;
 import java.beans.VetoableChangeListener;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
@@ -51,15 +52,21 @@ public class PropertyDescriptor extends ReadOnlyPropertyDescriptor {
     private static final int REMOVE_VETOABLE_LISTENER_TAKES_NAME = 2;
 
     private final Method setter;
+    private final MethodHandle setterHandle;
     private final Method addVetoListener;
     private final Method removeVetoListener;
     private final int flags;
 
     public Method getSetter() {return setter;}
 
+    public void invokeSetter(Object bean, Object value) throws InvocationTargetException, IllegalAccessException {
+        MethodHelper.invoke(setterHandle, setter, bean, new Object[] {value});
+    }
+
     public PropertyDescriptor(String propertyName, Class<?> beanClass, Method getter, Method setter) {
         super(propertyName, beanClass, getter);
         this.setter = setter;
+        this.setterHandle = MethodHelper.createMethodHandle(setter);
 
         Method tmpAddVetoListener = null;
         Method tmpRemoveVetoListener = null;
@@ -158,7 +165,7 @@ public class PropertyDescriptor extends ReadOnlyPropertyDescriptor {
             } else if (!updating) {
                 updating = true;
                 try {
-                    MethodHelper.invoke(setter, bean, new Object[] {newValue});
+                    invokeSetter(bean, newValue);
                     property.fireValueChangedEvent();
                 } catch (IllegalAccessException e) {
                     // ignore
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -30,10 +30,12 @@ import javafx.beans.property.adapter.ReadOnlyJavaBeanProperty;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.lang.invoke.MethodHandle;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
+import com.sun.javafx.property.MethodHelper;
 import com.sun.javafx.reflect.ReflectUtil;
 
 import static java.util.Locale.ENGLISH;
@@ -54,6 +56,7 @@ public class ReadOnlyPropertyDescriptor {
     protected final String name;
     protected final Class<?> beanClass;
     private final Method getter;
+    private final MethodHandle getterHandle;
     private final Class<?> type;
 
     private final Method addChangeListener;
@@ -64,12 +67,17 @@ public class ReadOnlyPropertyDescriptor {
     public Method getGetter() {return getter;}
     public Class<?> getType() {return type;}
 
+    public Object invokeGetter(Object bean) throws InvocationTargetException, IllegalAccessException {
+        return MethodHelper.invoke(getterHandle, getter, bean, (Object[])null);
+    }
+
     public ReadOnlyPropertyDescriptor(String propertyName, Class<?> beanClass, Method getter) {
         ReflectUtil.checkPackageAccess(beanClass);
 
         this.name = propertyName;
         this.beanClass = beanClass;
         this.getter = getter;
+        this.getterHandle = MethodHelper.createMethodHandle(getter);
         this.type = getter.getReturnType();
 
         Method tmpAddChangeListener = null;
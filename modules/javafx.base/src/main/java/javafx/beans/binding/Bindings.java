@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -53,6 +53,7 @@ import com.sun.javafx.binding.BidirectionalBinding;
 import com.sun.javafx.binding.BidirectionalContentBinding;
 import com.sun.javafx.binding.ContentBinding;
 import com.sun.javafx.binding.DoubleConstant;
+import com.sun.javafx.binding.ExpressionHelper;
 import com.sun.javafx.binding.FloatConstant;
 import com.sun.javafx.binding.IntegerConstant;
 import com.sun.javafx.binding.Logging;
@@ -1207,6 +1208,52 @@ public final class Bindings {
 
 
 
+    // =================================================================================================================
+    // Batched Updates
+
+    /**
+     * Runs the given updates and defers the notification of the
+     * {@link javafx.beans.value.ChangeListener ChangeListeners} of single
+     * value properties and bindings until they are done.
+     * <p>
+     * {@link InvalidationListener InvalidationListeners} are notified
+     * immediately, so the invalidation of all modified properties spreads
+     * through the dependent bindings before any of them is evaluated. When the
+     * updates are done, the change listeners of every observable value that
+     * was invalidated are notified once, dependencies before their dependents.
+     * A binding that is reachable from several modified properties, for
+     * example the bottom of a diamond-shaped dependency graph, is thus
+     * computed at most once and its change listeners never observe an
+     * intermediate state in which only some of the updates are applied.
+     * <p>
+     * Only the change listeners of the single value properties and bindings
+     * of {@code javafx.beans.property}, {@code javafx.beans.property.adapter}
+     * and {@code javafx.beans.binding}, and of subclasses of
+     * {@link javafx.beans.value.ObservableValueBase}, are deferred. The
+     * following listeners are still notified immediately:
+     * <ul>
+     * <li>{@link javafx.collections.ListChangeListener ListChangeListeners},
+     * {@link javafx.collections.SetChangeListener SetChangeListeners} and
+     * {@link javafx.collections.MapChangeListener MapChangeListeners}</li>
+     * <li>change listeners of list, set and map properties and bindings, such
+     * as {@link javafx.beans.property.ListProperty}</li>
+     * <li>change listeners of other implementations of
+     * {@link javafx.beans.value.ObservableValue}</li>
+     * </ul>
+     * <p>
+     * A typical use is to wrap all modifications of one animation frame, for
+     * example in {@code AnimationTimer.handle()}, in a single batch.
+     * Nested calls become part of the outermost batch. Batches are confined to
+     * the calling thread.
+     *
+     * @param updates the updates to run
+     * @throws NullPointerException if {@code updates} is {@code null}
+     * @since 15
+     */
+    public static void runAsBatch(Runnable updates) {
+        ExpressionHelper.runAsBatch(updates);
+    }
+
     // =================================================================================================================
     // Negation
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,7 +26,6 @@
 package javafx.beans.property.adapter;
 
 import com.sun.javafx.binding.ExpressionHelper;
-import com.sun.javafx.property.MethodHelper;
 import com.sun.javafx.property.adapter.Disposer;
 import com.sun.javafx.property.adapter.PropertyDescriptor;
 import javafx.beans.InvalidationListener;
@@ -116,8 +115,7 @@ public final class JavaBeanIntegerProperty extends IntegerProperty implements Ja
     public int get() {
         return AccessController.doPrivileged((PrivilegedAction<Integer>) () -> {
             try {
-                return ((Number)MethodHelper.invoke(
-                    descriptor.getGetter(), getBean(), (Object[])null)).intValue();
+                return ((Number)descriptor.invokeGetter(getBean())).intValue();
             } catch (IllegalAccessException e) {
                 throw new UndeclaredThrowableException(e);
             } catch (InvocationTargetException e) {
@@ -140,7 +138,7 @@ public final class JavaBeanIntegerProperty extends IntegerProperty implements Ja
         }
         AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
             try {
-                MethodHelper.invoke(descriptor.getSetter(), getBean(), new Object[] {value});
+                descriptor.invokeSetter(getBean(), value);
                 ExpressionHelper.fireValueChangedEvent(helper);
             } catch (IllegalAccessException e) {
                 throw new UndeclaredThrowableException(e);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -37,8 +37,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -46,15 +44,22 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import javafx.beans.InvalidationListener;
 
+import com.sun.javafx.collections.CompactHashMap;
+import com.sun.javafx.collections.CompactHashSet;
+import com.sun.javafx.collections.ConcurrentObservableList;
 import com.sun.javafx.collections.ObservableListWrapper;
 import com.sun.javafx.collections.ObservableMapWrapper;
 import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
+import com.sun.javafx.collections.ObservableDoubleListImpl;
 import com.sun.javafx.collections.ObservableIntegerArrayImpl;
+import com.sun.javafx.collections.ObservableIntegerListImpl;
+import com.sun.javafx.collections.ObservableLongListImpl;
 import com.sun.javafx.collections.ObservableSequentialListWrapper;
 import com.sun.javafx.collections.SetAdapterChange;
 import com.sun.javafx.collections.SortableList;
@@ -164,8 +169,9 @@ public class FXCollections {
     }
 
     /**
-     * Constructs an ObservableSet backed by a HashSet
-     * that contains all the specified elements.
+     * Constructs an ObservableSet backed by a hash set
+     * that contains all the specified elements. Small sets keep their
+     * elements in an array and switch to a HashSet when they grow.
      * @param <E> The type of List to be wrapped
      * @param elements elements that will be added into returned ObservableSet
      * @return a newly created ObservableSet
@@ -175,7 +181,7 @@ public class FXCollections {
         if (elements == null) {
             throw new NullPointerException();
         }
-        Set<E> set = new HashSet<E>(elements.length);
+        Set<E> set = new CompactHashSet<E>();
         Collections.addAll(set, elements);
         return new ObservableSetWrapper<E>(set);
     }
@@ -306,6 +312,69 @@ public class FXCollections {
         return new ObservableFloatArrayImpl(array);
     }
 
+    /**
+     * Creates a new empty observable list of {@code Integer} values that are
+     * stored in an {@code int[]} array.
+     * @return a newly created ObservableIntegerList
+     * @since 15
+     */
+    public static ObservableIntegerList observableIntegerList() {
+        return new ObservableIntegerListImpl();
+    }
+
+    /**
+     * Creates a new observable list of {@code Integer} values that are
+     * stored in an {@code int[]} array, with {@code values} set to it.
+     * @param values the values that will be in the new list
+     * @return a newly created ObservableIntegerList
+     * @since 15
+     */
+    public static ObservableIntegerList observableIntegerList(int... values) {
+        return new ObservableIntegerListImpl(values);
+    }
+
+    /**
+     * Creates a new empty observable list of {@code Long} values that are
+     * stored in a {@code long[]} array.
+     * @return a newly created ObservableLongList
+     * @since 15
+     */
+    public static ObservableLongList observableLongList() {
+        return new ObservableLongListImpl();
+    }
+
+    /**
+     * Creates a new observable list of {@code Long} values that are
+     * stored in a {@code long[]} array, with {@code values} set to it.
+     * @param values the values that will be in the new list
+     * @return a newly created ObservableLongList
+     * @since 15
+     */
+    public static ObservableLongList observableLongList(long... values) {
+        return new ObservableLongListImpl(values);
+    }
+
+    /**
+     * Creates a new empty observable list of {@code Double} values that are
+     * stored in a {@code double[]} array.
+     * @return a newly created ObservableDoubleList
+     * @since 15
+     */
+    public static ObservableDoubleList observableDoubleList() {
+        return new ObservableDoubleListImpl();
+    }
+
+    /**
+     * Creates a new observable list of {@code Double} values that are
+     * stored in a {@code double[]} array, with {@code values} set to it.
+     * @param values the values that will be in the new list
+     * @return a newly created ObservableDoubleList
+     * @since 15
+     */
+    public static ObservableDoubleList observableDoubleList(double... values) {
+        return new ObservableDoubleListImpl(values);
+    }
+
     /**
      * Creates a new empty observable list that is backed by an arraylist.
      * @see #observableList(java.util.List)
@@ -331,6 +400,42 @@ public class FXCollections {
         return observableList(new ArrayList(), extractor);
     }
 
+    /**
+     * Creates a new empty observable list that can be modified from any
+     * thread and notifies its listeners through {@code notificationExecutor}.
+     * <p>
+     * Modifications take effect immediately for subsequent modifications,
+     * whatever thread they come from, and return the same results as on an
+     * ordinary list. The content that can be read from the list however only
+     * changes when its listeners are notified: all modifications made since
+     * the last notification are applied in a single task submitted to
+     * {@code notificationExecutor}, and reported as a single {@link Change}.
+     * <p>
+     * A list that is shown in the scene graph is typically created with
+     * {@code FXCollections.concurrentObservableList(Platform::runLater)}, so
+     * that a background thread can add or remove elements without copying the
+     * list, and the controls receive one incremental change per executor
+     * task. Listeners should be added and the content should be read on the
+     * thread of {@code notificationExecutor}. The iterators and sub lists of
+     * the returned list are read only.
+     * <p>
+     * {@code notificationExecutor} must run its tasks one at a time, as
+     * {@code Platform::runLater} or a single thread executor do. If it rejects
+     * a task, the exception is thrown from the modification that submitted it,
+     * and the pending modifications are applied by the task submitted for the
+     * next modification.
+     *
+     * @param <E> The type of List to be created
+     * @param notificationExecutor the executor that applies the modifications
+     * and notifies the listeners; it must not run two tasks concurrently
+     * @return a newly created ObservableList
+     * @throws NullPointerException if {@code notificationExecutor} is {@code null}
+     * @since 15
+     */
+    public static <E> ObservableList<E> concurrentObservableList(Executor notificationExecutor) {
+        return new ConcurrentObservableList<>(notificationExecutor);
+    }
+
     /**
      * Creates a new observable array list with {@code items} added to it.
      * @param <E> The type of List to be wrapped
@@ -358,13 +463,15 @@ public class FXCollections {
     }
 
     /**
-     * Creates a new empty observable map that is backed by a HashMap.
+     * Creates a new empty observable map that is backed by a hash map.
+     * Small maps keep their entries in an array and switch to a HashMap
+     * when they grow.
      * @param <K> the type of the wrapped key
      * @param <V> the type of the wrapped value
      * @return a newly created observable HashMap
      */
     public static <K,V> ObservableMap<K,V> observableHashMap() {
-        return observableMap(new HashMap<K, V>());
+        return observableMap(new CompactHashMap<K, V>());
     }
 
     /**
@@ -702,6 +809,63 @@ public class FXCollections {
         }
     }
 
+    /**
+     * Runs the given modifications of an observable list and notifies the
+     * listeners of the list with a <b>single</b> change once they are done.
+     * <p>
+     * Any number of adds, removes, sets, permutations and updates can be
+     * made to the list by {@code changes}. They are reported as one
+     * {@link ListChangeListener.Change} that describes the difference between
+     * the list before and after the call, whatever the order of the
+     * modifications was: a permutation if the elements that were kept are no
+     * longer in the same order, the ranges of removed and added elements, and
+     * the elements that were kept and updated. Listeners, such as the
+     * {@link javafx.collections.transformation.FilteredList} and
+     * {@link javafx.collections.transformation.SortedList} built on the list
+     * or the controls showing it, process one change instead of one change
+     * per modification. No listener is notified while {@code changes} runs,
+     * not even if it throws an exception, in which case the modifications
+     * made until then are reported before the exception is propagated.
+     * <p>
+     * Calls may be nested, in which case the listeners are notified when the
+     * outermost call returns. The changes of lists created by
+     * {@code FXCollections} and of lists extending {@link ObservableListBase}
+     * are coalesced; the listeners of other lists are notified as usual.
+     * <p>
+     * For example:
+     * <pre>
+     * FXCollections.runAsSingleChange(quotes, () -&gt; {
+     *     for (Quote q : updates) {
+     *         quotes.set(indexOf(q), q);
+     *     }
+     *     quotes.removeIf(Quote::isExpired);
+     * });
+     * </pre>
+     * @param list the list that is modified
+     * @param changes the modifications to make to the list
+     * @since 15
+     */
+    public static void runAsSingleChange(ObservableList<?> list, Runnable changes) {
+        if (list instanceof SynchronizedObservableList) {
+            final SynchronizedObservableList<?> sync = (SynchronizedObservableList<?>) list;
+            synchronized (sync.mutex) {
+                runAsSingleChange(sync.backingList, changes);
+            }
+        } else if (list instanceof CheckedObservableList) {
+            runAsSingleChange(((CheckedObservableList<?>) list).list, changes);
+        } else if (list instanceof ObservableListBase) {
+            final ObservableListBase<?> base = (ObservableListBase<?>) list;
+            base.beginSingleChange();
+            try {
+                changes.run();
+            } finally {
+                base.endChange();
+            }
+        } else {
+            changes.run();
+        }
+    }
+
     private static class EmptyObservableList<E> extends AbstractList<E> implements ObservableList<E> {
 
         private static final ListIterator iterator = new ListIterator() {
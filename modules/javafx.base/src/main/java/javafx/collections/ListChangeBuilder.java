@@ -27,6 +27,8 @@ package javafx.collections;
 
 import com.sun.javafx.collections.ChangeHelper;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +46,7 @@ final class ListChangeBuilder<E> {
     private List<SubChange<E>> addRemoveChanges;
     private List<SubChange<E>> updateChanges;
     private SubChange<E> permutationChange;
+    private Batch<E> batch;
 
     private void checkAddRemoveList() {
         if (addRemoveChanges == null) {
@@ -195,6 +198,10 @@ final class ListChangeBuilder<E> {
 
     public void nextRemove(int idx, E removed) {
         checkState();
+        if (batch != null) {
+            batch.remove(idx, removed);
+            return;
+        }
         checkAddRemoveList();
 
         final SubChange<E> last = addRemoveChanges.isEmpty() ? null
@@ -241,6 +248,10 @@ final class ListChangeBuilder<E> {
 
     public void nextAdd(int from, int to) {
         checkState();
+        if (batch != null) {
+            batch.add(from, to);
+            return;
+        }
         checkAddRemoveList();
         final SubChange<E> last = addRemoveChanges.isEmpty() ? null :
                 addRemoveChanges.get(addRemoveChanges.size() - 1);
@@ -275,6 +286,10 @@ final class ListChangeBuilder<E> {
 
     public void nextPermutation(int from, int to, int[] perm) {
         checkState();
+        if (batch != null) {
+            batch.permute(from, to, perm);
+            return;
+        }
 
         int prePermFrom = from;
         int prePermTo = to;
@@ -457,6 +472,10 @@ final class ListChangeBuilder<E> {
 
     public void nextUpdate(int idx) {
         checkState();
+        if (batch != null) {
+            batch.update(idx);
+            return;
+        }
         if (updateChanges == null) {
             updateChanges = new ArrayList<SubChange<E>>();
         }
@@ -469,6 +488,14 @@ final class ListChangeBuilder<E> {
     }
 
     private void commit() {
+        if (changeLock == 0 && batch != null) {
+            checkAddRemoveList();
+            if (updateChanges == null) {
+                updateChanges = new ArrayList<SubChange<E>>();
+            }
+            permutationChange = batch.toSubChanges(addRemoveChanges, updateChanges);
+            batch = null;
+        }
         final boolean addRemoveNotEmpty = addRemoveChanges != null && !addRemoveChanges.isEmpty();
         final boolean updateNotEmpty = updateChanges != null && !updateChanges.isEmpty();
         if (changeLock == 0
@@ -533,6 +560,19 @@ final class ListChangeBuilder<E> {
         changeLock++;
     }
 
+    /**
+     * Begins a change block whose modifications are recorded by a
+     * {@link Batch} instead of being merged into the sub changes one by one,
+     * unless a block is already open. A Batch derives a valid Change from any
+     * sequence of modifications, see FXCollections.runAsSingleChange.
+     */
+    public void beginSingleChange() {
+        if (changeLock == 0) {
+            batch = new Batch<E>(list.size());
+        }
+        changeLock++;
+    }
+
     public void endChange() {
         if (changeLock <= 0) {
             throw new IllegalStateException("Called endChange before beginChange");
@@ -560,6 +600,265 @@ final class ListChangeBuilder<E> {
         return c;
     }
 
+    /**
+     * Records the modifications of a block begun by beginSingleChange.
+     *
+     * The current list is kept as a sequence of runs. A run is either a range
+     * of elements that were in the list when the block began, identified by
+     * the index of its first element then, or a range of added elements. The
+     * removed elements and the updated ones are remembered by their index in
+     * the list when the block began. When the block ends, the sub changes are
+     * derived from the runs: a permutation of the old elements if they are no
+     * longer in their original order, then the removed and added ranges, then
+     * the updated elements that were kept. The result does not depend on the
+     * order of the modifications, which is what makes it valid for any
+     * sequence of them, and it costs time in the number of runs instead of in
+     * the size of the list unless elements are permutated.
+     */
+    private static final class Batch<E> {
+
+        private static final int ADDED = -1;
+
+        private final int size;
+        private int[] origins = new int[8];
+        private int[] lengths = new int[8];
+        private int runs;
+        private Map<Integer, E> removed;
+        private BitSet updated;
+
+        Batch(int size) {
+            this.size = size;
+            if (size > 0) {
+                origins[0] = 0;
+                lengths[0] = size;
+                runs = 1;
+            }
+        }
+
+        void add(int from, int to) {
+            final int i = split(from);
+            if (i > 0 && origins[i - 1] == ADDED) {
+                lengths[i - 1] += to - from;
+            } else {
+                insertRun(i, ADDED, to - from);
+            }
+        }
+
+        void remove(int idx, E element) {
+            final int i = split(idx);
+            if (origins[i] != ADDED) {
+                if (removed == null) {
+                    removed = new HashMap<Integer, E>();
+                }
+                removed.put(origins[i], element);
+            }
+            if (lengths[i] == 1) {
+                removeRuns(i, i + 1);
+            } else {
+                lengths[i]--;
+                if (origins[i] != ADDED) {
+                    origins[i]++;
+                }
+            }
+        }
+
+        void update(int idx) {
+            int start = 0;
+            for (int i = 0; i < runs; i++) {
+                final int end = start + lengths[i];
+                if (idx < end) {
+                    if (origins[i] != ADDED) {
+                        if (updated == null) {
+                            updated = new BitSet(size);
+                        }
+                        updated.set(origins[i] + idx - start);
+                    }
+                    return;
+                }
+                start = end;
+            }
+        }
+
+        void permute(int from, int to, int[] perm) {
+            final int first = split(from);
+            final int last = split(to);
+            final int[] before = new int[to - from];
+            int k = 0;
+            for (int i = first; i < last; i++) {
+                for (int j = 0; j < lengths[i]; j++) {
+                    before[k++] = origins[i] == ADDED ? ADDED : origins[i] + j;
+                }
+            }
+            final int[] after = new int[to - from];
+            for (int i = 0; i < before.length; i++) {
+                after[perm[i] - from] = before[i];
+            }
+            removeRuns(first, last);
+            int at = first;
+            for (int i = 0; i < after.length; i++) {
+                final int origin = after[i];
+                if (at > first && (origin == ADDED
+                        ? origins[at - 1] == ADDED
+                        : origins[at - 1] != ADDED && origins[at - 1] + lengths[at - 1] == origin)) {
+                    lengths[at - 1]++;
+                } else {
+                    insertRun(at++, origin, 1);
+                }
+            }
+        }
+
+        SubChange<E> toSubChanges(List<SubChange<E>> addRemoveChanges, List<SubChange<E>> updateChanges) {
+            boolean ordered = true;
+            int pos = 0;
+            int next = 0;
+            SubChange<E> change = null;
+            for (int i = 0; i < runs; i++) {
+                final int origin = origins[i];
+                if (origin != ADDED) {
+                    ordered &= origin >= next;
+                    next = origin + lengths[i];
+                    if (updated != null) {
+                        for (int u = updated.nextSetBit(origin); u >= 0 && u < next; u = updated.nextSetBit(u + 1)) {
+                            final int idx = pos + u - origin;
+                            if (change != null && change.to == idx) {
+                                change.to++;
+                            } else {
+                                change = new SubChange<E>(idx, idx + 1, null, EMPTY_PERM, true);
+                                updateChanges.add(change);
+                            }
+                        }
+                    }
+                }
+                pos += lengths[i];
+            }
+
+            final SubChange<E> permutation = ordered ? null : permuteToFinalOrder();
+
+            pos = 0;
+            next = 0;
+            change = null;
+            for (int i = 0; i < runs; i++) {
+                final int origin = origins[i];
+                if (origin == ADDED || origin > next) {
+                    if (change == null) {
+                        change = new SubChange<E>(pos, pos, new ArrayList<E>(), EMPTY_PERM, false);
+                        addRemoveChanges.add(change);
+                    }
+                }
+                if (origin == ADDED) {
+                    pos += lengths[i];
+                    change.to = pos;
+                    continue;
+                }
+                for (; next < origin; ++next) {
+                    change.removed.add(removed.get(next));
+                }
+                change = null;
+                pos += lengths[i];
+                next = origin + lengths[i];
+            }
+            if (next < size) {
+                if (change == null) {
+                    change = new SubChange<E>(pos, pos, new ArrayList<E>(), EMPTY_PERM, false);
+                    addRemoveChanges.add(change);
+                }
+                for (; next < size; ++next) {
+                    change.removed.add(removed.get(next));
+                }
+            }
+            return permutation;
+        }
+
+        /*
+         * Moves the kept elements into the positions that kept elements had
+         * before, in their current order, while the removed ones stay where
+         * they were. The runs are then renumbered to the permutated list, in
+         * which the kept elements are in order again.
+         */
+        private SubChange<E> permuteToFinalOrder() {
+            final BitSet kept = new BitSet(size);
+            for (int i = 0; i < runs; i++) {
+                if (origins[i] != ADDED) {
+                    kept.set(origins[i], origins[i] + lengths[i]);
+                }
+            }
+            final int[] perm = new int[size];
+            for (int i = 0; i < size; i++) {
+                perm[i] = i;
+            }
+            final int[] oldOrigins = origins;
+            final int[] oldLengths = lengths;
+            final int oldRuns = runs;
+            origins = new int[oldOrigins.length];
+            lengths = new int[oldLengths.length];
+            runs = 0;
+            int slot = kept.nextSetBit(0);
+            for (int i = 0; i < oldRuns; i++) {
+                if (oldOrigins[i] == ADDED) {
+                    insertRun(runs, ADDED, oldLengths[i]);
+                    continue;
+                }
+                for (int j = 0; j < oldLengths[i]; j++) {
+                    perm[oldOrigins[i] + j] = slot;
+                    if (runs > 0 && origins[runs - 1] != ADDED && origins[runs - 1] + lengths[runs - 1] == slot) {
+                        lengths[runs - 1]++;
+                    } else {
+                        insertRun(runs, slot, 1);
+                    }
+                    slot = kept.nextSetBit(slot + 1);
+                }
+            }
+
+            int from = 0;
+            while (perm[from] == from) {
+                from++;
+            }
+            int to = size;
+            while (perm[to - 1] == to - 1) {
+                to--;
+            }
+            return new SubChange<E>(from, to, null, Arrays.copyOfRange(perm, from, to), false);
+        }
+
+        // Returns the index of the run that starts at pos, after splitting the
+        // run that contains pos if there is one
+        private int split(int pos) {
+            int start = 0;
+            for (int i = 0; i < runs; i++) {
+                if (pos == start) {
+                    return i;
+                }
+                final int end = start + lengths[i];
+                if (pos < end) {
+                    final int offset = pos - start;
+                    insertRun(i + 1, origins[i] == ADDED ? ADDED : origins[i] + offset, lengths[i] - offset);
+                    lengths[i] = offset;
+                    return i + 1;
+                }
+                start = end;
+            }
+            return runs;
+        }
+
+        private void insertRun(int i, int origin, int length) {
+            if (runs == origins.length) {
+                origins = Arrays.copyOf(origins, runs * 2);
+                lengths = Arrays.copyOf(lengths, runs * 2);
+            }
+            System.arraycopy(origins, i, origins, i + 1, runs - i);
+            System.arraycopy(lengths, i, lengths, i + 1, runs - i);
+            origins[i] = origin;
+            lengths[i] = length;
+            runs++;
+        }
+
+        private void removeRuns(int from, int to) {
+            System.arraycopy(origins, to, origins, from, runs - to);
+            System.arraycopy(lengths, to, lengths, from, runs - to);
+            runs -= to - from;
+        }
+    }
+
     private static class SingleChange<E> extends Change<E> {
         private final SubChange<E> change;
         private boolean onChange;
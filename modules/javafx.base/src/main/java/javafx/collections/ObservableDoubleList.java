@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+/**
+ * {@code ObservableDoubleList} is an {@link ObservableList} of {@code Double}
+ * values that are stored in a {@code double[]} array, so that large lists of
+ * numbers do not keep a {@code Double} object per element.
+ * <p>
+ * The methods of {@link java.util.List} box and unbox the values they take
+ * and return. The {@code double} accessors and bulk operations defined here
+ * do not; only the elements removed by a change are boxed, to be reported by
+ * {@link ListChangeListener.Change#getRemoved()}. Changes are reported to
+ * listeners just like for any other {@code ObservableList}, so this list can
+ * be used wherever an {@code ObservableList<Double>} is expected.
+ * <p>
+ * {@code null} elements are not supported.
+ *
+ * @see FXCollections#observableDoubleList()
+ * @since 15
+ */
+public interface ObservableDoubleList extends ObservableList<Double> {
+
+    /**
+     * Gets the value at the given index without boxing it.
+     * @param index index of the element to get
+     * @return the value at the given index
+     * @throws IndexOutOfBoundsException if {@code index} is outside the list
+     */
+    public double getDouble(int index);
+
+    /**
+     * Replaces the value at the given index.
+     * @param index index of the element to replace
+     * @param value the new value
+     * @return the previous value at the given index
+     * @throws IndexOutOfBoundsException if {@code index} is outside the list
+     */
+    public double setDouble(int index, double value);
+
+    /**
+     * Appends a value to the end of this list.
+     * @param value the value to append
+     */
+    public void addDouble(double value);
+
+    /**
+     * Inserts a value at the given index.
+     * @param index the index at which the value is inserted
+     * @param value the value to insert
+     * @throws IndexOutOfBoundsException if {@code index} is outside the
+     * range {@code [0, size()]}
+     */
+    public void addDouble(int index, double value);
+
+    /**
+     * Appends the given values to the end of this list, as a single change.
+     * @param elements the values to append
+     */
+    public void addAll(double[] elements);
+
+    /**
+     * Appends a portion of the given array to the end of this list, as a
+     * single change.
+     * @param src the array with the values to append
+     * @param srcIndex the index of the first value to append
+     * @param length the number of values to append
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside
+     * {@code src}
+     */
+    public void addAll(double[] src, int srcIndex, int length);
+
+    /**
+     * Replaces the content of this list with the given values, as a single
+     * change.
+     * @param elements the new values
+     */
+    public void setAll(double[] elements);
+
+    /**
+     * Replaces the content of this list with a portion of the given array, as
+     * a single change.
+     * @param src the array with the new values
+     * @param srcIndex the index of the first new value
+     * @param length the number of new values
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside
+     * {@code src}
+     */
+    public void setAll(double[] src, int srcIndex, int length);
+
+    /**
+     * Copies a portion of this list into the given array. Throws the same
+     * exceptions as {@link System#arraycopy(java.lang.Object, int,
+     * java.lang.Object, int, int) System.arraycopy()}.
+     * @param srcIndex the index of the first value to copy
+     * @param dest the destination array
+     * @param destIndex the starting position in the destination array
+     * @param length the number of values to copy
+     */
+    public void copyTo(int srcIndex, double[] dest, int destIndex, int length);
+
+    /**
+     * Returns an array containing the values of this list. If {@code dest}
+     * is large enough, the values are copied into it, otherwise a new array
+     * of the size of this list is returned.
+     * @param dest the array to copy the values into, or null
+     * @return {@code dest} or a new array with the values of this list
+     */
+    public double[] toDoubleArray(double[] dest);
+}
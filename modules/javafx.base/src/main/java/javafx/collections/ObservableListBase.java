@@ -205,6 +205,17 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
         changeBuilder.endChange();
     }
 
+    /**
+     * Begins a change block that reports its modifications as the difference
+     * between the list before the outer-most block and after it, whatever the
+     * order of the modifications was. Must be ended by {@link #endChange()}.
+     *
+     * @see FXCollections#runAsSingleChange(ObservableList, Runnable)
+     */
+    final void beginSingleChange() {
+        changeBuilder.beginSingleChange();
+    }
+
     @Override
     public final void addListener(InvalidationListener listener) {
         listenerHelper = ListListenerHelper.addListener(listenerHelper, listener);
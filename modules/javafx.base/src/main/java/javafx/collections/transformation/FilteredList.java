@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -33,6 +33,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import javafx.beans.NamedArg;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
@@ -55,6 +56,14 @@ public final class FilteredList<E> extends TransformationList<E, E>{
     private SortHelper helper;
     private static final Predicate ALWAYS_TRUE = t -> true;
 
+    /**
+     * The number of elements a task tests when the predicate is evaluated
+     * in parallel. Sources with fewer elements are filtered serially.
+     */
+    private static final int PARALLEL_CHUNK_SIZE = 4096;
+
+    private boolean parallelFiltering;
+
     /**
      * Constructs a new FilteredList wrapper around the source list.
      * The provided predicate will match the elements in the source list that will be visible.
@@ -125,6 +134,41 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         predicateProperty().set(predicate);
     }
 
+    /**
+     * Sets whether the predicate is evaluated in parallel when it changes.
+     * <p>
+     * When parallel filtering is enabled, setting a new predicate tests a
+     * snapshot of the source list in chunks on the common
+     * {@link java.util.concurrent.ForkJoinPool}, so the predicate must be
+     * safe to call from any thread and must not access this list or other
+     * JavaFX objects that are not thread safe. The calling thread waits for
+     * the result, so the content of this list is up to date as soon as the
+     * predicate is set, just like when filtering serially.
+     * <p>
+     * Listeners are then notified of the elements that were actually added
+     * and removed by the new predicate, instead of a change that replaces the
+     * whole content of this list, so that a view of this list keeps the
+     * elements that still match.
+     * <p>
+     * Changes of the source list are always filtered serially. Parallel
+     * filtering is disabled by default.
+     * @param value true to evaluate a new predicate in parallel
+     * @since 15
+     */
+    public final void setParallelFiltering(boolean value) {
+        parallelFiltering = value;
+    }
+
+    /**
+     * Returns whether the predicate is evaluated in parallel when it changes.
+     * @return true if a new predicate is evaluated in parallel
+     * @see #setParallelFiltering(boolean)
+     * @since 15
+     */
+    public final boolean isParallelFiltering() {
+        return parallelFiltering;
+    }
+
     private Predicate<? super E> getPredicateImpl() {
         if (getPredicate() != null) {
             return getPredicate();
@@ -319,6 +363,10 @@ public final class FilteredList<E> extends TransformationList<E, E>{
 
     @SuppressWarnings("unchecked")
     private void refilter() {
+        if (parallelFiltering) {
+            refilterParallel();
+            return;
+        }
         ensureSize(getSource().size());
         List<E> removed = null;
         if (hasListeners()) {
@@ -339,4 +387,57 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private void refilterParallel() {
+        final Object[] elements = getSource().toArray();
+        final Predicate<? super E> pred = getPredicateImpl();
+        final boolean[] matches = new boolean[elements.length];
+        final int chunks = (elements.length + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        IntStream chunkStream = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            chunkStream = chunkStream.parallel();
+        }
+        chunkStream.forEach(chunk -> {
+            final int to = Math.min(elements.length, (chunk + 1) * PARALLEL_CHUNK_SIZE);
+            for (int i = chunk * PARALLEL_CHUNK_SIZE; i < to; ++i) {
+                matches[i] = pred.test((E) elements[i]);
+            }
+        });
+
+        final int[] oldFiltered = filtered;
+        final int oldSize = size;
+        final int[] newFiltered = new int[elements.length * 3 / 2 + 1];
+        int newSize = 0;
+        for (int i = 0; i < elements.length; ++i) {
+            if (matches[i]) {
+                newFiltered[newSize++] = i;
+            }
+        }
+        filtered = newFiltered;
+        size = newSize;
+        if (!hasListeners()) {
+            return;
+        }
+
+        // Both arrays are sorted, so a merge gives the minimal change
+        beginChange();
+        int i = 0;
+        int j = 0;
+        int pos = 0;
+        while (i < oldSize || j < newSize) {
+            if (j == newSize || (i < oldSize && oldFiltered[i] < newFiltered[j])) {
+                nextRemove(pos, (E) elements[oldFiltered[i++]]);
+            } else if (i == oldSize || newFiltered[j] < oldFiltered[i]) {
+                nextAdd(pos, pos + 1);
+                ++pos;
+                ++j;
+            } else {
+                ++pos;
+                ++i;
+                ++j;
+            }
+        }
+        endChange();
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -47,6 +47,13 @@ import javafx.collections.ObservableList;
  *
  * Note: invalid SortedList (as a result of broken comparison) doesn't send any notification to listeners on becoming
  * valid again.
+ * <p>
+ * When a few elements of the source are updated, for example through an
+ * extractor, they are moved to their new positions without re-sorting the
+ * whole list, and only the positions between their old and new ones are
+ * reported as permutated. The sorted elements are kept in an array, so
+ * adding, removing or moving an element still takes time linear in the
+ * size of the list.
  *
  * @see TransformationList
  * @since JavaFX 8.0
@@ -62,6 +69,13 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     private final Element<E> tempElement = new Element<>(null, -1);
 
+    /**
+     * The largest number of elements updated by a single change that are
+     * moved to their new positions one by one; larger updates re-sort the
+     * whole list.
+     */
+    private static final int MAX_INCREMENTAL_UPDATE = 64;
+
 
     /**
      * Creates a new SortedList wrapped around the source list.
@@ -99,11 +113,23 @@ public final class SortedList<E> extends TransformationList<E, E>{
     protected void sourceChanged(Change<? extends E> c) {
         if (elementComparator != null) {
             beginChange();
+            // The incremental update finds the new positions of the updated
+            // elements with a binary search, which needs all other elements
+            // to be in order. With several sub-changes, elements updated by
+            // another sub-change may still be out of place, so the whole list
+            // is re-sorted once instead.
+            final boolean incremental = hasSingleSubChange(c);
+            boolean resorted = false;
             while (c.next()) {
                 if (c.wasPermutated()) {
                     updatePermutationIndexes(c);
                 } else if (c.wasUpdated()) {
-                    update(c);
+                    if (!resorted) {
+                        update(c, incremental);
+                        resorted = !incremental;
+                    } else {
+                        markUpdated(c.getFrom(), c.getTo());
+                    }
                 } else {
                     addRemove(c);
                 }
@@ -332,20 +358,44 @@ public final class SortedList<E> extends TransformationList<E, E>{
         return pos;
     }
 
-    private void insertToMapping(E e, int idx) {
-        int pos = findPosition(e);
-        if (pos < 0) {
-            pos = ~pos;
+    // NOTE: adding, removing and moving updated elements are still O(n)
+    // per change, not O(log n), and every row still has an Element. Only
+    // finding the position is a binary search. Shifting the source indexes
+    // of the other elements, moving the tail of sorted and rebuilding perm
+    // each take linear time. There is no mode backed by an order-statistic
+    // tree. Getting to O(log n) would need indexed balanced trees over both
+    // the sorted and the source order in place of these arrays.
+
+    /**
+     * Rebuilds the mapping from source to view indexes after elements were
+     * added, removed or moved in {@code sorted}.
+     */
+    private void updatePerm() {
+        for (int i = 0; i < size; i++) {
+            perm[sorted[i].index] = i;
         }
-        ensureSize(size + 1);
-        updateIndices(idx, pos, 1);
-        System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
-        sorted[pos] = new Element<>(e, idx);
-        System.arraycopy(perm, idx, perm, idx + 1, size - idx);
-        perm[idx] = pos;
-        ++size;
-        nextAdd(pos, pos + 1);
+    }
 
+    private void insertToMapping(List<? extends E> list, int from, int to) {
+        final int count = to - from;
+        ensureSize(size + count);
+        for (int i = 0; i < size; ++i) {
+            if (sorted[i].index >= from) {
+                sorted[i].index += count;
+            }
+        }
+        for (int idx = from; idx < to; ++idx) {
+            final E e = list.get(idx);
+            int pos = findPosition(e);
+            if (pos < 0) {
+                pos = ~pos;
+            }
+            System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
+            sorted[pos] = new Element<>(e, idx);
+            ++size;
+            nextAdd(pos, pos + 1);
+        }
+        updatePerm();
     }
 
     private void setAllToMapping(List<? extends E> list, int to) {
@@ -359,15 +409,37 @@ public final class SortedList<E> extends TransformationList<E, E>{
         nextAdd(0, size);
     }
 
-    private void removeFromMapping(int idx, E e) {
-        int pos = perm[idx];
-        System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
-        System.arraycopy(perm, idx + 1, perm, idx, size - idx - 1);
-        --size;
-        sorted[size] = null;
-        updateIndices(idx + 1, pos, - 1);
-
-        nextRemove(pos, e);
+    private void removeFromMapping(int from, List<? extends E> removed) {
+        final int count = removed.size();
+        final int to = from + count;
+        int first = size;
+        for (int idx = from; idx < to; ++idx) {
+            first = Math.min(first, perm[idx]);
+        }
+        int dst = first;
+        for (int i = first; i < size; ++i) {
+            final Element<E> el = sorted[i];
+            if (el.index >= from && el.index < to) {
+                // dst is the position of the element with the elements
+                // removed before it already gone
+                nextRemove(dst, removed.get(el.index - from));
+            } else {
+                if (el.index >= to) {
+                    el.index -= count;
+                }
+                sorted[dst++] = el;
+            }
+        }
+        for (int i = 0; i < first; ++i) {
+            if (sorted[i].index >= to) {
+                sorted[i].index -= count;
+            }
+        }
+        for (int i = dst; i < size; ++i) {
+            sorted[i] = null;
+        }
+        size = dst;
+        updatePerm();
     }
 
     private void removeAllFromMapping() {
@@ -379,34 +451,112 @@ public final class SortedList<E> extends TransformationList<E, E>{
         nextRemove(0, removed);
     }
 
-    private void update(Change<? extends E> c) {
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        for (int i = 0; i < size; i++) {
-            this.perm[sorted[i].index] = i;
+    private static boolean hasSingleSubChange(Change<?> c) {
+        final boolean single = c.next() && !c.next();
+        c.reset();
+        return single;
+    }
+
+    private void update(Change<? extends E> c, boolean incremental) {
+        final int from = c.getFrom();
+        final int to = c.getTo();
+        if (!incremental || to - from > MAX_INCREMENTAL_UPDATE) {
+            int[] perm = helper.sort(sorted, 0, size, elementComparator);
+            for (int i = 0; i < size; i++) {
+                this.perm[sorted[i].index] = i;
+            }
+            nextPermutation(0, size, perm);
+        } else {
+            updateIncrementally(from, to);
         }
-        nextPermutation(0, size, perm);
-        for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
+        markUpdated(from, to);
+    }
+
+    private void markUpdated(int from, int to) {
+        for (int i = from; i < to; ++i) {
             nextUpdate(this.perm[i]);
         }
     }
 
+    /**
+     * Moves the updated elements of source indexes {@code [from, to)} to
+     * their new sorted positions, by taking them out of {@code sorted} and
+     * inserting them back with a binary search. Only the range of positions
+     * between the old and new positions of those elements is permutated,
+     * so listeners are not told that the whole list was reordered when a
+     * single element changed.
+     */
+    private void updateIncrementally(int from, int to) {
+        final int count = to - from;
+        if (count == 0) {
+            return;
+        }
+        int lo = size;
+        int hi = 0;
+        for (int idx = from; idx < to; ++idx) {
+            lo = Math.min(lo, perm[idx]);
+            hi = Math.max(hi, perm[idx] + 1);
+        }
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        final Element<E>[] updated = (Element<E>[]) new Element[count];
+        int dst = lo;
+        for (int i = lo; i < size; ++i) {
+            final Element<E> el = sorted[i];
+            if (el.index >= from && el.index < to) {
+                updated[el.index - from] = el;
+            } else {
+                sorted[dst++] = el;
+            }
+        }
+        size -= count;
+        // the new positions of the elements inserted so far
+        final int[] positions = new int[count];
+        for (int n = 0; n < count; ++n) {
+            int pos = findPosition(updated[n].e);
+            if (pos < 0) {
+                pos = ~pos;
+            }
+            System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
+            sorted[pos] = updated[n];
+            ++size;
+            for (int k = 0; k < n; ++k) {
+                if (positions[k] >= pos) {
+                    ++positions[k];
+                }
+            }
+            positions[n] = pos;
+        }
+        for (int n = 0; n < count; ++n) {
+            lo = Math.min(lo, positions[n]);
+            hi = Math.max(hi, positions[n] + 1);
+        }
+
+        int[] perm = new int[hi - lo];
+        boolean changed = false;
+        for (int i = lo; i < hi; ++i) {
+            final int idx = sorted[i].index;
+            final int oldPos = this.perm[idx];
+            perm[oldPos - lo] = i;
+            this.perm[idx] = i;
+            changed |= oldPos != i;
+        }
+        if (changed) {
+            nextPermutation(lo, hi, perm);
+        }
+    }
+
     private void addRemove(Change<? extends E> c) {
         if (c.getFrom() == 0 && c.getRemovedSize() == size) {
             removeAllFromMapping();
-        } else {
-            for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
-                removeFromMapping(c.getFrom(), c.getRemoved().get(i));
-            }
+        } else if (c.getRemovedSize() > 0) {
+            removeFromMapping(c.getFrom(), c.getRemoved());
         }
         if (size == 0) {
             setAllToMapping(c.getList(), c.getTo()); // This is basically equivalent to getAddedSubList
                                                      // as size is 0, only valid "from" is also 0
-        } else {
-            for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
-                insertToMapping(c.getList().get(i), i);
-            }
+        } else if (c.getAddedSize() > 0) {
+            insertToMapping(c.getList(), c.getFrom(), c.getTo());
         }
     }
 
-
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -30,6 +30,8 @@ import com.sun.javafx.binding.ExpressionHelperShim;
 import javafx.beans.InvalidationListener;
 import test.javafx.beans.InvalidationListenerMock;
 import javafx.beans.Observable;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import test.javafx.beans.WeakInvalidationListenerMock;
 import javafx.beans.value.ChangeListener;
 import test.javafx.beans.value.ChangeListenerMock;
@@ -645,4 +647,79 @@ public class ExpressionHelperTest {
         assertEquals(4, called.get());
     }
 
+    @Test
+    public void testRemoveDuringNestedNotification() {
+        final int[] called = new int[3];
+        final InvalidationListener[] listeners = new InvalidationListener[3];
+        listeners[0] = o -> {
+            if (called[0]++ == 0) {
+                ExpressionHelper.fireValueChangedEvent(helper);
+            }
+        };
+        listeners[1] = o -> {
+            if (called[1]++ == 1) {
+                // the outer notification is still running at this point
+                helper = ExpressionHelper.removeListener(helper, listeners[0]);
+            }
+        };
+        listeners[2] = o -> called[2]++;
+        for (InvalidationListener listener : listeners) {
+            helper = ExpressionHelper.addListener(helper, observable, listener);
+        }
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        assertEquals(2, called[0]);
+        assertEquals(2, called[1]);
+        assertEquals(2, called[2]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        assertEquals(2, called[0]);
+        assertEquals(3, called[1]);
+        assertEquals(3, called[2]);
+    }
+
+    private void checkPrimitiveValueNotBoxedIfUnchanged(boolean withInvalidationListener) {
+        final AtomicInteger boxed = new AtomicInteger();
+        final DoubleProperty property = new SimpleDoubleProperty(1.0) {
+            @Override
+            public Double getValue() {
+                boxed.incrementAndGet();
+                return super.getValue();
+            }
+        };
+        final ChangeListenerMock<Number> listener = new ChangeListenerMock<Number>(Double.NaN);
+        helper = ExpressionHelper.addListener(helper, property, listener);
+        if (withInvalidationListener) {
+            helper = ExpressionHelper.addListener(helper, property, invalidationListener[0]);
+        }
+        boxed.set(0);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        assertEquals(0, boxed.get());
+        listener.check0();
+
+        property.set(2.0);
+        ExpressionHelper.fireValueChangedEvent(helper);
+        assertEquals(1, boxed.get());
+        listener.check(property, 1.0, 2.0, 1);
+
+        property.set(Double.NaN);
+        ExpressionHelper.fireValueChangedEvent(helper);
+        listener.check(property, 2.0, Double.NaN, 1);
+        boxed.set(0);
+        ExpressionHelper.fireValueChangedEvent(helper);
+        assertEquals(0, boxed.get());
+        listener.check0();
+    }
+
+    @Test
+    public void testPrimitiveValueNotBoxedIfUnchanged_SingleChange() {
+        checkPrimitiveValueNotBoxedIfUnchanged(false);
+    }
+
+    @Test
+    public void testPrimitiveValueNotBoxedIfUnchanged_Generic() {
+        checkPrimitiveValueNotBoxedIfUnchanged(true);
+    }
+
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.collections;
+
+import com.sun.javafx.collections.CompactHashMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CompactHashMapTest {
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(7);
+        final Map<Integer, String> expected = new HashMap<>();
+        final Map<Integer, String> map = new CompactHashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            final Integer key = (random.nextInt(12) == 0)? null : random.nextInt(20);
+            final String value = "v" + random.nextInt(3);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, value), map.put(key, value));
+                    break;
+                case 2:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.containsKey(key), map.containsKey(key));
+                    assertEquals(expected.containsValue(value), map.containsValue(value));
+                    assertEquals(expected.get(key), map.get(key));
+            }
+            if (random.nextInt(500) == 0) {
+                expected.clear();
+                map.clear();
+            }
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected, map);
+            assertEquals(expected.hashCode(), map.hashCode());
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        final Map<String, String> map = new CompactHashMap<>();
+        map.put("a", "1");
+        map.put("b", "2");
+        map.put("c", "3");
+        final Iterator<Map.Entry<String, String>> it = map.entrySet().iterator();
+        it.next();
+        final Map.Entry<String, String> entry = it.next();
+        it.remove();
+        // the removed entry keeps its key and value
+        assertEquals("b", entry.getKey());
+        assertEquals("2", entry.getValue());
+        assertEquals("c", it.next().getKey());
+        assertFalse(it.hasNext());
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("b"));
+    }
+
+    @Test
+    public void testEntrySetValue() {
+        final Map<String, String> map = new CompactHashMap<>();
+        map.put("a", "1");
+        map.put("b", "2");
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() + entry.getKey());
+        }
+        assertEquals("1a", map.get("a"));
+        assertEquals("2b", map.get("b"));
+    }
+
+    @Test
+    public void testGrowBeyondArray() {
+        final Map<Integer, Integer> map = new CompactHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), map.get(i));
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        map.put(1, 1);
+        assertEquals(Integer.valueOf(1), map.get(1));
+    }
+}
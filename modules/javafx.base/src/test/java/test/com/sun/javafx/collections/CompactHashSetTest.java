@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.collections;
+
+import com.sun.javafx.collections.CompactHashSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CompactHashSetTest {
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(11);
+        final Set<Integer> expected = new HashSet<>();
+        final Set<Integer> set = new CompactHashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            final Integer element = (random.nextInt(12) == 0)? null : random.nextInt(20);
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.add(element), set.add(element));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(element), set.remove(element));
+                    break;
+                default:
+                    assertEquals(expected.contains(element), set.contains(element));
+            }
+            if (random.nextInt(500) == 0) {
+                expected.clear();
+                set.clear();
+            }
+            assertEquals(expected.size(), set.size());
+            assertEquals(expected, set);
+            assertEquals(expected.hashCode(), set.hashCode());
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        final Set<String> set = new CompactHashSet<>();
+        set.add("a");
+        set.add("b");
+        set.add("c");
+        final Iterator<String> it = set.iterator();
+        while (it.hasNext()) {
+            if (!"b".equals(it.next())) {
+                it.remove();
+            }
+        }
+        assertEquals(1, set.size());
+        assertTrue(set.contains("b"));
+    }
+}
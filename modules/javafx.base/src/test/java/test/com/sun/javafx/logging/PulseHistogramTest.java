@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.logging;
+
+import com.sun.javafx.logging.PulseHistogram;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PulseHistogramTest {
+
+    private PulseHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new PulseHistogram("Test");
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+        assertEquals(0, histogram.getValueAtPercentile(99.0));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        for (int i = 1; i <= 20; i++) {
+            histogram.record(i);
+        }
+        assertEquals(20, histogram.getCount());
+        assertEquals(20, histogram.getMax());
+        assertEquals(10.5, histogram.getMean(), 1e-9);
+        assertEquals(10, histogram.getValueAtPercentile(50.0));
+        assertEquals(20, histogram.getValueAtPercentile(100.0));
+        assertEquals(1, histogram.getValueAtPercentile(0.0));
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision() {
+        // 990 fast frames of 5ms and 10 slow frames of 40ms
+        for (int i = 0; i < 990; i++) {
+            histogram.recordNanos(5_000_000L);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.recordNanos(40_000_000L);
+        }
+        long p50 = histogram.getValueAtPercentile(50.0);
+        long p99 = histogram.getValueAtPercentile(99.0);
+        long p999 = histogram.getValueAtPercentile(99.9);
+        assertTrue(p50 >= 5000 && p50 < 5000 * 1.07);
+        assertTrue(p99 >= 5000 && p99 < 5000 * 1.07);
+        assertEquals(40000, p999);
+        assertEquals(40000, histogram.getMax());
+    }
+
+    @Test
+    public void testHugeValuesAreClamped() {
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1);
+        assertEquals(2, histogram.getCount());
+        assertTrue(histogram.getMax() > 0);
+        assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100.0));
+        assertEquals(0, histogram.getValueAtPercentile(50.0));
+    }
+
+    @Test
+    public void testReset() {
+        histogram.record(100);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        histogram.getValueAtPercentile(101.0);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,6 +26,7 @@
 package test.javafx.beans.property;
 
 import static org.junit.Assert.*;
+import java.lang.reflect.InvocationTargetException;
 import test.javafx.beans.Person;
 
 import org.junit.Before;
@@ -118,4 +119,93 @@ public class PropertyReferenceTest {
         Person.NO_READ_WRITE.set(person, 1);
     }
 
+    @Test
+    public void testExceptionInGetter() {
+        final PropertyReference<Integer> property = new PropertyReference<Integer>(Bean.class, "failing");
+        try {
+            property.get(new Bean());
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof InvocationTargetException);
+            assertTrue(e.getCause().getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+    @Test
+    public void testStaticAccessors() {
+        final PropertyReference<String> property = new PropertyReference<String>(Bean.class, "shared");
+        assertTrue(property.isReadable());
+        assertTrue(property.isWritable());
+        property.set(new Bean(), "value");
+        assertEquals("value", property.get(new Bean()));
+    }
+
+    @Test
+    public void testNullForPrimitiveArgument() {
+        final PropertyReference<Integer> property = new PropertyReference<Integer>(Bean.class, "count");
+        try {
+            property.set(new Bean(), null);
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testArgumentTypeMismatch() {
+        final PropertyReference property = new PropertyReference<Integer>(Bean.class, "count");
+        try {
+            property.set(new Bean(), "42");
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testClassCastExceptionInSetter() {
+        final PropertyReference<Object> property = new PropertyReference<Object>(Bean.class, "casting");
+        try {
+            property.set(new Bean(), 42);
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof InvocationTargetException);
+            assertTrue(e.getCause().getCause() instanceof ClassCastException);
+        }
+    }
+
+    public static class Bean {
+        private static String shared;
+        private int count;
+        private Object casting;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int value) {
+            count = value;
+        }
+
+        public Object getCasting() {
+            return casting;
+        }
+
+        public void setCasting(Object value) {
+            casting = (String) value;
+        }
+
+        public int getFailing() {
+            throw new UnsupportedOperationException();
+        }
+
+        public static String getShared() {
+            return shared;
+        }
+
+        public static void setShared(String value) {
+            shared = value;
+        }
+    }
 }
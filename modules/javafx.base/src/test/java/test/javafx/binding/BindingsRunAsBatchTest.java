@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.IntegerBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ListProperty;
+import javafx.beans.property.MapProperty;
+import javafx.beans.property.SetProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleListProperty;
+import javafx.beans.property.SimpleMapProperty;
+import javafx.beans.property.SimpleSetProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.beans.value.ObservableValueBase;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
+import javafx.collections.SetChangeListener;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BindingsRunAsBatchTest {
+
+    private IntegerProperty a;
+    private IntegerProperty b;
+    private IntegerBinding sum;
+    private IntegerBinding product;
+    private IntegerBinding total;
+    private int[] computed;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        a = new SimpleIntegerProperty(1);
+        b = new SimpleIntegerProperty(1);
+        computed = new int[3];
+        sum = Bindings.createIntegerBinding(() -> {
+            computed[0]++;
+            return a.get() + b.get();
+        }, a, b);
+        product = Bindings.createIntegerBinding(() -> {
+            computed[1]++;
+            return a.get() * b.get();
+        }, a, b);
+        total = Bindings.createIntegerBinding(() -> {
+            computed[2]++;
+            return sum.get() + product.get();
+        }, sum, product);
+        events = new ArrayList<>();
+        total.addListener((o, oldValue, newValue) -> events.add("total " + oldValue + " -> " + newValue));
+        computed = new int[3];
+    }
+
+    @Test
+    public void testDiamondIsComputedOnce() {
+        Bindings.runAsBatch(() -> {
+            a.set(2);
+            b.set(3);
+            assertTrue(events.isEmpty());
+        });
+        assertArrayEquals(new int[] {1, 1, 1}, computed);
+        assertEquals(List.of("total 3 -> 11"), events);
+    }
+
+    @Test
+    public void testDiamondWithoutBatch() {
+        a.set(2);
+        b.set(3);
+        // total is computed after each invalidation of sum and product and
+        // observes a stale product while a's listeners are being notified
+        assertArrayEquals(new int[] {2, 2, 4}, computed);
+        assertEquals(List.of("total 3 -> 4", "total 4 -> 5", "total 5 -> 7", "total 7 -> 11"), events);
+    }
+
+    @Test
+    public void testDependenciesAreNotifiedFirst() {
+        sum.addListener((o, oldValue, newValue) -> events.add("sum"));
+        product.addListener((o, oldValue, newValue) -> events.add("product"));
+        a.addListener((o, oldValue, newValue) -> events.add("a"));
+        Bindings.runAsBatch(() -> a.set(2));
+        assertEquals(4, events.size());
+        assertEquals("a", events.get(0));
+        assertEquals("total 3 -> 5", events.get(3));
+    }
+
+    @Test
+    public void testInvalidationListenersAreNotDeferred() {
+        final int[] invalidated = new int[1];
+        total.addListener((InvalidationListener) o -> invalidated[0]++);
+        Bindings.runAsBatch(() -> {
+            a.set(2);
+            assertEquals(1, invalidated[0]);
+            assertEquals(0, computed[2]);
+        });
+        assertEquals(1, invalidated[0]);
+        assertEquals(List.of("total 3 -> 5"), events);
+    }
+
+    @Test
+    public void testValueReadDuringBatchIsCurrent() {
+        Bindings.runAsBatch(() -> {
+            a.set(2);
+            assertEquals(5, total.get());
+            b.set(3);
+            assertEquals(11, total.get());
+        });
+        assertEquals(List.of("total 3 -> 11"), events);
+    }
+
+    @Test
+    public void testNoChangeEventIfValueIsRestored() {
+        Bindings.runAsBatch(() -> {
+            a.set(5);
+            a.set(1);
+        });
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testNestedBatchJoinsOuterBatch() {
+        Bindings.runAsBatch(() -> {
+            Bindings.runAsBatch(() -> a.set(2));
+            assertTrue(events.isEmpty());
+            b.set(3);
+        });
+        assertEquals(List.of("total 3 -> 11"), events);
+    }
+
+    @Test
+    public void testChangeListenerRemovedDuringBatch() {
+        final IntegerProperty p = new SimpleIntegerProperty(0);
+        final ChangeListener<Number> listener = (o, oldValue, newValue) -> events.add("p");
+        p.addListener(listener);
+        Bindings.runAsBatch(() -> {
+            p.set(1);
+            p.removeListener(listener);
+        });
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testChangeListenerAddedDuringBatch() {
+        final IntegerProperty p = new SimpleIntegerProperty(0);
+        p.addListener((o, oldValue, newValue) -> events.add("first " + oldValue + " -> " + newValue));
+        Bindings.runAsBatch(() -> {
+            p.set(1);
+            p.addListener((o, oldValue, newValue) -> events.add("second " + oldValue + " -> " + newValue));
+            p.set(2);
+        });
+        // all change listeners of an observable share the last notified value
+        assertEquals(List.of("first 0 -> 2", "second 0 -> 2"), events);
+    }
+
+    @Test
+    public void testChangeListenersAreNotifiedIfUpdatesFail() {
+        try {
+            Bindings.runAsBatch(() -> {
+                a.set(2);
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(List.of("total 3 -> 5"), events);
+
+        events.clear();
+        b.set(2);
+        assertEquals("total 6 -> 8", events.get(events.size() - 1));
+    }
+
+    @Test
+    public void testObservableValueBaseIsDeferred() {
+        final TestObservableValueBase value = new TestObservableValueBase();
+        value.addListener((o, oldValue, newValue) -> events.add("value " + oldValue + " -> " + newValue));
+        Bindings.runAsBatch(() -> {
+            value.set(1);
+            assertTrue(events.isEmpty());
+        });
+        assertEquals(List.of("value 0 -> 1"), events);
+    }
+
+    @Test
+    public void testCollectionPropertiesAreNotDeferred() {
+        final ListProperty<String> list = new SimpleListProperty<>(FXCollections.observableArrayList());
+        final SetProperty<String> set = new SimpleSetProperty<>(FXCollections.observableSet());
+        final MapProperty<String, String> map = new SimpleMapProperty<>(FXCollections.observableHashMap());
+        list.addListener((o, oldValue, newValue) -> events.add("list value"));
+        list.addListener((ListChangeListener<String>) c -> events.add("list change"));
+        set.addListener((o, oldValue, newValue) -> events.add("set value"));
+        set.addListener((SetChangeListener<String>) c -> events.add("set change"));
+        map.addListener((o, oldValue, newValue) -> events.add("map value"));
+        map.addListener((MapChangeListener<String, String>) c -> events.add("map change"));
+
+        Bindings.runAsBatch(() -> {
+            list.add("a");
+            assertEquals(List.of("list value", "list change"), events);
+            set.add("a");
+            map.put("a", "b");
+            assertEquals(List.of("list value", "list change", "set value", "set change",
+                                 "map value", "map change"), events);
+            events.clear();
+            list.set(FXCollections.observableArrayList());
+            assertEquals(List.of("list value", "list change"), events);
+        });
+    }
+
+    @Test
+    public void testOtherObservableValuesAreNotDeferred() {
+        final TestObservableValue value = new TestObservableValue();
+        value.addListener((o, oldValue, newValue) -> events.add("value " + oldValue + " -> " + newValue));
+        Bindings.runAsBatch(() -> {
+            value.set(1);
+            assertEquals(List.of("value 0 -> 1"), events);
+        });
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullUpdates() {
+        Bindings.runAsBatch(null);
+    }
+
+    private static class TestObservableValueBase extends ObservableValueBase<Integer> {
+        private int value;
+
+        void set(int value) {
+            this.value = value;
+            fireValueChangedEvent();
+        }
+
+        @Override
+        public Integer getValue() {
+            return value;
+        }
+    }
+
+    // an observable value that does not use the listener helpers of javafx.beans
+    private static class TestObservableValue implements ObservableValue<Integer> {
+        private final List<ChangeListener<? super Integer>> listeners = new ArrayList<>();
+        private int value;
+
+        void set(int value) {
+            final int oldValue = this.value;
+            this.value = value;
+            for (ChangeListener<? super Integer> listener : listeners) {
+                listener.changed(this, oldValue, value);
+            }
+        }
+
+        @Override
+        public Integer getValue() {
+            return value;
+        }
+
+        @Override
+        public void addListener(ChangeListener<? super Integer> listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeListener(ChangeListener<? super Integer> listener) {
+            listeners.remove(listener);
+        }
+
+        @Override
+        public void addListener(InvalidationListener listener) {
+        }
+
+        @Override
+        public void removeListener(InvalidationListener listener) {
+        }
+    }
+}
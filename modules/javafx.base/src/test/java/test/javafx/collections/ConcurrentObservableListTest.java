@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentObservableListTest {
+
+    private Queue<Runnable> tasks;
+    private ObservableList<String> list;
+    private List<String> mirror;
+    private int changes;
+
+    @Before
+    public void setUp() {
+        tasks = new ConcurrentLinkedQueue<>();
+        list = FXCollections.concurrentObservableList(tasks::add);
+        mirror = new ArrayList<>();
+        changes = 0;
+        // replays each change on mirror, which has to end up equal to list
+        list.addListener((ListChangeListener<String>) c -> {
+            changes++;
+            while (c.next()) {
+                assertFalse(c.wasPermutated());
+                mirror.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                mirror.addAll(c.getFrom(), c.getAddedSubList());
+            }
+        });
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+        assertEquals(mirror, list);
+    }
+
+    @Test
+    public void testModificationsArePublishedByExecutor() {
+        list.addAll("a", "b", "c");
+        list.add(1, "x");
+        assertTrue(list.isEmpty());
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertEquals(Arrays.asList("a", "x", "b", "c"), list);
+        assertEquals(1, changes);
+    }
+
+    @Test
+    public void testModificationsAreCoalesced() {
+        list.setAll("a", "b", "c", "d", "e");
+        runTasks();
+        changes = 0;
+
+        list.remove("b");
+        list.set(0, "z");
+        list.add("f");
+        list.removeAll("d", "e");
+        list.add(2, "y");
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertEquals(Arrays.asList("z", "c", "y", "f"), list);
+        assertEquals(1, changes);
+    }
+
+    @Test
+    public void testResultsReflectPendingModifications() {
+        list.addAll("a", "b", "c");
+        assertEquals("b", list.remove(1));
+        assertEquals("c", list.set(1, "d"));
+        assertTrue(list.remove("a"));
+        assertFalse(list.remove("a"));
+        assertFalse(list.removeAll("x"));
+        assertTrue(list.retainAll("x"));
+        assertTrue(list.isEmpty());
+
+        runTasks();
+        assertTrue(list.isEmpty());
+        // everything that was added was removed again
+        assertEquals(0, changes);
+    }
+
+    @Test
+    public void testRemoveAddedElement() {
+        list.addAll("0", "0");
+        runTasks();
+        changes = 0;
+
+        list.remove(1);
+        list.add(0, "2");
+        list.remove(0);
+        runTasks();
+        assertEquals(Arrays.asList("0"), list);
+        assertEquals(1, changes);
+    }
+
+    @Test
+    public void testRandomModifications() {
+        final Random random = new Random(20200616L);
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final int index = random.nextInt(expected.size() + 1);
+            final boolean hasElement = index < expected.size();
+            final String element = Integer.toString(random.nextInt(10));
+            switch (random.nextInt(8)) {
+                case 0:
+                    list.add(index, element);
+                    expected.add(index, element);
+                    break;
+                case 1:
+                    list.addAll(index, Arrays.asList(element, element + element));
+                    expected.addAll(index, Arrays.asList(element, element + element));
+                    break;
+                case 2:
+                    if (hasElement) {
+                        assertEquals(expected.remove(index), list.remove(index));
+                    }
+                    break;
+                case 3:
+                    if (hasElement) {
+                        assertEquals(expected.set(index, element), list.set(index, element));
+                    }
+                    break;
+                case 4:
+                    assertEquals(expected.remove(element), list.remove(element));
+                    break;
+                case 5:
+                    final int to = Math.min(expected.size(), index + random.nextInt(4));
+                    list.remove(index, to);
+                    expected.subList(index, to).clear();
+                    break;
+                case 6:
+                    assertEquals(expected.removeIf(e -> e.startsWith(element)),
+                            list.removeIf(e -> e.startsWith(element)));
+                    break;
+                default:
+                    changes = 0;
+                    runTasks();
+                    assertEquals(expected, list);
+                    assertTrue(changes <= 1);
+                    break;
+            }
+        }
+        runTasks();
+        assertEquals(expected, list);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexIsCheckedAgainstPendingContent() {
+        list.add("a");
+        list.add(2, "b");
+    }
+
+    @Test
+    public void testNewTaskAfterPublishing() {
+        list.add("a");
+        runTasks();
+        list.add("b");
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(Arrays.asList("a", "b"), list);
+        assertEquals(2, changes);
+    }
+
+    @Test
+    public void testRemoveRangeAndClear() {
+        list.addAll("a", "b", "c", "d");
+        list.remove(1, 3);
+        runTasks();
+        assertEquals(Arrays.asList("a", "d"), list);
+
+        list.clear();
+        runTasks();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testSortAndReplaceAll() {
+        list.addAll("c", "a", "b");
+        list.sort(null);
+        list.replaceAll(String::toUpperCase);
+        runTasks();
+        assertEquals(Arrays.asList("A", "B", "C"), list);
+    }
+
+    @Test
+    public void testRejectedTaskIsSubmittedAgain() {
+        final boolean[] reject = { true };
+        final ObservableList<String> rejecting = FXCollections.concurrentObservableList(task -> {
+            if (reject[0]) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(task);
+        });
+        try {
+            rejecting.add("a");
+            fail("the rejection was not reported");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+        assertTrue(tasks.isEmpty());
+
+        reject[0] = false;
+        rejecting.add("b");
+        rejecting.add("c");
+        assertEquals(1, tasks.size());
+        tasks.poll().run();
+        assertEquals(Arrays.asList("a", "b", "c"), rejecting);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIteratorIsReadOnly() {
+        list.add("a");
+        runTasks();
+        final Iterator<String> it = list.iterator();
+        it.next();
+        it.remove();
+    }
+
+    @Test
+    public void testModificationsFromSeveralThreads() throws InterruptedException {
+        final int threads = 4;
+        final int count = 1000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final String prefix = "t" + t + "-";
+            final Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < count; i++) {
+                    list.add(prefix + i);
+                    if (i % 10 == 0) {
+                        list.remove(prefix + (i / 2));
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        runTasks();
+        assertEquals(threads * (count - count / 10), list.size());
+        final List<String> expected = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < count; i++) {
+                expected.add("t" + t + "-" + i);
+            }
+            for (int i = 0; i < count; i += 10) {
+                expected.remove("t" + t + "-" + (i / 2));
+            }
+        }
+        final List<String> actual = new ArrayList<>(list);
+        Collections.sort(expected);
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,6 +26,9 @@
 package test.javafx.collections;
 
 import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import org.junit.Test;
 
 import java.util.*;
@@ -55,6 +58,201 @@ public class FXCollectionsTest {
         assertArrayEquals(new String[] {"foo"}, seq.toArray(new String[0]));
     }
 
+    @Test
+    public void runAsSingleChangeTest() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b", "c", "d");
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        list.addListener(observer);
+
+        FXCollections.runAsSingleChange(list, () -> {
+            list.set(1, "x");
+            list.add(2, "y");
+            list.remove("y");
+            list.set(2, "z");
+            observer.check0();
+        });
+        assertEquals(Arrays.asList("a", "x", "z", "d"), list);
+        observer.check1AddRemove(list, Arrays.asList("b", "c"), 1, 3);
+    }
+
+    @Test
+    public void runAsSingleChangeNestedTest() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b");
+        final int[] changes = new int[1];
+        list.addListener((ListChangeListener<String>) c -> changes[0]++);
+
+        FXCollections.runAsSingleChange(list, () -> {
+            FXCollections.runAsSingleChange(list, () -> list.add("c"));
+            assertEquals(0, changes[0]);
+            list.add(0, "0");
+        });
+        assertEquals(1, changes[0]);
+        assertEquals(Arrays.asList("0", "a", "b", "c"), list);
+    }
+
+    @Test
+    public void runAsSingleChangeExceptionTest() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b");
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        list.addListener(observer);
+
+        try {
+            FXCollections.runAsSingleChange(list, () -> {
+                list.add("c");
+                throw new IllegalStateException();
+            });
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        observer.check1AddRemove(list, Collections.emptyList(), 2, 3);
+
+        // the list is not left in a change
+        observer.clear();
+        list.add("d");
+        observer.check1AddRemove(list, Collections.emptyList(), 3, 4);
+    }
+
+    @Test
+    public void runAsSingleChangeWrappersTest() {
+        ObservableList<String> backing = FXCollections.observableArrayList("a", "b");
+        ObservableList<String> sync = FXCollections.synchronizedObservableList(backing);
+        ObservableList<String> checked = FXCollections.checkedObservableList(backing, String.class);
+        final MockListObserver<String> syncObserver = new MockListObserver<String>();
+        final MockListObserver<String> checkedObserver = new MockListObserver<String>();
+        sync.addListener(syncObserver);
+        checked.addListener(checkedObserver);
+
+        FXCollections.runAsSingleChange(sync, () -> {
+            sync.add("c");
+            sync.add("d");
+        });
+        syncObserver.check1AddRemove(sync, Collections.emptyList(), 2, 4);
+        checkedObserver.check1AddRemove(checked, Collections.emptyList(), 2, 4);
+
+        syncObserver.clear();
+        checkedObserver.clear();
+        FXCollections.runAsSingleChange(checked, () -> {
+            checked.remove(0);
+            checked.remove(0);
+        });
+        syncObserver.check1AddRemove(sync, Arrays.asList("a", "b"), 0, 0);
+        checkedObserver.check1AddRemove(checked, Arrays.asList("a", "b"), 0, 0);
+    }
+
+    @Test
+    public void runAsSingleChangeRemoveAddedTest() {
+        ObservableList<Integer> list = FXCollections.observableArrayList(0, 0);
+        final MockListObserver<Integer> observer = new MockListObserver<Integer>();
+        list.addListener(observer);
+
+        FXCollections.runAsSingleChange(list, () -> {
+            list.remove(1);
+            list.add(0, 2);
+            list.remove(0);
+        });
+        assertEquals(Arrays.asList(0), list);
+        observer.check1AddRemove(list, Arrays.asList(0), 1, 1);
+    }
+
+    @Test
+    public void runAsSingleChangeSetAddedTest() {
+        ObservableList<Integer> list = FXCollections.observableArrayList(3);
+        final MockListObserver<Integer> observer = new MockListObserver<Integer>();
+        list.addListener(observer);
+
+        FXCollections.runAsSingleChange(list, () -> {
+            list.add(1, 3);
+            list.add(0, 1);
+            list.set(0, 4);
+        });
+        assertEquals(Arrays.asList(4, 3, 3), list);
+        assertEquals(2, observer.calls.size());
+        observer.checkAddRemove(0, list, Collections.<Integer>emptyList(), 0, 1);
+        observer.checkAddRemove(1, list, Collections.<Integer>emptyList(), 2, 3);
+    }
+
+    @Test
+    public void runAsSingleChangeSortTest() {
+        ObservableList<String> list = FXCollections.observableArrayList("d", "b", "c", "a");
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        list.addListener(observer);
+
+        FXCollections.runAsSingleChange(list, () -> {
+            list.remove("c");
+            FXCollections.sort(list);
+            observer.check0();
+            list.add("e");
+        });
+        assertEquals(Arrays.asList("a", "b", "d", "e"), list);
+        assertEquals(3, observer.calls.size());
+        observer.checkPermutation(0, list, 0, 4, new int[] {3, 1, 2, 0});
+        observer.checkAddRemove(1, list, Arrays.asList("c"), 2, 2);
+        observer.checkAddRemove(2, list, Collections.<String>emptyList(), 3, 4);
+    }
+
+    @Test
+    public void runAsSingleChangeRandomTest() {
+        final Random random = new Random(20200616L);
+        for (int i = 0; i < 5000; ++i) {
+            final ObservableList<IntegerProperty> list = FXCollections.observableArrayList(p -> new Observable[] {p});
+            final int size = random.nextInt(20);
+            for (int j = 0; j < size; ++j) {
+                list.add(new SimpleIntegerProperty(random.nextInt(10)));
+            }
+            final List<IntegerProperty> before = new ArrayList<IntegerProperty>(list);
+            final Set<IntegerProperty> updated = new HashSet<IntegerProperty>();
+            final MirrorListObserver<IntegerProperty> observer = new MirrorListObserver<IntegerProperty>(list);
+            list.addListener(observer);
+
+            FXCollections.runAsSingleChange(list, () -> {
+                final int modifications = 1 + random.nextInt(15);
+                for (int j = 0; j < modifications; ++j) {
+                    final int index = random.nextInt(list.size() + 1);
+                    final boolean hasElement = index < list.size();
+                    switch (random.nextInt(7)) {
+                        case 0:
+                            list.add(index, new SimpleIntegerProperty(random.nextInt(10)));
+                            break;
+                        case 1:
+                            list.addAll(index, Arrays.asList(new SimpleIntegerProperty(random.nextInt(10)),
+                                    new SimpleIntegerProperty(random.nextInt(10))));
+                            break;
+                        case 2:
+                            if (hasElement) {
+                                list.remove(index);
+                            }
+                            break;
+                        case 3:
+                            list.subList(index, Math.min(list.size(), index + random.nextInt(4))).clear();
+                            break;
+                        case 4:
+                            if (hasElement) {
+                                list.set(index, new SimpleIntegerProperty(random.nextInt(10)));
+                            }
+                            break;
+                        case 5:
+                            if (hasElement) {
+                                list.get(index).set(list.get(index).get() + 1);
+                                updated.add(list.get(index));
+                            }
+                            break;
+                        default:
+                            FXCollections.sort(list, Comparator.comparingInt(IntegerProperty::get));
+                            break;
+                    }
+                }
+                assertEquals(0, observer.getCalls());
+            });
+
+            observer.check(list);
+            assertTrue(observer.getCalls() <= 1);
+            updated.retainAll(before);
+            updated.retainAll(list);
+            assertEquals(updated, new HashSet<IntegerProperty>(observer.getUpdated()));
+        }
+    }
+
     @Test
     public void shuffleTest() {
         String[] content = new String[] { "foo", "bar", "ham", "eggs", "spam" };
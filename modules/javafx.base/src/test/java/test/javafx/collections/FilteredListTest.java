@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2016, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,6 +26,7 @@
 package test.javafx.collections;
 
 import com.sun.javafx.collections.ObservableListWrapper;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -33,6 +34,7 @@ import java.util.function.Predicate;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableListWrapperShim;
 import javafx.collections.transformation.FilteredList;
@@ -288,4 +290,53 @@ public class FilteredListTest {
         assertEquals(list, filteredList);
         compareIndices();
     }
+
+    @Test
+    public void testParallelFilteringMinimalChange() {
+        filteredList.setParallelFiltering(true);
+        assertTrue(filteredList.isParallelFiltering());
+        filteredList.setPredicate((String e) -> !e.equals("a"));
+        assertEquals(Arrays.asList("c", "d", "c"), filteredList);
+        mlo.checkAddRemove(0, filteredList, Arrays.asList("a"), 0, 1);
+        mlo.checkAddRemove(1, filteredList, Collections.emptyList(), 2, 3);
+        assertEquals(2, mlo.calls.size());
+        compareIndices();
+    }
+
+    @Test
+    public void testParallelFilteringLargeSource() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 100_000; i++) {
+            source.add(i);
+        }
+        FilteredList<Integer> filtered = new FilteredList<>(source, i -> i % 2 == 0);
+        filtered.setParallelFiltering(true);
+        final List<Integer> mirror = new ArrayList<>(filtered);
+        filtered.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                mirror.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                mirror.addAll(c.getFrom(), c.getAddedSubList());
+            }
+        });
+
+        filtered.setPredicate(i -> i % 3 == 0);
+        assertEquals(33_334, filtered.size());
+        for (int i = 0; i < filtered.size(); i++) {
+            assertEquals(i * 3, (int) filtered.get(i));
+        }
+        assertEquals(filtered, mirror);
+        compareIndices(filtered);
+
+        filtered.setPredicate(null);
+        assertEquals(source, filtered);
+        assertEquals(filtered, mirror);
+        compareIndices(filtered);
+
+        // source changes are still tracked after a parallel refilter
+        filtered.setPredicate(i -> i < 10);
+        source.add(0, 5);
+        assertEquals(Arrays.asList(5, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9), filtered);
+        assertEquals(filtered, mirror);
+        compareIndices(filtered);
+    }
 }
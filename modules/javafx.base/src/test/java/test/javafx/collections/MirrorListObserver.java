@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import static org.junit.Assert.*;
+
+/**
+ * An observer that applies every change it receives to a copy of the list,
+ * so that a test can check that the changes describe the modifications of
+ * the list, whatever they were.
+ */
+public class MirrorListObserver<E> implements ListChangeListener<E> {
+
+    private final List<E> mirror;
+    private final List<E> updated = new ArrayList<E>();
+    private int calls;
+
+    public MirrorListObserver(List<? extends E> list) {
+        mirror = new ArrayList<E>(list);
+    }
+
+    @Override
+    public void onChanged(Change<? extends E> change) {
+        calls++;
+        while (change.next()) {
+            assertTrue(change.getFrom() >= 0);
+            assertTrue(change.getFrom() <= change.getTo());
+            if (change.wasPermutated()) {
+                assertTrue(change.getTo() <= mirror.size());
+                final List<E> copy = new ArrayList<E>(mirror);
+                for (int i = change.getFrom(); i < change.getTo(); ++i) {
+                    mirror.set(change.getPermutation(i), copy.get(i));
+                }
+            } else if (change.wasUpdated()) {
+                assertTrue(change.getFrom() < change.getTo());
+                assertTrue(change.getTo() <= change.getList().size());
+                updated.addAll(change.getList().subList(change.getFrom(), change.getTo()));
+            } else {
+                assertTrue(change.wasAdded() || change.wasRemoved());
+                assertTrue(change.getTo() <= change.getList().size());
+                assertTrue(change.getFrom() + change.getRemovedSize() <= mirror.size());
+                final List<E> range = mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize());
+                assertEquals(range, change.getRemoved());
+                range.clear();
+                mirror.addAll(change.getFrom(), change.getAddedSubList());
+            }
+        }
+    }
+
+    public void check(ObservableList<E> list) {
+        assertEquals(list, mirror);
+    }
+
+    public int getCalls() {
+        return calls;
+    }
+
+    public List<E> getUpdated() {
+        return updated;
+    }
+}
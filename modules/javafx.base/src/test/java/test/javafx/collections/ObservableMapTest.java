@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -60,6 +60,7 @@ public class ObservableMapTest {
     public static Collection createParameters() {
         Object[][] data = new Object[][] {
             { TestedObservableMaps.HASH_MAP },
+            { TestedObservableMaps.OBSERVABLE_HASH_MAP },
             { TestedObservableMaps.TREE_MAP },
             { TestedObservableMaps.LINKED_HASH_MAP },
             { TestedObservableMaps.CONCURRENT_HASH_MAP },
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.Arrays;
+import java.util.Collections;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableDoubleList;
+import javafx.collections.ObservableIntegerList;
+import javafx.collections.ObservableLongList;
+import javafx.collections.transformation.SortedList;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObservablePrimitiveListTest {
+
+    private ObservableDoubleList list;
+    private MockListObserver<Double> mlo;
+
+    @Before
+    public void setUp() {
+        list = FXCollections.observableDoubleList(1.0, 2.0, 3.0);
+        mlo = new MockListObserver<>();
+        list.addListener(mlo);
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals(3, list.size());
+        assertEquals(2.0, list.getDouble(1), 0.0);
+        assertEquals(Double.valueOf(3.0), list.get(2));
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), list);
+        mlo.check0();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        list.getDouble(3);
+    }
+
+    @Test
+    public void testSet() {
+        assertEquals(2.0, list.setDouble(1, 5.0), 0.0);
+        assertEquals(Arrays.asList(1.0, 5.0, 3.0), list);
+        mlo.check1AddRemove(list, Arrays.asList(2.0), 1, 2);
+
+        mlo.clear();
+        assertEquals(Double.valueOf(5.0), list.set(1, 6.0));
+        mlo.check1AddRemove(list, Arrays.asList(5.0), 1, 2);
+    }
+
+    @Test
+    public void testAdd() {
+        list.addDouble(4.0);
+        mlo.check1AddRemove(list, Collections.emptyList(), 3, 4);
+
+        mlo.clear();
+        list.addDouble(0, 0.0);
+        mlo.check1AddRemove(list, Collections.emptyList(), 0, 1);
+
+        mlo.clear();
+        list.add(2, 1.5);
+        mlo.check1AddRemove(list, Collections.emptyList(), 2, 3);
+        assertEquals(Arrays.asList(0.0, 1.0, 1.5, 2.0, 3.0, 4.0), list);
+    }
+
+    @Test
+    public void testAddNull() {
+        try {
+            list.add(1, null);
+            fail();
+        } catch (NullPointerException e) {
+        }
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), list);
+        mlo.check0();
+    }
+
+    @Test
+    public void testSetNull() {
+        try {
+            list.set(1, null);
+            fail();
+        } catch (NullPointerException e) {
+        }
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), list);
+        mlo.check0();
+    }
+
+    @Test
+    public void testAddAll() {
+        list.addAll(new double[] {4.0, 5.0});
+        mlo.check1AddRemove(list, Collections.emptyList(), 3, 5);
+
+        mlo.clear();
+        list.addAll(new double[] {6.0, 7.0, 8.0}, 1, 2);
+        mlo.check1AddRemove(list, Collections.emptyList(), 5, 7);
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 7.0, 8.0), list);
+
+        mlo.clear();
+        list.addAll(new double[0]);
+        mlo.check0();
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testAddAllOutOfBounds() {
+        list.addAll(new double[] {4.0, 5.0}, 1, 2);
+    }
+
+    @Test
+    public void testSetAll() {
+        final double[] values = {7.0, 8.0};
+        list.setAll(values);
+        mlo.check1AddRemove(list, Arrays.asList(1.0, 2.0, 3.0), 0, 2);
+        values[0] = 0.0;
+        assertEquals(Arrays.asList(7.0, 8.0), list);
+
+        mlo.clear();
+        list.setAll(new double[0]);
+        mlo.check1AddRemove(list, Arrays.asList(7.0, 8.0), 0, 0);
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        assertEquals(Double.valueOf(2.0), list.remove(1));
+        mlo.check1AddRemove(list, Arrays.asList(2.0), 1, 1);
+
+        mlo.clear();
+        list.clear();
+        mlo.check1AddRemove(list, Arrays.asList(1.0, 3.0), 0, 0);
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testRemoveRange() {
+        list.addAll(new double[] {4.0, 5.0});
+        mlo.clear();
+        list.remove(1, 4);
+        mlo.check1AddRemove(list, Arrays.asList(2.0, 3.0, 4.0), 1, 1);
+        assertEquals(Arrays.asList(1.0, 5.0), list);
+    }
+
+    @Test
+    public void testCopyTo() {
+        final double[] dest = new double[4];
+        list.copyTo(1, dest, 2, 2);
+        assertArrayEquals(new double[] {0.0, 0.0, 2.0, 3.0}, dest, 0.0);
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0}, list.toDoubleArray(null), 0.0);
+        final double[] large = new double[5];
+        assertSame(large, list.toDoubleArray(large));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testCopyToOutOfBounds() {
+        list.copyTo(2, new double[4], 0, 2);
+    }
+
+    @Test
+    public void testSorted() {
+        list.setAll(new double[] {3.0, 1.0, 2.0});
+        SortedList<Double> sorted = list.sorted();
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), sorted);
+        list.setDouble(0, 0.5);
+        assertEquals(Arrays.asList(0.5, 1.0, 2.0), sorted);
+    }
+
+    @Test
+    public void testIntegerList() {
+        ObservableIntegerList ints = FXCollections.observableIntegerList(1, 2, 3);
+        MockListObserver<Integer> observer = new MockListObserver<>();
+        ints.addListener(observer);
+        ints.addInt(1, 7);
+        observer.check1AddRemove(ints, Collections.emptyList(), 1, 2);
+        assertEquals(7, ints.getInt(1));
+        assertEquals(Arrays.asList(1, 7, 2, 3), ints);
+        assertArrayEquals(new int[] {1, 7, 2, 3}, ints.toIntArray(new int[0]));
+    }
+
+    @Test
+    public void testIntegerListAddNull() {
+        ObservableIntegerList ints = FXCollections.observableIntegerList(1, 2, 3);
+        try {
+            ints.add(1, null);
+            fail();
+        } catch (NullPointerException e) {
+        }
+        assertEquals(Arrays.asList(1, 2, 3), ints);
+    }
+
+    @Test
+    public void testLongList() {
+        ObservableLongList longs = FXCollections.observableLongList();
+        MockListObserver<Long> observer = new MockListObserver<>();
+        longs.addListener(observer);
+        longs.addAll(new long[] {1L, 2L});
+        observer.check1AddRemove(longs, Collections.emptyList(), 0, 2);
+        observer.clear();
+        assertEquals(2L, longs.setLong(1, 5L));
+        observer.check1AddRemove(longs, Arrays.asList(2L), 1, 2);
+        assertEquals(Arrays.asList(1L, 5L), longs);
+    }
+
+    @Test
+    public void testLongListAddNull() {
+        ObservableLongList longs = FXCollections.observableLongList(1L, 2L, 3L);
+        try {
+            longs.add(1, null);
+            fail();
+        } catch (NullPointerException e) {
+        }
+        assertEquals(Arrays.asList(1L, 2L, 3L), longs);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -59,6 +59,7 @@ public class ObservableSetTest {
     public static Collection createParameters() {
         Object[][] data = new Object[][] {
             { TestedObservableSets.HASH_SET },
+            { TestedObservableSets.OBSERVABLE_HASH_SET },
             { TestedObservableSets.TREE_SET },
             { TestedObservableSets.LINKED_HASH_SET },
             { TestedObservableSets.CHECKED_OBSERVABLE_HASH_SET },
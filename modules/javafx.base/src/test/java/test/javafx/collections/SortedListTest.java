@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2016, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -34,6 +34,7 @@ import java.util.Collections;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.Random;
 
 import javafx.beans.Observable;
 import javafx.beans.property.SimpleObjectProperty;
@@ -249,7 +250,7 @@ public class SortedListTest {
         ObservableList<Person> expected = FXCollections.observableArrayList(
                 new Person("five"), new Person("one"), new Person("three"),
                 new Person("two"), new Person("zero"));
-        listener.checkPermutation(0, expected, 0, list.size(), new int[]{0, 4, 1, 2, 3});
+        listener.checkPermutation(0, expected, 1, list.size(), new int[]{4, 1, 2, 3});
         listener.checkUpdate(1, expected, 4, 5);
         assertEquals(expected, sorted);
 
@@ -286,7 +287,7 @@ public class SortedListTest {
         ObservableList<Person> expected = FXCollections.observableArrayList(
                 new Person("five"), new Person("one"), new Person("three"),
                 new Person("two"), new Person("zero"));
-        listener.checkPermutation(0, expected, 0, expected.size(), new int[] {0, 4, 1, 2, 3});
+        listener.checkPermutation(0, expected, 1, expected.size(), new int[] {4, 1, 2, 3});
         listener.checkUpdate(1, expected, 4, 5);
         assertEquals(expected, sorted);
         assertEquals(expected, unsorted);
@@ -595,4 +596,136 @@ public class SortedListTest {
         mockListObserver.check1Permutation(sortedList, new int[] {0, 3, 2, 1});
         compareIndices();
     }
+
+    @Test
+    public void testMutableElementPermutatesOnlyMovedRange() {
+        ObservableList<Person> list = Person.createPersonsList("a", "b", "c", "d", "e", "f");
+        SortedList<Person> sorted = list.sorted();
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        list.get(1).name.set("dd"); // b -> dd
+        ObservableList<Person> expected = Person.createPersonsList("a", "c", "d", "dd", "e", "f");
+        listener.checkPermutation(0, expected, 1, 4, new int[] {3, 1, 2});
+        listener.checkUpdate(1, expected, 3, 4);
+        assertEquals(expected, sorted);
+
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testMutableElementInPlace() {
+        ObservableList<Person> list = Person.createPersonsList("a", "c", "e");
+        SortedList<Person> sorted = list.sorted();
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        list.get(1).name.set("d"); // c -> d, keeps its position
+        ObservableList<Person> expected = Person.createPersonsList("a", "d", "e");
+        listener.check1Update(expected, 1, 2);
+        assertEquals(expected, sorted);
+
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testMutableElementsCrossing() {
+        ObservableListWrapper<Person> list = new ObservableListWrapper<>(new ArrayList<>(
+                Person.createPersonsFromNames("1", "2", "3", "4", "5")));
+        SortedList<Person> sorted = list.sorted();
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        list.get(0).name.set("9");
+        list.get(1).name.set("0");
+        ObservableListWrapperShim.beginChange(list);
+        ObservableListWrapperShim.nextUpdate(list, 0);
+        ObservableListWrapperShim.nextUpdate(list, 1);
+        ObservableListWrapperShim.endChange(list);
+        ObservableList<Person> expected = Person.createPersonsList("0", "3", "4", "5", "9");
+        listener.checkPermutation(0, expected, 0, 5, new int[] {4, 0, 1, 2, 3});
+        assertEquals(expected, sorted);
+        compareIndices(sorted);
+
+        listener.clear();
+        list.get(1).name.set("8");
+        list.get(2).name.set("7");
+        list.get(3).name.set("1");
+        ObservableListWrapperShim.beginChange(list);
+        ObservableListWrapperShim.nextUpdate(list, 1);
+        ObservableListWrapperShim.nextUpdate(list, 2);
+        ObservableListWrapperShim.nextUpdate(list, 3);
+        ObservableListWrapperShim.endChange(list);
+        expected = Person.createPersonsList("1", "5", "7", "8", "9");
+        listener.checkPermutation(0, expected, 0, 4, new int[] {3, 2, 0, 1});
+        assertEquals(expected, sorted);
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testMutableElementsInSeveralRanges() {
+        ObservableListWrapper<Person> list = new ObservableListWrapper<>(new ArrayList<>(
+                Person.createPersonsFromNames("17", "05", "10", "09", "08", "03", "10")));
+        SortedList<Person> sorted = list.sorted();
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        list.get(0).name.set("19");
+        list.get(4).name.set("19");
+        ObservableListWrapperShim.beginChange(list);
+        ObservableListWrapperShim.nextUpdate(list, 0);
+        ObservableListWrapperShim.nextUpdate(list, 4);
+        ObservableListWrapperShim.endChange(list);
+        ObservableList<Person> expected = Person.createPersonsList("03", "05", "09", "10", "10", "19", "19");
+        assertEquals(expected, sorted);
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testRandomChanges() {
+        final Random random = new Random(42);
+        final ObservableList<Person> list = Person.createPersonsList(new Person[0]);
+        for (int i = 0; i < 200; i++) {
+            list.add(new Person(Integer.toString(random.nextInt(100))));
+        }
+        final SortedList<Person> sorted = list.sorted();
+        final List<Person> mirror = new ArrayList<>(sorted);
+        sorted.addListener((ListChangeListener<Person>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    final List<Person> old = new ArrayList<>(mirror.subList(c.getFrom(), c.getTo()));
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        mirror.set(c.getPermutation(i), old.get(i - c.getFrom()));
+                    }
+                } else if (!c.wasUpdated()) {
+                    mirror.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                    mirror.addAll(c.getFrom(), c.getAddedSubList());
+                }
+            }
+        });
+
+        for (int i = 0; i < 500; i++) {
+            final int index = random.nextInt(list.size());
+            switch (random.nextInt(5)) {
+                case 0:
+                    list.get(index).name.set(Integer.toString(random.nextInt(100)));
+                    break;
+                case 1:
+                    list.add(index, new Person(Integer.toString(random.nextInt(100))));
+                    break;
+                case 2:
+                    list.addAll(index, Person.createPersonsFromNames(
+                            Integer.toString(random.nextInt(100)), Integer.toString(random.nextInt(100))));
+                    break;
+                case 3:
+                    list.remove(index, Math.min(list.size(), index + 1 + random.nextInt(3)));
+                    list.add(new Person(Integer.toString(random.nextInt(100))));
+                    break;
+                default:
+                    list.set(index, new Person(Integer.toString(random.nextInt(100))));
+                    break;
+            }
+            final List<Person> expected = new ArrayList<>(list);
+            Collections.sort(expected);
+            assertEquals(expected, sorted);
+            assertEquals(expected, mirror);
+            compareIndices(sorted);
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -120,7 +120,7 @@ public class SourceAdapterChangeTest {
         ObservableList<Person> expected = FXCollections.observableArrayList(
                 new Person("five"), new Person("one"), new Person("three"),
                 new Person("two"), new Person("zero"));
-        mlo.checkPermutation(0, expected, 0, expected.size(), new int[] {0, 4, 1, 2, 3});
+        mlo.checkPermutation(0, expected, 1, expected.size(), new int[] {4, 1, 2, 3});
         mlo.checkUpdate(1, expected, 4, 5);
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -36,6 +36,8 @@ public interface TestedObservableSets {
 
     Callable<ObservableSet<String>> HASH_SET = () -> FXCollections.observableSet(new HashSet<String>());
 
+    Callable<ObservableSet<String>> OBSERVABLE_HASH_SET = () -> FXCollections.observableSet();
+
     Callable<ObservableSet<String>> TREE_SET = new CallableTreeSetImpl();
 
     Callable<ObservableSet<String>> LINKED_HASH_SET = () -> FXCollections.observableSet(new LinkedHashSet<String>());
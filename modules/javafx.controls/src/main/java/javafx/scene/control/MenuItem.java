@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -52,7 +52,6 @@ import com.sun.javafx.event.EventHandlerManager;
 import com.sun.javafx.scene.control.ContextMenuContent;
 import javafx.scene.control.skin.ContextMenuSkin;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 
 import javafx.beans.property.ReadOnlyObjectProperty;
@@ -535,7 +534,7 @@ public class MenuItem implements EventTarget, Styleable {
      */
     public ObservableMap<Object, Object> getProperties() {
         if (properties == null) {
-            properties = FXCollections.observableMap(new HashMap<Object, Object>());
+            properties = FXCollections.observableHashMap();
         }
         return properties;
     }
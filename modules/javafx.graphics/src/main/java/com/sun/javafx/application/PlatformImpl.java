@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -101,6 +101,21 @@ public class PlatformImpl {
             = AccessController.doPrivileged((PrivilegedAction<Boolean>) ()
                     -> Boolean.getBoolean("com.sun.javafx.application.debug"));
 
+    // Run the runnables of runLater in batches, one native event per batch
+    private static final boolean batchRunLater
+            = AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+                Boolean.getBoolean("javafx.runlater.batch"));
+
+    private static final RunLaterQueue runLaterQueue = new RunLaterQueue(r -> {
+        synchronized (runLaterLock) {
+            if (toolkitExit.get()) {
+                return false;
+            }
+            Toolkit.getToolkit().defer(r);
+            return true;
+        }
+    });
+
     // Internal permission used by FXCanvas (SWT interop)
     private static final FXPermission FXCANVAS_PERMISSION =
             new FXPermission("accessFXCanvasInternals");
@@ -420,20 +435,67 @@ public class PlatformImpl {
                 return;
             }
 
-            final AccessControlContext acc = AccessController.getContext();
-            // Don't catch exceptions, they are handled by Toolkit.defer()
-            Toolkit.getToolkit().defer(() -> {
-                try {
-                    AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
-                        r.run();
-                        return null;
-                    }, acc);
-                } finally {
-                    pendingRunnables.decrementAndGet();
-                    checkIdle();
-                }
-            });
+            final Runnable task = createRunLaterTask(r, AccessController.getContext());
+            if (batchRunLater && !exiting) {
+                runLaterQueue.add(task);
+            } else {
+                // Don't catch exceptions, they are handled by Toolkit.defer()
+                Toolkit.getToolkit().defer(task);
+            }
+        }
+    }
+
+    /**
+     * Runs the specified Runnable on the JavaFX Application Thread at some
+     * unspecified time in the future, unless another Runnable is run later
+     * with the same key before this one was run, in which case only the
+     * latest one is run. This lets a producer that updates some state faster
+     * than it can be shown, such as a market data feed, submit every update
+     * without flooding the FX Application Thread. The Runnables are run in
+     * batches, like those of runLater when javafx.runlater.batch is set.
+     *
+     * @param key the key of the state the runnable updates, not null
+     * @param r the Runnable whose run method will be executed on the
+     *     JavaFX Application Thread
+     */
+    public static void runLaterCoalesced(final Object key, final Runnable r) {
+        if (key == null) {
+            throw new NullPointerException("key must not be null");
+        }
+        if (!initialized.get()) {
+            throw new IllegalStateException("Toolkit not initialized");
         }
+
+        pendingRunnables.incrementAndGet();
+        waitForStart();
+
+        synchronized (runLaterLock) {
+            if (toolkitExit.get()) {
+                // Don't schedule a runnable after we have exited the toolkit
+                pendingRunnables.decrementAndGet();
+                return;
+            }
+
+            final Runnable task = createRunLaterTask(r, AccessController.getContext());
+            if (!runLaterQueue.addCoalesced(key, task)) {
+                // The pending runnable of the same key was replaced
+                pendingRunnables.decrementAndGet();
+            }
+        }
+    }
+
+    private static Runnable createRunLaterTask(final Runnable r, final AccessControlContext acc) {
+        return () -> {
+            try {
+                AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                    r.run();
+                    return null;
+                }, acc);
+            } finally {
+                pendingRunnables.decrementAndGet();
+                checkIdle();
+            }
+        };
     }
 
     public static void runAndWait(final Runnable r) {
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.application;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * A queue of runnables that are run on the FX Application Thread in
+ * batches, using a single native event per batch instead of one per
+ * runnable.
+ * <p>
+ * Runnables may be added from any thread. They are run in the order they
+ * were added, in slices of at most {@link #SLICE_DURATION} each. The next
+ * slice is posted when a slice ends, so that the native events, such as
+ * input events, that were posted while a slice was running are handled
+ * before the next slice.
+ * <p>
+ * While a slice is running and more runnables are pending, another event is
+ * posted that only drains the queue if it is handled from a nested event
+ * loop entered by one of the runnables. This way the queue keeps being
+ * drained from the nested event loop, just as separate native events would
+ * be, and the event is ignored once the slice has ended.
+ * <p>
+ * Runnables added with a key replace the runnable of the same key that is
+ * still pending, so that a producer that updates some state faster than the
+ * FX Application Thread can show it only gets its latest update run.
+ */
+final class RunLaterQueue {
+
+    private static final long SLICE_DURATION = TimeUnit.MILLISECONDS.toNanos(4);
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final Map<Object, Runnable> coalesced = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Predicate<Runnable> poster;
+    private final Runnable drainer = this::drain;
+    private final Runnable nestedDrainer = this::drainNested;
+
+    // the number of drain calls on the stack of the FX Application Thread,
+    // more than one when a runnable entered a nested event loop
+    private int drainDepth;
+    // whether nestedDrainer was posted and has not run yet, only accessed on
+    // the FX Application Thread
+    private boolean nestedScheduled;
+
+    /**
+     * Creates a queue.
+     *
+     * @param poster posts the given runnable to the native event queue, or
+     *     returns false if it could not be posted
+     */
+    RunLaterQueue(Predicate<Runnable> poster) {
+        this.poster = poster;
+    }
+
+    /**
+     * Adds a runnable to the queue.
+     *
+     * @return false if the runnable will never be run, because the queue
+     *     could not be posted
+     */
+    boolean add(Runnable r) {
+        queue.offer(r);
+        return schedule();
+    }
+
+    /**
+     * Adds a runnable to the queue, replacing the runnable of the same key
+     * if that one was not run yet.
+     *
+     * @return true if the runnable was added, false if it replaced a pending
+     *     one
+     */
+    boolean addCoalesced(Object key, Runnable r) {
+        if (coalesced.put(key, r) != null) {
+            return false;
+        }
+        queue.offer(() -> {
+            final Runnable latest = coalesced.remove(key);
+            if (latest != null) {
+                latest.run();
+            }
+        });
+        schedule();
+        return true;
+    }
+
+    private boolean schedule() {
+        if (scheduled.get() || !scheduled.compareAndSet(false, true)) {
+            return true;
+        }
+        if (!poster.test(drainer)) {
+            scheduled.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        final long deadline = System.nanoTime() + SLICE_DURATION;
+        drainDepth++;
+        try {
+            Runnable r;
+            while ((r = queue.poll()) != null) {
+                if (!nestedScheduled && !queue.isEmpty()) {
+                    nestedScheduled = poster.test(nestedDrainer);
+                }
+                r.run();
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+        } finally {
+            drainDepth--;
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private void drainNested() {
+        nestedScheduled = false;
+        // Outside of a nested event loop the slice that posted this has
+        // ended, and has posted the next slice behind the native events
+        if (drainDepth > 0) {
+            drain();
+        }
+    }
+}
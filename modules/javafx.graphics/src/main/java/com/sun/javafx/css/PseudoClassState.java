@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * States represents a set of State. A {@code Node} may be in more than
@@ -115,14 +116,16 @@ public final class PseudoClassState extends BitSet<PseudoClass> {
         }
 
         final String pseudoClass = t.getPseudoClassName();
-        Integer index = pseudoClassMap.get(pseudoClass);
+        synchronized (pseudoClassMap) {
+            Integer index = pseudoClassMap.get(pseudoClass);
 
-        if (index == null) {
-            index = Integer.valueOf(pseudoClasses.size());
-            pseudoClasses.add(new PseudoClassImpl(pseudoClass, index.intValue()));
-            pseudoClassMap.put(pseudoClass, index);
+            if (index == null) {
+                index = Integer.valueOf(pseudoClasses.size());
+                pseudoClasses.add(new PseudoClassImpl(pseudoClass, index.intValue()));
+                pseudoClassMap.put(pseudoClass, index);
+            }
+            return index.intValue();
         }
-        return index.intValue();
 
     }
 
@@ -136,40 +139,45 @@ public final class PseudoClassState extends BitSet<PseudoClass> {
             throw new IllegalArgumentException("pseudoClass cannot be null or empty String");
         }
 
-        PseudoClass instance = null;
+        // PseudoClass instances are shared, and may be looked up from any thread
+        synchronized (pseudoClassMap) {
+            PseudoClass instance = null;
 
-        final Integer value = pseudoClassMap.get(pseudoClass);
-        final int index = value != null ? value.intValue() : -1;
+            final Integer value = pseudoClassMap.get(pseudoClass);
+            final int index = value != null ? value.intValue() : -1;
 
-        final int size = pseudoClasses.size();
-        assert index < size;
+            final int size = pseudoClasses.size();
+            assert index < size;
 
-        if (index != -1 && index < size) {
-            instance = pseudoClasses.get(index);
-        }
+            if (index != -1 && index < size) {
+                instance = pseudoClasses.get(index);
+            }
 
-        if (instance == null) {
-            instance = new PseudoClassImpl(pseudoClass, size);
-            pseudoClasses.add(instance);
-            pseudoClassMap.put(pseudoClass, Integer.valueOf(size));
-        }
+            if (instance == null) {
+                instance = new PseudoClassImpl(pseudoClass, size);
+                pseudoClasses.add(instance);
+                pseudoClassMap.put(pseudoClass, Integer.valueOf(size));
+            }
 
-        return instance;
+            return instance;
+        }
     }
 
     static PseudoClass getPseudoClass(int index) {
-       if (0 <= index && index < pseudoClasses.size()) {
-           return pseudoClasses.get(index);
-       }
-       return null;
+        // Read without the lock: the list is copy-on-write and only grows
+        if (0 <= index && index < pseudoClasses.size()) {
+            return pseudoClasses.get(index);
+        }
+        return null;
     }
 
     // package private for unit test purposes
     static final Map<String,Integer> pseudoClassMap =
             new HashMap<String,Integer>(64);
 
+    // modified under the lock of pseudoClassMap, read by index without it
     static final List<PseudoClass> pseudoClasses =
-            new ArrayList<PseudoClass>();
+            new CopyOnWriteArrayList<PseudoClass>();
 
 }
 
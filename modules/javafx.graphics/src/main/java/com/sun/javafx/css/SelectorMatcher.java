@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import javafx.css.CompoundSelector;
+import javafx.css.PseudoClass;
+import javafx.css.Selector;
+import javafx.css.SimpleSelector;
+import javafx.css.StyleClass;
+import javafx.css.Styleable;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matches a fixed list of candidate selectors against a Styleable.
+ * <p>
+ * The candidates are the selectors that SelectorPartitioning found for a
+ * given type, id and style-classes. The rightmost part of each candidate is
+ * therefore already known to match, but a CompoundSelector still has to walk
+ * the Styleable's ancestors to check the other parts. Most of these walks
+ * fail, so each CompoundSelector is compiled once into a bloom filter of the
+ * types, ids and style-classes that its ancestor parts require. When a
+ * Styleable is matched, the same filter is built from its ancestors, and a
+ * candidate whose required bits are not all present cannot apply and is
+ * skipped without walking the ancestors.
+ */
+public final class SelectorMatcher {
+
+    private final List<Selector> selectors;
+
+    // Two longs per selector holding the 128 bit filter of the symbols that
+    // the ancestors of a matching Styleable must have. Both longs are zero for
+    // a SimpleSelector. Null if none of the selectors is a CompoundSelector.
+    private final long[] ancestorFilters;
+
+    /**
+     * Compile the given selectors. The list is used as is, so it must not be
+     * changed afterwards.
+     */
+    public SelectorMatcher(List<Selector> selectors) {
+        this.selectors = selectors;
+
+        long[] filters = null;
+        for (int s = 0, sMax = selectors.size(); s < sMax; s++) {
+            final Selector selector = selectors.get(s);
+            if (selector instanceof CompoundSelector == false) continue;
+
+            if (filters == null) {
+                filters = new long[2 * sMax];
+            }
+
+            // the rightmost part applies to the Styleable itself
+            final List<SimpleSelector> parts = ((CompoundSelector) selector).getSelectors();
+            for (int p = 0, pMax = parts.size() - 1; p < pMax; p++) {
+                final SimpleSelector part = parts.get(p);
+
+                final String name = part.getName();
+                if (name != null && name.isEmpty() == false && "*".equals(name) == false) {
+                    addBit(filters, 2 * s, TYPE_SEED, name);
+                }
+
+                final String id = part.getId();
+                if (id != null && id.isEmpty() == false) {
+                    addBit(filters, 2 * s, ID_SEED, id);
+                }
+
+                for (StyleClass styleClass : part.getStyleClassSet()) {
+                    addBit(filters, 2 * s, STYLECLASS_SEED, styleClass.getStyleClassName());
+                }
+            }
+        }
+        this.ancestorFilters = filters;
+    }
+
+    /**
+     * Find the selectors that apply to the given Styleable. For each selector
+     * that applies, the bit corresponding to its index in the list of
+     * selectors is set in matches, which must be large enough to hold one
+     * bit per selector. As with {@link Selector#applies(Styleable, Set[], int)},
+     * the pseudo-classes of the selectors that apply are added to the
+     * triggerStates.
+     *
+     * @return true if at least one selector applies
+     */
+    public boolean match(Styleable styleable, Set<PseudoClass>[] triggerStates, long[] matches) {
+
+        long ancestorsLow = 0l;
+        long ancestorsHigh = 0l;
+        if (ancestorFilters != null) {
+            Styleable ancestor = styleable.getStyleableParent();
+            while (ancestor != null) {
+                final String type = ancestor.getTypeSelector();
+                if (type != null) {
+                    final int bit = bit(TYPE_SEED, type);
+                    if (bit < Long.SIZE) ancestorsLow |= 1l << bit;
+                    else ancestorsHigh |= 1l << bit;
+                }
+
+                final String id = ancestor.getId();
+                if (id != null && id.isEmpty() == false) {
+                    final int bit = bit(ID_SEED, id);
+                    if (bit < Long.SIZE) ancestorsLow |= 1l << bit;
+                    else ancestorsHigh |= 1l << bit;
+                }
+
+                final List<String> styleClasses = ancestor.getStyleClass();
+                for (int n = 0, nMax = styleClasses.size(); n < nMax; n++) {
+                    final String styleClass = styleClasses.get(n);
+                    if (styleClass == null || styleClass.isEmpty()) continue;
+                    final int bit = bit(STYLECLASS_SEED, styleClass);
+                    if (bit < Long.SIZE) ancestorsLow |= 1l << bit;
+                    else ancestorsHigh |= 1l << bit;
+                }
+
+                ancestor = ancestor.getStyleableParent();
+            }
+        }
+
+        boolean matched = false;
+        for (int s = 0, sMax = selectors.size(); s < sMax; s++) {
+
+            if (ancestorFilters != null) {
+                final long requiredLow = ancestorFilters[2 * s];
+                final long requiredHigh = ancestorFilters[2 * s + 1];
+                if ((requiredLow & ancestorsLow) != requiredLow
+                        || (requiredHigh & ancestorsHigh) != requiredHigh) {
+                    continue;
+                }
+            }
+
+            if (selectors.get(s).applies(styleable, triggerStates, 0)) {
+                matches[s / Long.SIZE] |= 1l << s;
+                matched = true;
+            }
+        }
+        return matched;
+    }
+
+    // Seeds keep a type, an id and a style-class with the same name apart
+    private static final int TYPE_SEED = 0x9E3779B9;
+    private static final int ID_SEED = 0x7F4A7C15;
+    private static final int STYLECLASS_SEED = 0x2545F491;
+
+    private static void addBit(long[] filters, int index, int seed, String symbol) {
+        final int bit = bit(seed, symbol);
+        if (bit < Long.SIZE) filters[index] |= 1l << bit;
+        else filters[index + 1] |= 1l << bit;
+    }
+
+    // Maps a symbol to one of 128 bits
+    private static int bit(int seed, String symbol) {
+        int h = seed ^ symbol.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h >>> 25;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A bounded cache that StyleManager shares between the Scenes and SubScenes
+ * of the application. When the cache is full, adding an entry evicts the least
+ * recently used one. Hits, misses and evictions are reported to the
+ * PulseLogger so the effect of sharing can be observed.
+ * <p>
+ * The cache is also used on the cssExecutor threads of a Scene, but the
+ * PulseLogger charges the counters incremented on any thread other than the
+ * FX Application Thread to the render thread. The cache therefore counts
+ * them itself, and they are reported by {@link #reportCounters}, which is
+ * only called on the FX Application Thread.
+ * <p>
+ * This class is not thread-safe. StyleManager only uses it while holding its
+ * style lock.
+ */
+public final class SharedStyleCache<K,V> {
+
+    private final int maxSize;
+    private final Map<K,V> map;
+
+    // the hits, misses and evictions not reported yet
+    private int hits;
+    private int misses;
+    private int evictions;
+
+    public SharedStyleCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.map = new LinkedHashMap<K,V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K,V> eldest) {
+                if (size() > SharedStyleCache.this.maxSize) {
+                    if (PULSE_LOGGING_ENABLED) {
+                        evictions++;
+                    }
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the value for the key, or null if it is not in the cache. A value
+     * that is found becomes the most recently used one.
+     */
+    public V get(K key) {
+        final V value = map.get(key);
+        if (PULSE_LOGGING_ENABLED) {
+            if (value != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Add the value to the cache, which may evict the least recently used
+     * entry.
+     */
+    public void put(K key, V value) {
+        map.put(key, value);
+    }
+
+    /**
+     * Remove the entries whose key matches the filter, which are not counted
+     * as evictions.
+     */
+    public void removeIf(Predicate<? super K> filter) {
+        map.keySet().removeIf(filter);
+    }
+
+    /**
+     * Remove all of the entries.
+     */
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Report the hits, misses and evictions counted since the last call to
+     * the PulseLogger. Must only be called on the FX Application Thread.
+     */
+    public void reportCounters() {
+        for (int i = 0; i < hits; i++) {
+            PulseLogger.incrementCounter("Shared style cache hit");
+        }
+        for (int i = 0; i < misses; i++) {
+            PulseLogger.incrementCounter("Shared style cache miss");
+        }
+        for (int i = 0; i < evictions; i++) {
+            PulseLogger.incrementCounter("Shared style cache evicted");
+        }
+        hits = misses = evictions = 0;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override public String toString() {
+        return "SharedStyleCache[size=" + map.size() + ", maxSize=" + maxSize + "]";
+    }
+}
@@ -107,8 +107,8 @@ public final class StyleCache {
 
     public static final class Key {
 
-        public Key(int[] styleMapIds, int count) {
-            this.styleMapIds = new int[count];
+        public Key(long[] styleMapIds, int count) {
+            this.styleMapIds = new long[count];
             System.arraycopy(styleMapIds, 0, this.styleMapIds, 0, count);
             }
 
@@ -116,7 +116,7 @@ public final class StyleCache {
             this(other.styleMapIds, other.styleMapIds.length);
         }
 
-        public int[] getStyleMapIds() {
+        public long[] getStyleMapIds() {
             return styleMapIds;
         }
 
@@ -130,8 +130,8 @@ public final class StyleCache {
                 hash = 3;
                 if (styleMapIds != null) {
                     for (int i=0; i<styleMapIds.length; i++) {
-                        final int id = styleMapIds[i];
-                        hash = 17 * (hash + id);
+                        final long id = styleMapIds[i];
+                        hash = 17 * (hash + Long.hashCode(id));
                     }
                 }
             }
@@ -175,7 +175,7 @@ public final class StyleCache {
 
         }
 
-        final int[] styleMapIds;
+        final long[] styleMapIds;
         private int hash = Integer.MIN_VALUE;
     }
 
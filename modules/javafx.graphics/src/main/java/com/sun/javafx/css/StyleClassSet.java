@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,11 +26,11 @@ package com.sun.javafx.css;
 
 import javafx.css.StyleClass;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
@@ -129,40 +129,45 @@ public final class StyleClassSet  extends BitSet<StyleClass> {
             throw new IllegalArgumentException("styleClass cannot be null or empty String");
         }
 
-        StyleClass instance = null;
+        // StyleClass instances are shared, and may be looked up from any thread
+        synchronized (styleClassMap) {
+            StyleClass instance = null;
 
-        final Integer value = styleClassMap.get(styleClass);
-        final int index = value != null ? value.intValue() : -1;
+            final Integer value = styleClassMap.get(styleClass);
+            final int index = value != null ? value.intValue() : -1;
 
-        final int size = styleClasses.size();
-        assert index < size;
+            final int size = styleClasses.size();
+            assert index < size;
 
-        if (index != -1 && index < size) {
-            instance = styleClasses.get(index);
-        }
+            if (index != -1 && index < size) {
+                instance = styleClasses.get(index);
+            }
 
-        if (instance == null) {
-            instance = new StyleClass(styleClass, size);
-            styleClasses.add(instance);
-            styleClassMap.put(styleClass, Integer.valueOf(size));
-        }
+            if (instance == null) {
+                instance = new StyleClass(styleClass, size);
+                styleClasses.add(instance);
+                styleClassMap.put(styleClass, Integer.valueOf(size));
+            }
 
-        return instance;
+            return instance;
+        }
     }
 
-   static StyleClass getStyleClass(int index) {
-       if (0 <= index && index < styleClasses.size()) {
-           return styleClasses.get(index);
-       }
-       return null;
-   }
+    static StyleClass getStyleClass(int index) {
+        // Read without the lock: the list is copy-on-write and only grows
+        if (0 <= index && index < styleClasses.size()) {
+            return styleClasses.get(index);
+        }
+        return null;
+    }
 
     // package private for unit test purposes
     static final Map<String,Integer> styleClassMap =
             new HashMap<String,Integer>(64);
 
+    // modified under the lock of styleClassMap, read by index without it
     static final List<StyleClass> styleClasses =
-            new ArrayList<StyleClass>();
+            new CopyOnWriteArrayList<StyleClass>();
 
 }
 
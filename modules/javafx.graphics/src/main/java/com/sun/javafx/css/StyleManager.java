@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,7 @@ package com.sun.javafx.css;
 import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.scene.ParentHelper;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
@@ -50,6 +51,7 @@ import javafx.scene.text.Font;
 import javafx.stage.Window;
 import com.sun.javafx.logging.PlatformLogger;
 import com.sun.javafx.logging.PlatformLogger.Level;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 
 import java.io.FileNotFoundException;
 import java.io.FilePermission;
@@ -84,6 +86,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -169,6 +172,30 @@ final public class StyleManager {
     // public for testing
     public static final Map<Parent, CacheContainer> cacheContainerMap = new WeakHashMap<>();
 
+    /*
+     * The CacheContainer of a Scene root only shares its Caches between the
+     * nodes of that Scene. But Scenes built from the same stylesheets usually
+     * have many nodes in common, so the Caches are also shared between all of
+     * the CacheContainers. A Cache is found by the type, id and style-classes
+     * of the node and by the stylesheets whose selectors it was made from, and
+     * the StyleMaps of a Cache are used by every CacheContainer that shares it.
+     * StyleMap ids are therefore unique within the application.
+     *
+     * The StyleCaches that hold the calculated values are not shared. A value
+     * may be calculated from an inherited or looked-up value of a parent that
+     * does not show up in the StyleCache.Key, so they stay with the Scene root.
+     *
+     * The shared Caches are bounded and drop the least recently used entries.
+     * An entry that is dropped is simply created again when it is needed.
+     */
+    // package for testing
+    static final SharedStyleCache<SharedCacheKey, Cache> sharedCaches =
+            new SharedStyleCache<>(2048);
+
+    // The id of the next StyleMap, see Cache.getStyleMap. StyleMaps are
+    // shared between containers, so ids are never reused.
+    private static long nextStyleMapId = 0;
+
     // package for testing
     CacheContainer getCacheContainer(Styleable styleable, SubScene subScene) {
 
@@ -214,19 +241,21 @@ final public class StyleManager {
         CacheContainer container = getCacheContainer(styleable, subScene);
         if (container == null) return null;
 
-        Map<StyleCache.Key,StyleCache> styleCache = container.getStyleCache();
-        if (styleCache == null) return null;
+        synchronized (styleLock) {
+            Map<StyleCache.Key,StyleCache> styleCache = container.getStyleCache();
+            if (styleCache == null) return null;
 
-        StyleCache sharedCache = styleCache.get(key);
-        if (sharedCache == null) {
-            sharedCache = new StyleCache();
-            styleCache.put(new StyleCache.Key(key), sharedCache);
-        }
+            StyleCache sharedCache = styleCache.get(key);
+            if (sharedCache == null) {
+                sharedCache = new StyleCache();
+                styleCache.put(new StyleCache.Key(key), sharedCache);
+            }
 
-        return sharedCache;
+            return sharedCache;
+        }
     }
 
-    public StyleMap getStyleMap(Styleable styleable, SubScene subScene, int smapId) {
+    public StyleMap getStyleMap(Styleable styleable, SubScene subScene, long smapId) {
 
         if (smapId == -1) return StyleMap.EMPTY_MAP;
 
@@ -719,6 +748,9 @@ final public class StyleManager {
                 }
             }
 
+            // the shared Caches made from this stylesheet can no longer be used
+            sharedCaches.removeIf(key -> key.contains(stylesheetContainer));
+
             // clean up image cache by removing images from the cache that
             // might have come from this stylesheet
             imageCache.cleanUpImageCache(fname);
@@ -1501,6 +1533,8 @@ final public class StyleManager {
                 container.clearCache();
             }
 
+            sharedCaches.clear();
+
             StyleConverter.clearCache();
 
             for (Parent root : cacheContainerMap.keySet()) {
@@ -1611,6 +1645,20 @@ final public class StyleManager {
         }
     }
 
+    /**
+     * Reports the hits, misses and evictions of the shared Caches that were
+     * counted on the cssExecutor of a Scene to the PulseLogger. Called on
+     * the JavaFX Application Thread once the tasks of the cssExecutor are
+     * done.
+     */
+    public void reportSharedCacheCounters() {
+        if (PULSE_LOGGING_ENABLED) {
+            synchronized (styleLock) {
+                sharedCaches.reportCounters();
+            }
+        }
+    }
+
     // reuse key to avoid creation of numerous small objects
     private Key key = null;
 
@@ -1618,7 +1666,9 @@ final public class StyleManager {
     private final WeakHashMap<Region, String> weakRegionUserAgentStylesheetMap = new WeakHashMap<>();
 
     /**
-     * Finds matching styles for this Node.
+     * Finds matching styles for this Node. This may be called from a thread
+     * other than the JavaFX Application Thread as long as the scene graph
+     * that the Node belongs to is not modified while it runs.
      */
     public StyleMap findMatchingStyles(Node node, SubScene subScene, Set<PseudoClass>[] triggerStates) {
 
@@ -1633,6 +1683,11 @@ final public class StyleManager {
             return StyleMap.EMPTY_MAP;
         }
 
+        final String inlineStyle = node.getStyle();
+        final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
+
+        Cache cache;
+
         synchronized (styleLock) {
             final Parent parent =
                 (node instanceof Parent)
@@ -1647,9 +1702,6 @@ final public class StyleManager {
 
             final boolean hasSceneStylesheets = sceneStylesheets.isEmpty() == false;
 
-            final String inlineStyle = node.getStyle();
-            final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
-
             final String sceneUserAgentStylesheet = scene.getUserAgentStylesheet();
             final boolean hasSceneUserAgentStylesheet =
                     sceneUserAgentStylesheet != null && sceneUserAgentStylesheet.trim().isEmpty() == false;
@@ -1714,7 +1766,7 @@ final public class StyleManager {
             }
 
             Map<Key, Cache> cacheMap = cacheContainer.getCacheMap(parentStylesheets,regionUserAgentStylesheet);
-            Cache cache = cacheMap.get(key);
+            cache = cacheMap.get(key);
 
             if (cache != null) {
                 // key will be reused, so clear the styleClasses for next use
@@ -1722,11 +1774,11 @@ final public class StyleManager {
 
             } else {
 
-                // If the cache is null, then we need to create a new Cache and
-                // add it to the cache map
+                // If the cache is null, then we need to find the Cache in the
+                // sharedCaches, or create a new Cache, and add it to the cache map
 
-                // Construct the list of Selectors that could possibly apply
-                final List<Selector> selectorData = new ArrayList<>();
+                // Gather the stylesheets whose selectors could possibly apply
+                final List<StylesheetContainer> containers = new ArrayList<>();
 
                 // User agent stylesheets have lowest precedence and go first
                 if (hasSubSceneUserAgentStylesheet || hasSceneUserAgentStylesheet) {
@@ -1760,18 +1812,14 @@ final public class StyleManager {
                         final Parent root = hasSubSceneUserAgentStylesheet ? subScene.getRoot() : scene.getRoot();
                         container.parentUsers.add(root);
 
-                        final List<Selector> matchingRules =
-                                container.selectorPartitioning.match(id, cname, key.styleClasses);
-                        selectorData.addAll(matchingRules);
+                        containers.add(container);
                     }
 
                 } else if (platformUserAgentStylesheetContainers.isEmpty() == false) {
                     for(int n=0, nMax= platformUserAgentStylesheetContainers.size(); n<nMax; n++) {
                         final StylesheetContainer container = platformUserAgentStylesheetContainers.get(n);
                         if (container != null && container.selectorPartitioning != null) {
-                            final List<Selector> matchingRules =
-                                    container.selectorPartitioning.match(id, cname, key.styleClasses);
-                            selectorData.addAll(matchingRules);
+                            containers.add(container);
                         }
                     }
                 }
@@ -1801,9 +1849,7 @@ final public class StyleManager {
                         // Depending on RefList add method not allowing duplicates.
                         container.parentUsers.add((Parent)region);
 
-                        final List<Selector> matchingRules =
-                                container.selectorPartitioning.match(id, cname, key.styleClasses);
-                        selectorData.addAll(matchingRules);
+                        containers.add(container);
                     }
 
                 }
@@ -1814,9 +1860,7 @@ final public class StyleManager {
                     for(int n=0, nMax=sceneStylesheets.size(); n<nMax; n++) {
                         final StylesheetContainer container = sceneStylesheets.get(n);
                         if (container != null && container.selectorPartitioning != null) {
-                            final List<Selector> matchingRules =
-                                    container.selectorPartitioning.match(id, cname, key.styleClasses);
-                            selectorData.addAll(matchingRules);
+                            containers.add(container);
                         }
                     }
                 }
@@ -1827,28 +1871,47 @@ final public class StyleManager {
                     for(int n=0; n<nMax; n++) {
                         final StylesheetContainer container = parentStylesheets.get(n);
                         if (container.selectorPartitioning != null) {
-                            final List<Selector> matchingRules =
-                                    container.selectorPartitioning.match(id, cname, key.styleClasses);
-                            selectorData.addAll(matchingRules);
+                            containers.add(container);
                         }
                     }
                 }
 
-                // create a new Cache from these selectors.
-                cache = new Cache(selectorData);
+                final SharedCacheKey sharedCacheKey = new SharedCacheKey(key, containers);
+                cache = sharedCaches.get(sharedCacheKey);
+
+                if (cache == null) {
+
+                    // Construct the list of Selectors that could possibly apply
+                    final List<Selector> selectorData = new ArrayList<>();
+                    for (int n=0, nMax=containers.size(); n<nMax; n++) {
+                        final List<Selector> matchingRules =
+                                containers.get(n).selectorPartitioning.match(id, cname, key.styleClasses);
+                        selectorData.addAll(matchingRules);
+                    }
+
+                    // create a new Cache from these selectors.
+                    cache = new Cache(selectorData);
+                    sharedCaches.put(sharedCacheKey, cache);
+                }
+
+                // The lookups done on a cssExecutor are reported later
+                if (PULSE_LOGGING_ENABLED && Platform.isFxApplicationThread()) {
+                    sharedCaches.reportCounters();
+                }
+
                 cacheMap.put(key, cache);
 
                 // cause a new Key to be created the next time this method is called
                 key = null;
             }
-
-            //
-            // Create a style helper for this node from the styles that match.
-            //
-            StyleMap smap = cache.getStyleMap(cacheContainer, node, triggerStates, hasInlineStyles);
-
-            return smap;
         }
+
+        //
+        // Create a style helper for this node from the styles that match.
+        // The selectors of a Cache do not change, so they are matched
+        // without holding the lock.
+        //
+        return cache.getStyleMap(cacheContainer, node, triggerStates, hasInlineStyles);
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -1953,42 +2016,23 @@ final public class StyleManager {
 
         }
 
-        private List<StyleMap> getStyleMapList() {
-            if (styleMapList == null) styleMapList = new ArrayList<StyleMap>();
-            return styleMapList;
-        }
-
-        private int nextSmapId() {
-            styleMapId = baseStyleMapId + getStyleMapList().size();
-            return styleMapId;
-        }
-
         private void addStyleMap(StyleMap smap) {
-            getStyleMapList().add(smap);
+            styleMaps.put(smap.getId(), smap);
         }
 
-        public StyleMap getStyleMap(int smapId) {
-
-            final int correctedId = smapId - baseStyleMapId;
-
-            if (0 <= correctedId && correctedId < getStyleMapList().size()) {
-                return getStyleMapList().get(correctedId);
-            }
+        public StyleMap getStyleMap(long smapId) {
 
-            return StyleMap.EMPTY_MAP;
+            // A StyleHelper that asks for a StyleMap that is not in this
+            // container is working with an old cache and is no longer valid.
+            final StyleMap styleMap = styleMaps.get(smapId);
+            return styleMap != null ? styleMap : StyleMap.EMPTY_MAP;
         }
 
         private void clearCache() {
 
             if (cacheMap != null) cacheMap.clear();
             if (styleCache != null) styleCache.clear();
-            if (styleMapList != null) styleMapList.clear();
-
-            baseStyleMapId = styleMapId;
-            // 7/8ths is totally arbitrary
-            if (baseStyleMapId > Integer.MAX_VALUE/8*7) {
-                baseStyleMapId = styleMapId = 0;
-            }
+            styleMaps.clear();
         }
 
         /**
@@ -2048,7 +2092,11 @@ final public class StyleManager {
 
         private Map<List<String>, Map<Key,Cache>> cacheMap;
 
-        private List<StyleMap> styleMapList;
+        // The StyleMaps that the StyleHelpers of this container may use, by
+        // id. They are added under the styleLock, possibly on the threads of
+        // the Scene cssExecutor, but read without it while styles are looked
+        // up for each node.
+        private final Map<Long,StyleMap> styleMaps = new ConcurrentHashMap<>();
 
         /**
          * Cache of parsed, inline styles. The key is Node.style.
@@ -2056,19 +2104,6 @@ final public class StyleManager {
          */
         private Map<String,Selector> inlineStylesCache;
 
-        /*
-         * A simple counter used to generate a unique id for a StyleMap.
-         * This unique id is used by StyleHelper in figuring out which
-         * style cache to use.
-         */
-        private int styleMapId = 0;
-
-        // When the cache is cleared, styleMapId counting begins here.
-        // If a StyleHelper calls getStyleMap with an id less than the
-        // baseStyleMapId, then that StyleHelper is working with an old
-        // cache and is no longer valid.
-        private int baseStyleMapId = 0;
-
     }
 
     /**
@@ -2124,11 +2159,13 @@ final public class StyleManager {
         // list of selectors will be in the same order in which the selectors
         // appear in the stylesheets.
         private final List<Selector> selectors;
-        private final Map<Key, Integer> cache;
+        private final SelectorMatcher matcher;
+        private final Map<Key, StyleMap> cache;
 
         Cache(List<Selector> selectors) {
             this.selectors = selectors;
-            this.cache = new HashMap<Key, Integer>();
+            this.matcher = new SelectorMatcher(selectors);
+            this.cache = new HashMap<Key, StyleMap>();
         }
 
         private StyleMap getStyleMap(CacheContainer cacheContainer, Node node, Set<PseudoClass>[] triggerStates, boolean hasInlineStyle) {
@@ -2151,86 +2188,142 @@ final public class StyleManager {
             // represented by bits on the long[].
             //
             long key[] = new long[selectorDataSize/Long.SIZE + 1];
-            boolean nothingMatched = true;
 
-            for (int s = 0; s < selectorDataSize; s++) {
-
-                final Selector sel = selectors.get(s);
-
-                //
-                // This particular flavor of applies takes a PseudoClassState[]
-                // fills in the pseudo-class states from the selectors where
-                // they apply to a node. This is an expedient to looking the
-                // applies loopa second time on the matching selectors. This has to
-                // be done ahead of the cache lookup since not all nodes that
-                // have the same set of selectors will have the same node hierarchy.
-                //
-                // For example, if I have .foo:hover:focused .bar:selected {...}
-                // and the "bar" node is 4 away from the root and the foo
-                // node is two away from the root, pseudoclassBits would be
-                // [selected, 0, hover:focused, 0]
-                // Note that the states run from leaf to root. This is how
-                // the code in StyleHelper expects things.
-                // Note also that, if the selector does not apply, the triggerStates
-                // is unchanged.
-                //
-
-                if (sel.applies(node, triggerStates, 0)) {
-                    final int index = s / Long.SIZE;
-                    final long mask = key[index] | 1l << s;
-                    key[index] = mask;
-                    nothingMatched = false;
-                }
-            }
+            //
+            // The matcher fills in the pseudo-class states from the selectors
+            // where they apply to a node. This is an expedient to looking the
+            // applies loop a second time on the matching selectors. This has to
+            // be done ahead of the cache lookup since not all nodes that
+            // have the same set of selectors will have the same node hierarchy.
+            //
+            // For example, if I have .foo:hover:focused .bar:selected {...}
+            // and the "bar" node is 4 away from the root and the foo
+            // node is two away from the root, pseudoclassBits would be
+            // [selected, 0, hover:focused, 0]
+            // Note that the states run from leaf to root. This is how
+            // the code in StyleHelper expects things.
+            // Note also that, if the selector does not apply, the triggerStates
+            // is unchanged.
+            //
+            final boolean nothingMatched = !matcher.match(node, triggerStates, key);
 
             // nothing matched!
             if (nothingMatched && hasInlineStyle == false) {
                 return StyleMap.EMPTY_MAP;
             }
 
-            final String inlineStyle = node.getStyle();
-            final Key keyObj = new Key(key, inlineStyle);
+            synchronized (styleLock) {
+                final String inlineStyle = node.getStyle();
+                final Key keyObj = new Key(key, inlineStyle);
+
+                StyleMap styleMap = cache.get(keyObj);
+                if (styleMap != null) {
+                    // the Cache may be shared with other containers
+                    if (cacheContainer.getStyleMap(styleMap.getId()) != styleMap) {
+                        cacheContainer.addStyleMap(styleMap);
+                    }
+                    return styleMap;
+                }
+
+                final List<Selector> selectors = new ArrayList<>();
 
-            if (cache.containsKey(keyObj)) {
-                Integer styleMapId = cache.get(keyObj);
-                final StyleMap styleMap = styleMapId != null
-                        ? cacheContainer.getStyleMap(styleMapId.intValue())
-                        : StyleMap.EMPTY_MAP;
-                return styleMap;
-            }
+                if (hasInlineStyle) {
+                    Selector selector = cacheContainer.getInlineStyleSelector(inlineStyle);
+                    if (selector != null) selectors.add(selector);
+                }
+
+                for (int k = 0; k<key.length; k++) {
+
+                    if (key[k] == 0) continue;
+
+                    final int offset = k * Long.SIZE;
 
-            final List<Selector> selectors = new ArrayList<>();
+                    for (int b = 0; b<Long.SIZE; b++) {
+
+                        // bit at b in key[k] set?
+                        final long mask = 1l << b;
+                        if ((mask & key[k]) != mask) continue;
+
+                        final Selector pair = this.selectors.get(offset + b);
+                        selectors.add(pair);
+                    }
+                }
+
+                //
+                // A simple counter is used to generate a unique id for a StyleMap.
+                // This unique id is used by StyleHelper in figuring out which
+                // style cache to use. A long does not wrap around, so an id
+                // never names two StyleMaps, even in different containers.
+                //
+                final long id = nextStyleMapId++;
 
-            if (hasInlineStyle) {
-                Selector selector = cacheContainer.getInlineStyleSelector(inlineStyle);
-                if (selector != null) selectors.add(selector);
+                styleMap = new StyleMap(id, selectors);
+                cache.put(keyObj, styleMap);
+                cacheContainer.addStyleMap(styleMap);
+                return styleMap;
             }
+        }
 
-            for (int k = 0; k<key.length; k++) {
+    }
 
-                if (key[k] == 0) continue;
+    /**
+     * The key of a Cache in the sharedCaches. The selectors of a Cache depend
+     * on the type, id and style-classes of the node, and on the stylesheets
+     * the selectors come from. StylesheetContainers are equal if they have
+     * the same file name, but a stylesheet may be loaded again under the same
+     * name, so the containers are compared by identity.
+     */
+    // package for testing
+    static final class SharedCacheKey {
 
-                final int offset = k * Long.SIZE;
+        private final Key key;
+        private final StylesheetContainer[] containers;
+        private final int hash;
 
-                for (int b = 0; b<Long.SIZE; b++) {
+        private SharedCacheKey(Key key, List<StylesheetContainer> containers) {
+            this.key = key;
+            this.containers = containers.toArray(new StylesheetContainer[containers.size()]);
 
-                    // bit at b in key[k] set?
-                    final long mask = 1l << b;
-                    if ((mask & key[k]) != mask) continue;
+            int h = key.hashCode();
+            for (StylesheetContainer container : this.containers) {
+                h = 31 * h + System.identityHashCode(container);
+            }
+            this.hash = h;
+        }
 
-                    final Selector pair = this.selectors.get(offset + b);
-                    selectors.add(pair);
+        private boolean contains(StylesheetContainer container) {
+            for (StylesheetContainer c : containers) {
+                if (c == container) {
+                    return true;
                 }
             }
+            return false;
+        }
 
-            int id = cacheContainer.nextSmapId();
-            cache.put(keyObj, Integer.valueOf(id));
-
-            final StyleMap styleMap = new StyleMap(id, selectors);
-            cacheContainer.addStyleMap(styleMap);
-            return styleMap;
+        @Override
+        public int hashCode() {
+            return hash;
         }
 
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof SharedCacheKey == false) {
+                return false;
+            }
+            final SharedCacheKey other = (SharedCacheKey) obj;
+            if (hash != other.hash || containers.length != other.containers.length) {
+                return false;
+            }
+            for (int n = 0; n < containers.length; n++) {
+                if (containers[n] != other.containers[n]) {
+                    return false;
+                }
+            }
+            return key.equals(other.key);
+        }
     }
 
     /**
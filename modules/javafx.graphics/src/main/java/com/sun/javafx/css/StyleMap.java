@@ -47,12 +47,12 @@ public final class StyleMap {
         new StyleMap(-1, Collections.<Selector>emptyList());
 
     /** Only StyleManager creates StyleMap */
-    public StyleMap(int id, List<Selector> selectors) {
+    public StyleMap(long id, List<Selector> selectors) {
         this.id = id;
         this.selectors = selectors;
     }
 
-    public int getId() {
+    public long getId() {
         return id;
     }
 
@@ -174,7 +174,7 @@ public final class StyleMap {
 
             };
 
-    private final int id; // unique per container
+    private final long id; // unique, never reused
     private List<Selector> selectors;
     private Map<String, List<CascadingStyle>> cascadingStyles;
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -39,6 +39,7 @@ import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.prism.Graphics;
 import com.sun.prism.RTTexture;
 import com.sun.prism.Texture;
+import com.sun.prism.impl.TextureUploadScheduler;
 import com.sun.scenario.effect.Effect;
 import com.sun.scenario.effect.FilterContext;
 import com.sun.scenario.effect.Filterable;
@@ -679,12 +680,19 @@ public class CacheFilter {
                 g.setClipRect(dirtyBounds);
             }
             g.transform(TEMP_CACHEFILTER_TRANSFORM);
-            if (node.getClipNode() != null) {
-                node.renderClip(g);
-            } else if (node.getEffectFilter() != null) {
-                node.renderEffect(g);
-            } else {
-                node.renderContent(g);
+            // The cache is not rendered again for an image whose upload
+            // was deferred, so upload all of the images now
+            TextureUploadScheduler.beginSynchronousUploads();
+            try {
+                if (node.getClipNode() != null) {
+                    node.renderClip(g);
+                } else if (node.getEffectFilter() != null) {
+                    node.renderEffect(g);
+                } else {
+                    node.renderContent(g);
+                }
+            } finally {
+                TextureUploadScheduler.endSynchronousUploads();
             }
         }
     }
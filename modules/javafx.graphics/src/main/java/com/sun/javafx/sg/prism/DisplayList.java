@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.sg.prism;
+
+import java.util.List;
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.Graphics;
+
+/**
+ * A retained list of the draw commands issued by the children of an
+ * {@link NGGroup}, recorded by a {@link DisplayListRecorder}. Replaying the
+ * list draws the same content as rendering the children, without walking
+ * the subtree or redoing the per-node transform, opacity and culling work.
+ * <p>
+ * Transforms and extra alpha are recorded relative to the state of the
+ * graphics when recording began, so that a list stays valid when only the
+ * transform or opacity of the group (or of one of its ancestors) changes.
+ * As with the {@link CacheFilter}, any change within the subtree invalidates
+ * the list through {@link NGNode#invalidateCache()}.
+ */
+final class DisplayList {
+
+    /**
+     * A single recorded command.
+     */
+    interface Op {
+        void replay(Graphics g, DisplayList list);
+    }
+
+    // Tolerance for rounding errors in translations that were accumulated
+    // along different paths through the tree
+    private static final double PIXEL_EPSILON = 1e-6;
+
+    private final Op[] ops;
+
+    // The transform and the pixel scale factors that were in effect while
+    // recording. Snapping to pixels in the recorded nodes depends on these,
+    // so the list is only replayed when the linear part and the pixel scales
+    // match, and the translation differs by a whole number of device pixels.
+    private final double mxx, mxy, myx, myy;
+    private final double mxt, myt;
+    private final float pixelScaleX, pixelScaleY;
+
+    // Scratch state, only valid during replay on the render thread
+    private final Affine2D base = new Affine2D();
+    private final Affine2D scratch = new Affine2D();
+    private float baseAlpha;
+
+    DisplayList(List<Op> ops, BaseTransform recordTx, float pixelScaleX, float pixelScaleY) {
+        this.ops = ops.toArray(new Op[ops.size()]);
+        this.mxx = recordTx.getMxx();
+        this.mxy = recordTx.getMxy();
+        this.myx = recordTx.getMyx();
+        this.myy = recordTx.getMyy();
+        this.mxt = recordTx.getMxt();
+        this.myt = recordTx.getMyt();
+        this.pixelScaleX = pixelScaleX;
+        this.pixelScaleY = pixelScaleY;
+    }
+
+    /**
+     * Returns true if this list may be replayed into the given graphics.
+     */
+    boolean canReplay(Graphics g) {
+        final BaseTransform tx = g.getTransformNoClone();
+        return tx.is2D() &&
+                tx.getMxx() == mxx && tx.getMxy() == mxy &&
+                tx.getMyx() == myx && tx.getMyy() == myy &&
+                isWholePixels(tx.getMxt() - mxt) &&
+                isWholePixels(tx.getMyt() - myt) &&
+                g.getPixelScaleFactorX() == pixelScaleX &&
+                g.getPixelScaleFactorY() == pixelScaleY;
+    }
+
+    private static boolean isWholePixels(double delta) {
+        return Math.abs(delta - Math.rint(delta)) < PIXEL_EPSILON;
+    }
+
+    /**
+     * Replays all recorded commands into the given graphics, and restores
+     * its transform and extra alpha afterwards.
+     */
+    void replay(Graphics g) {
+        base.setTransform(g.getTransformNoClone());
+        baseAlpha = g.getExtraAlpha();
+        for (int i = 0; i < ops.length; i++) {
+            ops[i].replay(g, this);
+        }
+        g.setTransform(base);
+        g.setExtraAlpha(baseAlpha);
+    }
+
+    /**
+     * Sets the transform of the graphics to the replay base transform
+     * concatenated with the given transform, relative to the recording base.
+     */
+    void setRelativeTransform(Graphics g, BaseTransform rel) {
+        scratch.setTransform(base);
+        scratch.concatenate(rel);
+        g.setTransform(scratch);
+    }
+
+    /**
+     * Sets the extra alpha of the graphics to the replay base alpha scaled by
+     * the given factor, relative to the recording base alpha.
+     */
+    void setRelativeExtraAlpha(Graphics g, float factor) {
+        g.setExtraAlpha(baseAlpha * factor);
+    }
+
+    int size() {
+        return ops.length;
+    }
+}
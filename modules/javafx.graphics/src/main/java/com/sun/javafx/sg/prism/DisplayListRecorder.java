@@ -0,0 +1,643 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.sg.prism;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.sun.glass.ui.Screen;
+import com.sun.javafx.font.FontStrike;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.geom.transform.NoninvertibleTransformException;
+import com.sun.javafx.scene.text.GlyphList;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.CompositeMode;
+import com.sun.prism.Graphics;
+import com.sun.prism.RTTexture;
+import com.sun.prism.ReadbackGraphics;
+import com.sun.prism.RenderTarget;
+import com.sun.prism.ResourceFactory;
+import com.sun.prism.Texture;
+import com.sun.prism.paint.Color;
+import com.sun.prism.paint.Paint;
+
+/**
+ * A {@code Graphics} which forwards every call to a delegate while recording
+ * the draw commands into a {@link DisplayList}.
+ * <p>
+ * Only commands whose effect can be reproduced later without the scene
+ * graph are recorded: 2D transform and paint state, shape fills and strokes,
+ * and text. Any other operation, such as drawing textures (which may be
+ * evicted from the texture pool), reading back the render target, changing
+ * the clip or using 3D state, aborts the recording. Rendering itself is
+ * never affected, since all calls still reach the delegate.
+ */
+final class DisplayListRecorder implements ReadbackGraphics {
+
+    private final Graphics delegate;
+    private final List<DisplayList.Op> ops = new ArrayList<>();
+    private final BaseTransform recordTx;
+    private final float baseAlpha;
+    private BaseTransform inverseTx;
+    private boolean aborted;
+
+    DisplayListRecorder(Graphics delegate) {
+        this.delegate = delegate;
+        this.recordTx = delegate.getTransformNoClone().copy();
+        this.baseAlpha = delegate.getExtraAlpha();
+        if (!recordTx.is2D() || baseAlpha <= 0f) {
+            aborted = true;
+        } else {
+            try {
+                inverseTx = recordTx.createInverse();
+            } catch (NoninvertibleTransformException e) {
+                aborted = true;
+            }
+        }
+    }
+
+    Graphics getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Stops recording; the commands issued so far are discarded.
+     */
+    void abort() {
+        aborted = true;
+        ops.clear();
+    }
+
+    /**
+     * Returns the recorded display list, or null if recording was aborted.
+     */
+    DisplayList finish() {
+        if (aborted) {
+            return null;
+        }
+        return new DisplayList(ops, recordTx,
+                               delegate.getPixelScaleFactorX(), delegate.getPixelScaleFactorY());
+    }
+
+    /**
+     * Records a reference to a display list that has already been drawn
+     * into the delegate by a nested recorder.
+     */
+    void appendRecorded(DisplayList list) {
+        record((g, l) -> list.replay(g));
+    }
+
+    /**
+     * Replays a display list into the delegate and records a reference to it.
+     */
+    void appendAndReplay(DisplayList list) {
+        list.replay(delegate);
+        appendRecorded(list);
+    }
+
+    private void record(DisplayList.Op op) {
+        if (!aborted) {
+            ops.add(op);
+        }
+    }
+
+    private void recordTransform() {
+        if (aborted) {
+            return;
+        }
+        final BaseTransform tx = delegate.getTransformNoClone();
+        if (!tx.is2D()) {
+            abort();
+            return;
+        }
+        final Affine2D rel = new Affine2D(inverseTx);
+        rel.concatenate(tx);
+        record((g, l) -> l.setRelativeTransform(g, rel));
+    }
+
+    /***************************************************************************
+     *                                                                         *
+     * Recorded state                                                          *
+     *                                                                         *
+     **************************************************************************/
+
+    @Override
+    public BaseTransform getTransformNoClone() {
+        return delegate.getTransformNoClone();
+    }
+
+    @Override
+    public void setTransform(BaseTransform xform) {
+        delegate.setTransform(xform);
+        recordTransform();
+    }
+
+    @Override
+    public void setTransform(double m00, double m10, double m01, double m11, double m02, double m12) {
+        delegate.setTransform(m00, m10, m01, m11, m02, m12);
+        recordTransform();
+    }
+
+    @Override
+    public void setTransform3D(double mxx, double mxy, double mxz, double mxt,
+                               double myx, double myy, double myz, double myt,
+                               double mzx, double mzy, double mzz, double mzt) {
+        delegate.setTransform3D(mxx, mxy, mxz, mxt, myx, myy, myz, myt, mzx, mzy, mzz, mzt);
+        recordTransform();
+    }
+
+    @Override
+    public void transform(BaseTransform xform) {
+        delegate.transform(xform);
+        recordTransform();
+    }
+
+    @Override
+    public void translate(float tx, float ty) {
+        delegate.translate(tx, ty);
+        recordTransform();
+    }
+
+    @Override
+    public void translate(float tx, float ty, float tz) {
+        delegate.translate(tx, ty, tz);
+        recordTransform();
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+        delegate.scale(sx, sy);
+        recordTransform();
+    }
+
+    @Override
+    public void scale(float sx, float sy, float sz) {
+        delegate.scale(sx, sy, sz);
+        recordTransform();
+    }
+
+    @Override
+    public void setDepthTest(boolean depthTest) {
+        delegate.setDepthTest(depthTest);
+        record((g, l) -> g.setDepthTest(depthTest));
+    }
+
+    @Override
+    public void setAntialiasedShape(boolean aa) {
+        delegate.setAntialiasedShape(aa);
+        record((g, l) -> g.setAntialiasedShape(aa));
+    }
+
+    @Override
+    public void setExtraAlpha(float extraAlpha) {
+        delegate.setExtraAlpha(extraAlpha);
+        final float factor = extraAlpha / baseAlpha;
+        record((g, l) -> l.setRelativeExtraAlpha(g, factor));
+    }
+
+    @Override
+    public void setPaint(Paint paint) {
+        delegate.setPaint(paint);
+        record((g, l) -> g.setPaint(paint));
+    }
+
+    @Override
+    public void setStroke(BasicStroke stroke) {
+        delegate.setStroke(stroke);
+        final BasicStroke s = stroke == null ? null : stroke.copy();
+        record((g, l) -> g.setStroke(s));
+    }
+
+    @Override
+    public void setCompositeMode(CompositeMode mode) {
+        delegate.setCompositeMode(mode);
+        record((g, l) -> g.setCompositeMode(mode));
+    }
+
+    @Override
+    public void setNodeBounds(RectBounds bounds) {
+        delegate.setNodeBounds(bounds);
+        final RectBounds b = bounds == null ? null : new RectBounds(bounds);
+        record((g, l) -> g.setNodeBounds(b));
+    }
+
+    @Override
+    public void setState3D(boolean flag) {
+        delegate.setState3D(flag);
+        if (flag) {
+            abort();
+        } else {
+            record((g, l) -> g.setState3D(false));
+        }
+    }
+
+    /***************************************************************************
+     *                                                                         *
+     * Recorded drawing                                                        *
+     *                                                                         *
+     **************************************************************************/
+
+    @Override
+    public void fill(Shape shape) {
+        delegate.fill(shape);
+        if (!aborted) {
+            final Shape s = shape.copy();
+            record((g, l) -> g.fill(s));
+        }
+    }
+
+    @Override
+    public void fillQuad(float x1, float y1, float x2, float y2) {
+        delegate.fillQuad(x1, y1, x2, y2);
+        record((g, l) -> g.fillQuad(x1, y1, x2, y2));
+    }
+
+    @Override
+    public void fillRect(float x, float y, float width, float height) {
+        delegate.fillRect(x, y, width, height);
+        record((g, l) -> g.fillRect(x, y, width, height));
+    }
+
+    @Override
+    public void fillRoundRect(float x, float y, float width, float height, float arcw, float arch) {
+        delegate.fillRoundRect(x, y, width, height, arcw, arch);
+        record((g, l) -> g.fillRoundRect(x, y, width, height, arcw, arch));
+    }
+
+    @Override
+    public void fillEllipse(float x, float y, float width, float height) {
+        delegate.fillEllipse(x, y, width, height);
+        record((g, l) -> g.fillEllipse(x, y, width, height));
+    }
+
+    @Override
+    public void draw(Shape shape) {
+        delegate.draw(shape);
+        if (!aborted) {
+            final Shape s = shape.copy();
+            record((g, l) -> g.draw(s));
+        }
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2) {
+        delegate.drawLine(x1, y1, x2, y2);
+        record((g, l) -> g.drawLine(x1, y1, x2, y2));
+    }
+
+    @Override
+    public void drawRect(float x, float y, float width, float height) {
+        delegate.drawRect(x, y, width, height);
+        record((g, l) -> g.drawRect(x, y, width, height));
+    }
+
+    @Override
+    public void drawRoundRect(float x, float y, float width, float height, float arcw, float arch) {
+        delegate.drawRoundRect(x, y, width, height, arcw, arch);
+        record((g, l) -> g.drawRoundRect(x, y, width, height, arcw, arch));
+    }
+
+    @Override
+    public void drawEllipse(float x, float y, float width, float height) {
+        delegate.drawEllipse(x, y, width, height);
+        record((g, l) -> g.drawEllipse(x, y, width, height));
+    }
+
+    @Override
+    public void drawString(GlyphList gl, FontStrike strike, float x, float y,
+                           Color selectColor, int selectStart, int selectEnd) {
+        delegate.drawString(gl, strike, x, y, selectColor, selectStart, selectEnd);
+        record((g, l) -> g.drawString(gl, strike, x, y, selectColor, selectStart, selectEnd));
+    }
+
+    /***************************************************************************
+     *                                                                         *
+     * Operations which abort recording                                        *
+     *                                                                         *
+     **************************************************************************/
+
+    @Override
+    public void setPerspectiveTransform(GeneralTransform3D perspectiveTransform) {
+        abort();
+        delegate.setPerspectiveTransform(perspectiveTransform);
+    }
+
+    @Override
+    public void setCamera(NGCamera camera) {
+        abort();
+        delegate.setCamera(camera);
+    }
+
+    @Override
+    public void setDepthBuffer(boolean depthBuffer) {
+        abort();
+        delegate.setDepthBuffer(depthBuffer);
+    }
+
+    @Override
+    public void setClipRect(Rectangle clipRect) {
+        abort();
+        delegate.setClipRect(clipRect);
+    }
+
+    @Override
+    public void setClipRectIndex(int index) {
+        abort();
+        delegate.setClipRectIndex(index);
+    }
+
+    @Override
+    public void setLights(NGLightBase[] lights) {
+        abort();
+        delegate.setLights(lights);
+    }
+
+    @Override
+    public void clear() {
+        abort();
+        delegate.clear();
+    }
+
+    @Override
+    public void clear(Color color) {
+        abort();
+        delegate.clear(color);
+    }
+
+    @Override
+    public void clearQuad(float x1, float y1, float x2, float y2) {
+        abort();
+        delegate.clearQuad(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void blit(RTTexture srcTex, RTTexture dstTex,
+                     int srcX0, int srcY0, int srcX1, int srcY1,
+                     int dstX0, int dstY0, int dstX1, int dstY1) {
+        abort();
+        delegate.blit(srcTex, dstTex, srcX0, srcY0, srcX1, srcY1, dstX0, dstY0, dstX1, dstY1);
+    }
+
+    @Override
+    public void drawTexture(Texture tex, float x, float y, float w, float h) {
+        abort();
+        delegate.drawTexture(tex, x, y, w, h);
+    }
+
+    @Override
+    public void drawTexture(Texture tex,
+                            float dx1, float dy1, float dx2, float dy2,
+                            float sx1, float sy1, float sx2, float sy2) {
+        abort();
+        delegate.drawTexture(tex, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2);
+    }
+
+    @Override
+    public void drawTexture3SliceH(Texture tex,
+                                   float dx1, float dy1, float dx2, float dy2,
+                                   float sx1, float sy1, float sx2, float sy2,
+                                   float dh1, float dh2, float sh1, float sh2) {
+        abort();
+        delegate.drawTexture3SliceH(tex, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, dh1, dh2, sh1, sh2);
+    }
+
+    @Override
+    public void drawTexture3SliceV(Texture tex,
+                                   float dx1, float dy1, float dx2, float dy2,
+                                   float sx1, float sy1, float sx2, float sy2,
+                                   float dv1, float dv2, float sv1, float sv2) {
+        abort();
+        delegate.drawTexture3SliceV(tex, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, dv1, dv2, sv1, sv2);
+    }
+
+    @Override
+    public void drawTexture9Slice(Texture tex,
+                                  float dx1, float dy1, float dx2, float dy2,
+                                  float sx1, float sy1, float sx2, float sy2,
+                                  float dh1, float dv1, float dh2, float dv2,
+                                  float sh1, float sv1, float sh2, float sv2) {
+        abort();
+        delegate.drawTexture9Slice(tex, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2,
+                                   dh1, dv1, dh2, dv2, sh1, sv1, sh2, sv2);
+    }
+
+    @Override
+    public void drawTextureVO(Texture tex,
+                              float topopacity, float botopacity,
+                              float dx1, float dy1, float dx2, float dy2,
+                              float sx1, float sy1, float sx2, float sy2) {
+        abort();
+        delegate.drawTextureVO(tex, topopacity, botopacity, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2);
+    }
+
+    @Override
+    public void drawTextureRaw(Texture tex,
+                               float dx1, float dy1, float dx2, float dy2,
+                               float tx1, float ty1, float tx2, float ty2) {
+        abort();
+        delegate.drawTextureRaw(tex, dx1, dy1, dx2, dy2, tx1, ty1, tx2, ty2);
+    }
+
+    @Override
+    public void drawMappedTextureRaw(Texture tex,
+                                     float dx1, float dy1, float dx2, float dy2,
+                                     float tx11, float ty11, float tx21, float ty21,
+                                     float tx12, float ty12, float tx22, float ty22) {
+        abort();
+        delegate.drawMappedTextureRaw(tex, dx1, dy1, dx2, dy2,
+                                      tx11, ty11, tx21, ty21, tx12, ty12, tx22, ty22);
+    }
+
+    @Override
+    public ResourceFactory getResourceFactory() {
+        // Anything drawn with a resource obtained from the factory (render
+        // targets for effects and opacity, cached region images) depends on
+        // resources the display list cannot keep alive.
+        abort();
+        return delegate.getResourceFactory();
+    }
+
+    @Override
+    public RenderTarget getRenderTarget() {
+        abort();
+        return delegate.getRenderTarget();
+    }
+
+    @Override
+    public void setup3DRendering() {
+        abort();
+        delegate.setup3DRendering();
+    }
+
+    @Override
+    public void setPixelScaleFactors(float pixelScaleX, float pixelScaleY) {
+        abort();
+        delegate.setPixelScaleFactors(pixelScaleX, pixelScaleY);
+    }
+
+    @Override
+    public boolean canReadBack() {
+        abort();
+        return delegate instanceof ReadbackGraphics && ((ReadbackGraphics) delegate).canReadBack();
+    }
+
+    @Override
+    public RTTexture readBack(Rectangle view) {
+        abort();
+        return ((ReadbackGraphics) delegate).readBack(view);
+    }
+
+    @Override
+    public void releaseReadBackBuffer(RTTexture view) {
+        abort();
+        ((ReadbackGraphics) delegate).releaseReadBackBuffer(view);
+    }
+
+    /***************************************************************************
+     *                                                                         *
+     * Queries and state which do not affect the recorded content             *
+     *                                                                         *
+     **************************************************************************/
+
+    @Override
+    public NGCamera getCameraNoClone() {
+        return delegate.getCameraNoClone();
+    }
+
+    @Override
+    public boolean isDepthTest() {
+        return delegate.isDepthTest();
+    }
+
+    @Override
+    public boolean isDepthBuffer() {
+        return delegate.isDepthBuffer();
+    }
+
+    @Override
+    public boolean isAlphaTestShader() {
+        return delegate.isAlphaTestShader();
+    }
+
+    @Override
+    public boolean isAntialiasedShape() {
+        return delegate.isAntialiasedShape();
+    }
+
+    @Override
+    public RectBounds getFinalClipNoClone() {
+        return delegate.getFinalClipNoClone();
+    }
+
+    @Override
+    public Rectangle getClipRect() {
+        return delegate.getClipRect();
+    }
+
+    @Override
+    public Rectangle getClipRectNoClone() {
+        return delegate.getClipRectNoClone();
+    }
+
+    @Override
+    public void setHasPreCullingBits(boolean hasBits) {
+        delegate.setHasPreCullingBits(hasBits);
+    }
+
+    @Override
+    public boolean hasPreCullingBits() {
+        return delegate.hasPreCullingBits();
+    }
+
+    @Override
+    public int getClipRectIndex() {
+        return delegate.getClipRectIndex();
+    }
+
+    @Override
+    public float getExtraAlpha() {
+        return delegate.getExtraAlpha();
+    }
+
+    @Override
+    public NGLightBase[] getLights() {
+        return delegate.getLights();
+    }
+
+    @Override
+    public Paint getPaint() {
+        return delegate.getPaint();
+    }
+
+    @Override
+    public BasicStroke getStroke() {
+        return delegate.getStroke();
+    }
+
+    @Override
+    public CompositeMode getCompositeMode() {
+        return delegate.getCompositeMode();
+    }
+
+    @Override
+    public void sync() {
+        delegate.sync();
+    }
+
+    @Override
+    public Screen getAssociatedScreen() {
+        return delegate.getAssociatedScreen();
+    }
+
+    @Override
+    public void setRenderRoot(NodePath root) {
+        delegate.setRenderRoot(root);
+    }
+
+    @Override
+    public NodePath getRenderRoot() {
+        return delegate.getRenderRoot();
+    }
+
+    @Override
+    public boolean isState3D() {
+        return delegate.isState3D();
+    }
+
+    @Override
+    public float getPixelScaleFactorX() {
+        return delegate.getPixelScaleFactorX();
+    }
+
+    @Override
+    public float getPixelScaleFactorY() {
+        return delegate.getPixelScaleFactorY();
+    }
+}
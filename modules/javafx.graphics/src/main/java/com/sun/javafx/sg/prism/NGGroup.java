@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2016, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -33,8 +33,13 @@ import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.javafx.scene.NodeHelper;
 import com.sun.prism.Graphics;
+import com.sun.prism.PrinterGraphics;
+import com.sun.prism.ReadbackGraphics;
+import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.shape.ShapeUtil;
 import com.sun.scenario.effect.Blend;
 import com.sun.scenario.effect.Blend.Mode;
 import com.sun.scenario.effect.FilterContext;
@@ -42,6 +47,7 @@ import com.sun.scenario.effect.ImageData;
 import com.sun.scenario.effect.impl.prism.PrDrawable;
 import com.sun.scenario.effect.impl.prism.PrEffectHelper;
 import javafx.scene.Node;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 
 /**
  */
@@ -74,6 +80,25 @@ public class NGGroup extends NGNode {
      */
     private static final int REGION_INTERSECTS_MASK = 0x15555555;
 
+    /**
+     * The minimum number of path children for a group to prefetch their
+     * masks on the rasterizer worker threads.
+     */
+    private static final int MIN_PREFETCH_SHAPES = 2;
+
+    /**
+     * The draw commands of the children, recorded when the subtree was last
+     * rendered while clean. Only used if display lists are enabled, and
+     * discarded by {@link #invalidateDisplayList()}.
+     */
+    private DisplayList displayList;
+
+    /**
+     * Set when recording the children failed, so that we do not try again
+     * until something in the subtree changes.
+     */
+    private boolean displayListUnsupported;
+
     /***************************************************************************
      *                                                                         *
      * Implementation of the PGGroup interface                                 *
@@ -258,16 +283,26 @@ public class NGGroup extends NGNode {
         if (blendMode == Blend.Mode.SRC_OVER ||
                 orderedChildren.size() < 2) {  // Blend modes only work "between" siblings
 
-            for (int i = startPos; i < orderedChildren.size(); i++) {
-                NGNode child;
-                try {
-                    child = orderedChildren.get(i);
-                } catch (Exception e) {
-                    child = null;
+            if (PrismSettings.displayListsEnabled && renderDisplayList(g, orderedChildren)) {
+                return;
+            }
+            final boolean prefetched = prefetchMasks(g, orderedChildren, startPos);
+            try {
+                for (int i = startPos; i < orderedChildren.size(); i++) {
+                    NGNode child;
+                    try {
+                        child = orderedChildren.get(i);
+                    } catch (Exception e) {
+                        child = null;
+                    }
+                    // minimal protection against concurrent update of the list.
+                    if (child != null) {
+                        child.render(g);
+                    }
                 }
-                // minimal protection against concurrent update of the list.
-                if (child != null) {
-                    child.render(g);
+            } finally {
+                if (prefetched) {
+                    discardPrefetchedMasks(orderedChildren, startPos);
                 }
             }
             return;
@@ -442,6 +477,110 @@ public class NGGroup extends NGNode {
         return result;
     }
 
+    /**
+     * Starts rasterizing the masks of the shapes among the given children on
+     * the rasterizer worker threads, so that they are ready by the time the
+     * render thread gets to them. Only done for groups with at least
+     * {@code MIN_PREFETCH_SHAPES} such shapes, such as the series of a chart,
+     * where the worker threads have a chance to get ahead.
+     *
+     * @return true if masks were prefetched
+     */
+    private static boolean prefetchMasks(Graphics g, List<NGNode> children, int startPos) {
+        if (!ShapeUtil.isMaskPrefetchEnabled() ||
+            g instanceof PrinterGraphics || g instanceof DisplayListRecorder ||
+            !g.getTransformNoClone().is2D())
+        {
+            return false;
+        }
+        int count = 0;
+        for (int i = startPos; i < children.size(); i++) {
+            final NGNode child = children.get(i);
+            if (child instanceof NGShape && ((NGShape) child).isMaskPrefetchable() &&
+                ++count >= MIN_PREFETCH_SHAPES)
+            {
+                break;
+            }
+        }
+        if (count < MIN_PREFETCH_SHAPES) {
+            return false;
+        }
+        boolean prefetched = false;
+        for (int i = startPos; i < children.size(); i++) {
+            final NGNode child = children.get(i);
+            if (child instanceof NGShape) {
+                prefetched |= ((NGShape) child).prefetchMasks(g);
+            }
+        }
+        return prefetched;
+    }
+
+    private static void discardPrefetchedMasks(List<NGNode> children, int startPos) {
+        for (int i = startPos; i < children.size(); i++) {
+            final NGNode child = children.get(i);
+            if (child instanceof NGShape) {
+                ((NGShape) child).discardPrefetchedMasks();
+            }
+        }
+    }
+
+    /**
+     * Renders the children by replaying or recording the display list. The
+     * list is only used when the whole subtree is to be rendered, that is
+     * when there is no render root to descend to and no pre-culling bits to
+     * honor; a replayed list is clipped, but not culled.
+     *
+     * @return true if the children were rendered, false if the caller should
+     * render them by walking the tree
+     */
+    boolean renderDisplayList(Graphics g, List<NGNode> orderedChildren) {
+        if (g.getRenderRoot() != null || g.hasPreCullingBits()) {
+            return false;
+        }
+        if (displayList != null && displayList.canReplay(g)) {
+            if (g instanceof DisplayListRecorder) {
+                ((DisplayListRecorder) g).appendAndReplay(displayList);
+            } else {
+                displayList.replay(g);
+            }
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Display lists replayed");
+            }
+            return true;
+        }
+        displayList = null;
+        // Only record subtrees that did not change since the last frame, to
+        // avoid recording animated content over and over again.
+        if (displayListUnsupported || !isClean()) {
+            return false;
+        }
+        final boolean nested = g instanceof DisplayListRecorder;
+        final Graphics target = nested ? ((DisplayListRecorder) g).getDelegate() : g;
+        if (!(target instanceof ReadbackGraphics) || target instanceof PrinterGraphics) {
+            return false;
+        }
+        final DisplayListRecorder recorder = new DisplayListRecorder(target);
+        for (int i = 0; i < orderedChildren.size(); i++) {
+            orderedChildren.get(i).render(recorder);
+        }
+        displayList = recorder.finish();
+        if (displayList == null) {
+            displayListUnsupported = true;
+            if (nested) {
+                ((DisplayListRecorder) g).abort();
+            }
+        } else if (nested) {
+            ((DisplayListRecorder) g).appendRecorded(displayList);
+        }
+        return true;
+    }
+
+    @Override
+    void invalidateDisplayList() {
+        displayList = null;
+        displayListUnsupported = false;
+    }
+
     @Override
     protected void markCullRegions(
             DirtyRegionContainer drc,
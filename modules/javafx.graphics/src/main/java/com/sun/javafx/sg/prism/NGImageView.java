@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,8 @@
 
 package com.sun.javafx.sg.prism;
 
+import java.util.ArrayList;
+import java.util.List;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.prism.Graphics;
 import com.sun.prism.Image;
@@ -40,6 +42,10 @@ import com.sun.prism.image.ViewPort;
 
 public class NGImageView extends NGNode {
 
+    // The image views whose texture upload was deferred in the frame being
+    // painted, only accessed on the render thread
+    private static final List<NGImageView> deferredViews = new ArrayList<>();
+
     private Image image;
     private CachingCompoundImage compoundImage;
     private CompoundCoords compoundCoords;
@@ -53,6 +59,7 @@ public class NGImageView extends NGNode {
 
     private boolean renderable = false;
     private boolean coordsOK = false;
+    private boolean uploadDeferred = false;
 
     private void invalidate() {
         coordsOK = false;
@@ -118,7 +125,16 @@ public class NGImageView extends NGNode {
         ResourceFactory factory = g.getResourceFactory();
         int maxSize = maxSizeWrapper(factory);
         if (imgW <= maxSize && imgH <= maxSize) {
-            Texture texture = factory.getCachedTexture(image, Texture.WrapMode.CLAMP_TO_EDGE);
+            Texture texture = factory.getCachedTextureIfReady(image, Texture.WrapMode.CLAMP_TO_EDGE);
+            if (texture == null) {
+                // The upload was deferred to spread the uploads of many new
+                // images over several frames, draw the image in a later one
+                if (!uploadDeferred) {
+                    uploadDeferred = true;
+                    deferredViews.add(this);
+                }
+                return;
+            }
             if (coords == null) {
                 g.drawTexture(texture, x, y, x + w, y + h, 0, 0, imgW, imgH);
             } else {
@@ -135,6 +151,29 @@ public class NGImageView extends NGNode {
         }
     }
 
+    /**
+     * Marks the image views whose texture upload was deferred in the frame
+     * that was just painted as dirty, so that they are drawn in a later
+     * frame. This must only be called once all of the dirty regions of the
+     * frame are painted, since painting a dirty region may clear the dirty
+     * flags of the whole tree, and with them those set while painting an
+     * earlier region.
+     *
+     * @return true if an image view was marked dirty
+     */
+    public static boolean markDeferredViewsDirty() {
+        if (deferredViews.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < deferredViews.size(); i++) {
+            final NGImageView view = deferredViews.get(i);
+            view.uploadDeferred = false;
+            view.visualsChanged();
+        }
+        deferredViews.clear();
+        return true;
+    }
+
     @Override
     protected boolean hasOverlappingContents() {
         return false;
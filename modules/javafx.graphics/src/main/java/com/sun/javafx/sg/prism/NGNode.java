@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2016, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -945,6 +945,7 @@ public abstract class NGNode {
         if (cacheFilter != null) {
             cacheFilter.invalidate();
         }
+        invalidateDisplayList();
     }
 
     /**
@@ -955,6 +956,14 @@ public abstract class NGNode {
         if (cacheFilter != null) {
             cacheFilter.invalidateByTranslation(hint.translateXDelta, hint.translateYDelta);
         }
+        invalidateDisplayList();
+    }
+
+    /**
+     * Discards any retained display list of this node. Called whenever the
+     * cache is invalidated, since the same changes make a recorded list stale.
+     */
+    void invalidateDisplayList() {
     }
 
     /***************************************************************************
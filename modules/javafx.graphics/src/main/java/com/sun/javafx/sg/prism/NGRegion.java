@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -1211,7 +1211,12 @@ public class NGRegion extends NGGroup {
                         if (radii.isUniform() && radius == 0) {
                             // We're just drawing a squared stroke on all four sides of the same style
                             // and width and color, so a simple drawRect call is all that is needed.
-                            g.drawRect(l, t, w, h);
+                            // When the border falls on device pixels we fill it instead, so that it
+                            // shares its paint state with the background fills and the quads of many
+                            // sibling regions can be submitted in a single batch.
+                            if (!fillPixelAlignedBorder(g, topStyle, topWidth, l, t, w, h)) {
+                                g.drawRect(l, t, w, h);
+                            }
                         } else if (radii.isUniform()) {
                             // The radii are uniform, but are not squared up, so we have to
                             // draw a rounded rectangle.
@@ -1610,6 +1615,51 @@ public class NGRegion extends NGGroup {
         return bs;
     }
 
+    /**
+     * Fills a solid, square border of uniform width centered on the given
+     * rectangle as four non-overlapping rectangles, if every edge of the
+     * border falls on a device pixel boundary. In that case the result is
+     * identical to stroking the rectangle with the current stroke and paint.
+     *
+     * @return true if the border was filled, false if it must be stroked
+     */
+    private static boolean fillPixelAlignedBorder(Graphics g, BorderStrokeStyle style, float lw,
+                                                  float x, float y, float w, float h) {
+        if (style != BorderStrokeStyle.SOLID || g.getPaint().getType() != Paint.Type.COLOR) {
+            return false;
+        }
+        final BaseTransform tx = g.getTransformNoClone();
+        if (!tx.isTranslateOrIdentity()) {
+            return false;
+        }
+        final float x0 = x - lw / 2;
+        final float y0 = y - lw / 2;
+        final float x1 = x + w + lw / 2;
+        final float y1 = y + h + lw / 2;
+        final float innerHeight = y1 - y0 - lw - lw;
+        if (lw <= 0 || x1 - x0 - lw - lw <= 0 || innerHeight <= 0) {
+            return false;
+        }
+        final double mxt = tx.getMxt();
+        final double myt = tx.getMyt();
+        if (!isPixelAligned(x0, mxt) || !isPixelAligned(x0 + lw, mxt) ||
+                !isPixelAligned(x1 - lw, mxt) || !isPixelAligned(x1, mxt) ||
+                !isPixelAligned(y0, myt) || !isPixelAligned(y0 + lw, myt) ||
+                !isPixelAligned(y1 - lw, myt) || !isPixelAligned(y1, myt)) {
+            return false;
+        }
+        g.fillRect(x0, y0, x1 - x0, lw);
+        g.fillRect(x0, y1 - lw, x1 - x0, lw);
+        g.fillRect(x0, y0 + lw, lw, innerHeight);
+        g.fillRect(x1 - lw, y0 + lw, lw, innerHeight);
+        return true;
+    }
+
+    private static boolean isPixelAligned(float v, double translate) {
+        final double d = v + translate;
+        return d == Math.rint(d);
+    }
+
     private void setBorderStyle(Graphics g, BorderStroke sb, double length, boolean forceCentered) {
         // Any one of, or all of, the sides could be 'none'.
         // Take the first side that isn't.
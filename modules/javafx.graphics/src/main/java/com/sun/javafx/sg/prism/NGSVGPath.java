@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -48,6 +48,11 @@ public class NGSVGPath extends NGShape {
         return path;
     }
 
+    @Override
+    boolean isMaskPrefetchable() {
+        return true;
+    }
+
     public boolean acceptsPath2dOnUpdate() {
         return true;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -36,6 +36,7 @@ import com.sun.prism.PrinterGraphics;
 import com.sun.prism.RTTexture;
 import com.sun.prism.Texture;
 import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.shape.ShapeUtil;
 import com.sun.prism.paint.Paint;
 import com.sun.prism.shape.ShapeRep;
 import static com.sun.prism.shape.ShapeRep.InvalidationType.LOCATION_AND_GEOMETRY;
@@ -301,6 +302,69 @@ public abstract class NGShape extends NGNode {
         }
     }
 
+    /**
+     * Returns true if this shape is rasterized into a mask, rather than
+     * drawn by a specialized shader, unless its ShapeRep uses a cached mask,
+     * so that its masks are worth prefetching.
+     */
+    boolean isMaskPrefetchable() {
+        return false;
+    }
+
+    /**
+     * Starts rasterizing the masks this shape will be rendered with on the
+     * rasterizer worker threads, assuming it is about to be rendered to the
+     * given graphics as a direct child of the current node. Returns false if
+     * no mask was prefetched, because the shape will not be rendered, will
+     * not be rendered directly to {@code g}, or its ShapeRep will not
+     * rasterize it, such as when it uses a cached mask texture.
+     * The prefetched masks must be discarded with
+     * {@link #discardPrefetchedMasks} once the shape was rendered.
+     */
+    boolean prefetchMasks(Graphics g) {
+        if (!isMaskPrefetchable() || mode == Mode.EMPTY ||
+            !isVisible() || getOpacity() == 0f ||
+            getCacheFilter() != null || getClipNode() != null ||
+            getEffectFilter() != null || needsBlending() ||
+            (getOpacity() < 1f && hasOverlappingContents()))
+        {
+            return false;
+        }
+        if (PrismSettings.dirtyOptsEnabled && g.hasPreCullingBits()) {
+            final int bits = cullingBits >> (g.getClipRectIndex() * 2);
+            if ((bits & DIRTY_REGION_CONTAINS_OR_INTERSECTS_NODE_BOUNDS) == 0) {
+                return false;
+            }
+        }
+        final BaseTransform tx = g.getTransformNoClone().copy().deriveWithConcatenation(getTransform());
+        if (!tx.is2D()) {
+            return false;
+        }
+        // The ShapeRep is created now rather than on the first render, so
+        // that it can tell whether it will rasterize the shape
+        if (shapeRep == null) {
+            shapeRep = createShapeRep(g);
+        }
+        final Shape shape = getShape();
+        final boolean aa = isSmooth();
+        boolean prefetched = false;
+        if (mode != Mode.STROKE && shapeRep.isMaskRasterized(g, tx, contentBounds, false)) {
+            ShapeUtil.prefetchMask(shape, null, g.getFinalClipNoClone(), tx, true, aa);
+            prefetched = true;
+        }
+        if (mode != Mode.FILL && drawStroke.getLineWidth() > 0 &&
+            shapeRep.isMaskRasterized(g, tx, contentBounds, true))
+        {
+            ShapeUtil.prefetchMask(shape, drawStroke, g.getFinalClipNoClone(), tx, true, aa);
+            prefetched = true;
+        }
+        return prefetched;
+    }
+
+    void discardPrefetchedMasks() {
+        ShapeUtil.discardPrefetchedMasks(getShape());
+    }
+
     @Override
     protected boolean hasOverlappingContents() {
         return mode == Mode.STROKE_FILL;
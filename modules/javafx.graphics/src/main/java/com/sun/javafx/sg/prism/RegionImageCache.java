@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,6 +27,7 @@ package com.sun.javafx.sg.prism;
 
 import javafx.scene.layout.Background;
 import java.util.HashMap;
+import java.util.Iterator;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.logging.PulseLogger;
@@ -35,26 +36,35 @@ import com.sun.prism.Graphics;
 import com.sun.prism.RTTexture;
 import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.impl.PrismSettings;
 import com.sun.prism.impl.packrect.RectanglePacker;
 
 /**
- * RegionImageCache - A fixed pixel count sized cache of Images keyed by arbitrary set of arguments. All images are held with
- * SoftReferences so they will be dropped by the GC if heap memory gets tight. When our size hits max pixel count least
- * recently requested images are removed first.
+ * RegionImageCache - A cache of region background images keyed by arbitrary set of arguments, packed into a single
+ * texture whose size in bytes is given by the prism.regioncachesize property. When there is no room left for a new
+ * image, the least recently used row (or column) of images that is large enough to hold it is evicted, and only if
+ * there is no such row the whole half of the texture is cleared.
  *
  */
 class RegionImageCache {
 
-    // Maximum cached image size in pixels
+    // Maximum cached image size in pixels for a 1024x1024 half of the texture.
+    // The limit grows and shrinks with the area of the texture.
     private final static int MAX_SIZE = 300 * 300;
-    private static final int WIDTH = 1024;
-    private static final int HEIGHT = 1024;
+    private static final int MIN_DIMENSION = 256;
+
+    private final int width;
+    private final int height;
+    private final long maxSize;
 
     private HashMap<Integer, CachedImage> imageMap;
     private RTTexture backingStore;
     private RectanglePacker hPacker;
     private RectanglePacker vPacker;
 
+    // Incremented on every lookup, used to find the least recently used images
+    private long useCount;
+    private final Rectangle levelBounds = new Rectangle();
 
     RegionImageCache(final ResourceFactory factory) {
         imageMap = new HashMap<>();
@@ -67,7 +77,10 @@ class RegionImageCache {
             mode = WrapMode.CLAMP_NOT_NEEDED;
             pad = 1;
         }
-        backingStore = factory.createRTTexture(WIDTH + WIDTH, HEIGHT, mode);
+        int dimension = getCacheDimension(PrismSettings.regionCacheSize, factory.getMaximumTextureSize());
+        width = height = dimension;
+        maxSize = (long) MAX_SIZE * width / 1024 * height / 1024;
+        backingStore = factory.createRTTexture(width + width, height, mode);
         backingStore.contentsUseful();
         backingStore.makePermanent();
         factory.setRegionTexture(backingStore);
@@ -78,8 +91,22 @@ class RegionImageCache {
         // Note that requests are already padded on the right and bottom edges
         // (and that includes the gap between the caches) so we only have to
         // pad top and left edges if CLAMP_TO_ZERO needs to be simulated.
-        hPacker = new RectanglePacker(backingStore, pad, pad, WIDTH-pad, HEIGHT-pad, false);
-        vPacker = new RectanglePacker(backingStore, WIDTH, pad, WIDTH, HEIGHT-pad, true);
+        hPacker = new RectanglePacker(backingStore, pad, pad, width-pad, height-pad, false);
+        vPacker = new RectanglePacker(backingStore, width, pad, width, height-pad, true);
+    }
+
+    /**
+     * Returns the width and height of each half of the backing store, which
+     * is the largest power of two such that the whole backing store (two
+     * halves of 4 bytes per pixel) fits in the given number of bytes.
+     */
+    static int getCacheDimension(long bytes, int maxTextureSize) {
+        int dimension = MIN_DIMENSION;
+        while (dimension + dimension <= maxTextureSize / 2 &&
+               8L * (dimension + dimension) * (dimension + dimension) <= bytes) {
+            dimension += dimension;
+        }
+        return dimension;
     }
 
     /**
@@ -90,9 +117,9 @@ class RegionImageCache {
      * @return True if the image size is less than max
      */
     boolean isImageCachable(int w, int h) {
-        return 0 < w && w < WIDTH &&
-               0 < h && h < HEIGHT &&
-               (w * h) < MAX_SIZE;
+        return 0 < w && w < width &&
+               0 < h && h < height &&
+               ((long) w * h) < maxSize;
     }
 
     RTTexture getBackingStore() {
@@ -121,6 +148,10 @@ class RegionImageCache {
             if (cache.equals(rect.width, rect.height, background, shape)) {
                 rect.x = cache.x;
                 rect.y = cache.y;
+                cache.lastUse = ++useCount;
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Region image cache hit");
+                }
                 return false;
             }
             // hash collision, mark rectangle empty indicates the caller to
@@ -128,37 +159,116 @@ class RegionImageCache {
             rect.width = rect.height = -1;
             return false;
         }
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Region image cache miss");
+        }
         boolean vertical = rect.height > 64;
         RectanglePacker packer = vertical ? vPacker : hPacker;
 
         if (!packer.add(rect)) {
             g.sync();
 
-            vPacker.clear();
-            hPacker.clear();
-            imageMap.clear();
-            packer.add(rect);
-            backingStore.createGraphics().clear();
-            if (PULSE_LOGGING_ENABLED) {
-                PulseLogger.incrementCounter("Region image cache flushed");
+            if (!evictLeastRecentlyUsedLevel(packer, vertical, rect) || !packer.add(rect)) {
+                evictAll(packer, vertical);
+                packer.add(rect);
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Region image cache flushed");
+                }
+            }
+        }
+        CachedImage image = new CachedImage(rect, background, shape, vertical);
+        image.lastUse = ++useCount;
+        imageMap.put(key, image);
+        return true;
+    }
+
+    /**
+     * Evicts all images from the least recently used level of the given
+     * packer that is large enough to hold the given rectangle.
+     *
+     * @return true if a level was evicted
+     */
+    private boolean evictLeastRecentlyUsedLevel(RectanglePacker packer, boolean vertical, Rectangle rect) {
+        final int requestedSize = vertical ? rect.width : rect.height;
+        final int levelCount = packer.getLevelCount();
+        final long[] levelUse = new long[levelCount];
+        final HashMap<Integer, Integer> levelIndex = new HashMap<>();
+        for (int i = 0; i < levelCount; i++) {
+            packer.getLevelBounds(i, levelBounds);
+            levelIndex.put(vertical ? levelBounds.x : levelBounds.y, i);
+        }
+        for (CachedImage image : imageMap.values()) {
+            if (image.vertical == vertical) {
+                final Integer index = levelIndex.get(vertical ? image.x : image.y);
+                if (index != null && levelUse[index] < image.lastUse) {
+                    levelUse[index] = image.lastUse;
+                }
+            }
+        }
+        int lru = -1;
+        for (int i = 0; i < levelCount; i++) {
+            packer.getLevelBounds(i, levelBounds);
+            final int levelSize = vertical ? levelBounds.width : levelBounds.height;
+            if (levelSize >= requestedSize && (lru < 0 || levelUse[i] < levelUse[lru])) {
+                lru = i;
+            }
+        }
+        if (lru < 0) {
+            return false;
+        }
+        packer.getLevelBounds(lru, levelBounds);
+        final int offset = vertical ? levelBounds.x : levelBounds.y;
+        for (Iterator<CachedImage> it = imageMap.values().iterator(); it.hasNext(); ) {
+            final CachedImage image = it.next();
+            if (image.vertical == vertical && (vertical ? image.x : image.y) == offset) {
+                it.remove();
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Region image cache evicted");
+                }
             }
         }
-        imageMap.put(key, new CachedImage(rect, background, shape));
+        packer.clearLevel(lru);
+        clear(levelBounds);
         return true;
     }
 
+    /**
+     * Evicts all images from the given packer.
+     */
+    private void evictAll(RectanglePacker packer, boolean vertical) {
+        for (Iterator<CachedImage> it = imageMap.values().iterator(); it.hasNext(); ) {
+            if (it.next().vertical == vertical) {
+                it.remove();
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Region image cache evicted");
+                }
+            }
+        }
+        packer.clear();
+        levelBounds.setBounds(vertical ? width : 0, 0, width, height);
+        clear(levelBounds);
+    }
+
+    private void clear(Rectangle bounds) {
+        backingStore.createGraphics().clearQuad(bounds.x, bounds.y,
+                                                bounds.x + bounds.width, bounds.y + bounds.height);
+    }
+
     static class CachedImage {
         Background background;
         Shape shape;
         int x, y, width, height;
+        boolean vertical;
+        long lastUse;
 
-        CachedImage(Rectangle rect, Background background, Shape shape) {
+        CachedImage(Rectangle rect, Background background, Shape shape, boolean vertical) {
             this.x = rect.x;
             this.y = rect.y;
             this.width = rect.width;
             this.height = rect.height;
             this.background = background;
             this.shape = shape;
+            this.vertical = vertical;
         }
 
         public boolean equals(int width, int height, Background background, Shape shape) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -69,6 +69,7 @@ abstract class GlassScene implements TKScene {
 
     private boolean doPresent = true;
     private final AtomicBoolean painting = new AtomicBoolean(false);
+    private final AtomicBoolean sceneGraphHeld = new AtomicBoolean(false);
 
     private final boolean depthBuffer;
     private final boolean msaa;
@@ -119,7 +120,11 @@ abstract class GlassScene implements TKScene {
     }
 
     public void waitForRenderingToComplete() {
-        PaintCollector.getInstance().waitForRenderingToComplete();
+        if (QuantumToolkit.overlapSync) {
+            PaintCollector.getInstance().waitForSceneGraphRelease();
+        } else {
+            PaintCollector.getInstance().waitForRenderingToComplete();
+        }
     }
 
     @Override
@@ -285,6 +290,17 @@ abstract class GlassScene implements TKScene {
         return painting.getAndSet(value);
     }
 
+    // Called on the FX thread before this scene is repainted by a pulse
+    final void holdSceneGraph() {
+        sceneGraphHeld.set(true);
+    }
+
+    // Called on the render thread, returns true only for the first call
+    // after the scene graph was held
+    final boolean releaseSceneGraph() {
+        return sceneGraphHeld.getAndSet(false);
+    }
+
     void repaint() {
         // Overridden in subclasses
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -106,6 +106,16 @@ final class PaintCollector implements CompletionListener {
      */
     private volatile CountDownLatch allWorkCompletedLatch = new CountDownLatch(0);
 
+    /**
+     * Keeps track of the number of scenes whose render tree is still being
+     * read by the render thread. This latch is created together with the
+     * allWorkCompletedLatch and is decremented as soon as a painter no longer
+     * needs the render tree of its scene, which may be before the scene has
+     * been read back, uploaded or presented. It is only waited on when
+     * {@link QuantumToolkit#overlapSync} is enabled.
+     */
+    private volatile CountDownLatch sceneGraphReleasedLatch = new CountDownLatch(0);
+
     /**
      * Indicates whether this PaintCollector has any dirty scenes that
      * need to be processed. This is used by the QuantumToolkit to detect
@@ -151,10 +161,24 @@ final class PaintCollector implements CompletionListener {
      * continuing.
      */
     void waitForRenderingToComplete() {
+        awaitLatch(allWorkCompletedLatch);
+    }
+
+    /**
+     * Called before the scene graph is synchronized to wait until the render
+     * thread no longer reads the render trees of the scenes rendered by the
+     * last pulse. Any remaining work, such as reading back and uploading the
+     * rendered pixels, may continue concurrently with the synchronization.
+     */
+    void waitForSceneGraphRelease() {
+        awaitLatch(sceneGraphReleasedLatch);
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
         while (true) {
             try {
                 // We need to keep waiting until things are done!
-                allWorkCompletedLatch.await();
+                latch.await();
                 return;
             } catch (InterruptedException ex) {
                 // An interrupted exception at this point is a
@@ -313,11 +337,25 @@ final class PaintCollector implements CompletionListener {
             }
         }
 
-        // Count down the latch, indicating that drawing has
+        // Release the render tree, in case the painter did not already do
+        // so, before counting down the latch, indicating that drawing has
         // completed for some scene.
+        sceneGraphReleased(scene);
         allWorkCompletedLatch.countDown();
     }
 
+    /**
+     * Called on the render thread once a painter no longer reads the render
+     * tree of the given scene, such that the FX thread may start to
+     * synchronize the next frame. This may be called more than once per
+     * repaint, only the first call counts down the sceneGraphReleasedLatch.
+     */
+    void sceneGraphReleased(GlassScene scene) {
+        if (scene.releaseSceneGraph()) {
+            sceneGraphReleasedLatch.countDown();
+        }
+    }
+
     /**
      * Run a full pulse and repaint before returning.
      */
@@ -362,6 +400,13 @@ final class PaintCollector implements CompletionListener {
         // is empty (since hasDirty was true)
         assert !dirtyScenes.isEmpty();
 
+        // When synchronization overlaps with rendering, the render thread
+        // may still be finishing the last frame. Wait for it before reusing
+        // the latches, so that no scene is painted twice at the same time.
+        if (QuantumToolkit.overlapSync) {
+            waitForRenderingToComplete();
+        }
+
         // Sort the dirty scenes based on whether they are
         // synchronous or not. If they are not synchronous,
         // then we want to process them first.
@@ -389,6 +434,7 @@ final class PaintCollector implements CompletionListener {
             // Obtain a z-ordered window list from glass.  For platforms without a native window manager,
             // we need to recopy the all of the window contents to the screen on every frame.
             final List<com.sun.glass.ui.Window> glassWindowList = com.sun.glass.ui.Window.getWindows();
+            sceneGraphReleasedLatch = new CountDownLatch(glassWindowList.size());
             allWorkCompletedLatch = new CountDownLatch(glassWindowList.size());
             for (int i = 0, n = glassWindowList.size(); i < n; i++) {
                 final Window w = glassWindowList.get(i);
@@ -410,6 +456,7 @@ final class PaintCollector implements CompletionListener {
                     } else {
                         vs.setDoPresent(false);
                     }
+                    vs.holdSceneGraph();
                     try {
                         vs.repaint();
                     } catch (Throwable t) {
@@ -427,6 +474,7 @@ final class PaintCollector implements CompletionListener {
             // if needsHint is true, then we will wait for vsync. We clearly
             // don't want to do this until all the dirty scenes have been
             // processed.
+            sceneGraphReleasedLatch = new CountDownLatch(dirtyScenes.size());
             allWorkCompletedLatch = new CountDownLatch(dirtyScenes.size());
 
             for (final GlassScene gs : dirtyScenes) {
@@ -438,6 +486,7 @@ final class PaintCollector implements CompletionListener {
                 // we always need to rerender the scene  if it's in the dirty list and we do a
                 // swap on a per-window basis
                 gs.setDoPresent(true);
+                gs.holdSceneGraph();
                 try {
                     gs.repaint();
                 } catch (Throwable t) {
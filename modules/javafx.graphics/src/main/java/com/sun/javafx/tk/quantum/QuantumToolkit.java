@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -155,6 +155,37 @@ public final class QuantumToolkit extends Toolkit {
                 return result;
             });
 
+    /*
+     * When enabled, the FX thread starts to synchronize the next frame as soon
+     * as the render thread has finished traversing the render tree, instead of
+     * waiting until the last frame has been completely read back and uploaded.
+     * Only the UploadingPainter of a scene that is not embedded releases the
+     * render tree early. The PresentingPainter and the painter of an
+     * EmbeddedScene keep it until their frame is complete, so they do not
+     * overlap with the synchronization.
+     */
+    static final boolean overlapSync =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("quantum.overlapsync"));
+
+    /*
+     * When enabled, the pulse timer skips the ticks on which the running
+     * animations are not due and no pulse was requested, such as when the
+     * timer follows a display refresh rate higher than the animation pulse
+     * rate, and is paused as soon as the toolkit is idle instead of after
+     * PAUSE_THRESHOLD_DURATION.
+     */
+    static final boolean adaptivePulse =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("quantum.adaptivepulse"));
+
+    /*
+     * The time, in milliseconds, by which a pulse requested while no animation
+     * is running may be delayed, so that a burst of changes, such as many
+     * Platform.runLater calls each updating some properties, is handled in
+     * a single pulse. Zero runs the pulse on the next timer tick.
+     */
+    private static final int pulseCoalesceDelay =
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer.getInteger("quantum.pulsecoalesce", 0));
+
     private static boolean debug =
             AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("quantum.debug"));
 
@@ -214,6 +245,7 @@ public final class QuantumToolkit extends Toolkit {
     private PulseTask               animationRunning = new PulseTask(false);
     private PulseTask               nextPulseRequested = new PulseTask(false);
     private AtomicBoolean           pulseRunning = new AtomicBoolean(false);
+    private volatile long           pulseRequestTime;
     private int                     inPulse = 0;
     private CountDownLatch          launchLatch = new CountDownLatch(1);
 
@@ -478,6 +510,7 @@ public final class QuantumToolkit extends Toolkit {
     void postPulse() {
         if (toolkitRunning.get() &&
             (animationRunning.get() || nextPulseRequested.get()) &&
+            !isPulseDeferred() &&
             !setPulseRunning()) {
 
             Application.invokeLater(pulseRunnable);
@@ -492,13 +525,34 @@ public final class QuantumToolkit extends Toolkit {
         }
     }
 
+    /**
+     * Returns true if the pulse for the current timer tick can be left to a
+     * later tick, either because the requested pulse is being delayed to
+     * coalesce a burst of changes, or because only animations are running
+     * and their next pulse is not due yet.
+     */
+    private boolean isPulseDeferred() {
+        if (nextPulseRequested.get()) {
+            return pulseCoalesceDelay > 0 && !animationRunning.get() &&
+                   System.nanoTime() - pulseRequestTime < TimeUnit.MILLISECONDS.toNanos(pulseCoalesceDelay);
+        }
+        if (adaptivePulse) {
+            final DelayedRunnable r = animationRunnable;
+            // Leave half a pulse of slack so that a late tick does not make
+            // the animation skip a whole pulse
+            return r != null && r.getDelay() > PULSE_INTERVAL / 2;
+        }
+        return false;
+    }
+
     private synchronized void pauseTimer() {
         if (!pauseRequested) {
             pauseRequested = true;
             firstPauseRequestTime = System.currentTimeMillis();
         }
 
-        if (System.currentTimeMillis() - firstPauseRequestTime >= PAUSE_THRESHOLD_DURATION) {
+        final long threshold = adaptivePulse ? 0 : PAUSE_THRESHOLD_DURATION;
+        if (System.currentTimeMillis() - firstPauseRequestTime >= threshold) {
             pulseTimer.pause();
             if (debug) {
                 System.err.println("QT.pauseTimer#(" + System.nanoTime() + "): Pausing Timer : " + pulseString());
@@ -556,6 +610,9 @@ public final class QuantumToolkit extends Toolkit {
             nextPulseRequested.set(false);
             if (animationRunnable != null) {
                 animationRunning.set(true);
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.newPhase("Animations");
+                }
                 animationRunnable.run();
             } else {
                 animationRunning.set(false);
@@ -878,7 +935,7 @@ public final class QuantumToolkit extends Toolkit {
         }
     }
 
-    private DelayedRunnable animationRunnable;
+    private volatile DelayedRunnable animationRunnable;
     @Override public void setAnimationRunnable(DelayedRunnable animationRunnable) {
         if (animationRunnable != null) {
             animationRunning.set(true);
@@ -887,6 +944,9 @@ public final class QuantumToolkit extends Toolkit {
     }
 
     @Override public void requestNextPulse() {
+        if (!nextPulseRequested.get()) {
+            pulseRequestTime = System.nanoTime();
+        }
         nextPulseRequested.set(true);
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2016, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,11 +26,15 @@
 package com.sun.javafx.tk.quantum;
 
 import java.nio.IntBuffer;
+import java.util.Map;
+import java.util.WeakHashMap;
 import com.sun.glass.ui.Pixels;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.prism.Graphics;
 import com.sun.prism.GraphicsPipeline;
 import com.sun.prism.RTTexture;
 import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.impl.BufferUtil;
 import com.sun.prism.impl.Disposer;
 import com.sun.prism.impl.QueuedPixelSource;
 
@@ -48,6 +52,21 @@ final class UploadingPainter extends ViewPainter implements Runnable {
     private QueuedPixelSource pixelSource = new QueuedPixelSource(true);
     private float penScaleX, penScaleY;
 
+    /*
+     * Damage tracking, so that only the pixels that changed are read back.
+     * A Pixels buffer reused from the pixel source still holds the frame it
+     * was last filled with, so like with EGL buffer age semantics it only
+     * needs the union of the areas painted since that frame. The damage of
+     * the last MAX_BUFFER_AGE frames is kept, a null entry meaning that the
+     * whole surface was painted.
+     */
+    private static final int MAX_BUFFER_AGE = 4;
+    private final Rectangle[] damageHistory = new Rectangle[MAX_BUFFER_AGE];
+    private final Map<Pixels, Long> pixelsFrames = new WeakHashMap<>();
+    private final Rectangle readbackBounds = new Rectangle();
+    private IntBuffer readbackBuffer;
+    private long frameCount;
+
     UploadingPainter(GlassScene view) {
         super(view);
     }
@@ -146,6 +165,16 @@ final class UploadingPainter extends ViewPainter implements Runnable {
             int outHeight = sceneState.getOutputHeight();
             float outScaleX = sceneState.getOutputScaleX();
             float outScaleY = sceneState.getOutputScaleY();
+
+            // The render tree and the scene state are no longer needed, so
+            // let the FX thread synchronize the next frame while the pixels
+            // are read back and uploaded. An EmbeddedScene is uploaded on
+            // this thread and updates the pixels its host reads under
+            // renderLock, so it keeps the lock until it has been uploaded.
+            if (QuantumToolkit.overlapSync && !(sceneState instanceof EmbeddedState)) {
+                renderLock.unlock();
+                PaintCollector.getInstance().sceneGraphReleased(sceneState.getScene());
+            }
             RTTexture rtt;
             if (rttexture.isMSAA() || outWidth != bufWidth || outHeight != bufHeight) {
                 rtt = resolveRenderTarget(g, outWidth, outHeight);
@@ -158,10 +187,23 @@ final class UploadingPainter extends ViewPainter implements Runnable {
 
             int rawbits[] = rtt.getPixels();
 
-            if (rawbits != null) {
-                bits.put(rawbits, 0, outWidth * outHeight);
-            } else {
-                if (!rtt.readPixels(bits)) {
+            boolean partial = rtt == rttexture && (rawbits != null || rtt.isReadPixelsAreaSupported());
+            Rectangle bounds = getReadbackBounds(pix, partial ? getDamage() : null,
+                                                 outWidth, outHeight);
+
+            if (bounds == null) {
+                if (rawbits != null) {
+                    bits.put(rawbits, 0, outWidth * outHeight);
+                } else {
+                    if (!rtt.readPixels(bits)) {
+                        /* device lost */
+                        sceneState.getScene().entireSceneNeedsRepaint();
+                        disposeRTTexture();
+                        pix = null;
+                    }
+                }
+            } else if (!bounds.isEmpty()) {
+                if (!readPixels(rtt, rawbits, bits, outWidth, bounds)) {
                     /* device lost */
                     sceneState.getScene().entireSceneNeedsRepaint();
                     disposeRTTexture();
@@ -169,6 +211,12 @@ final class UploadingPainter extends ViewPainter implements Runnable {
                 }
             }
 
+            if (pix == null) {
+                pixelsFrames.clear();
+            } else {
+                pixelsFrames.put(pix, frameCount);
+            }
+
             if (rttexture != null) {
                 rttexture.unlock();
             }
@@ -200,8 +248,80 @@ final class UploadingPainter extends ViewPainter implements Runnable {
                 factory.getTextureResourcePool().freeDisposalRequestedAndCheckResources(errored);
             }
 
-            renderLock.unlock();
+            if (renderLock.isHeldByCurrentThread()) {
+                renderLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Records the damage of the frame that was just painted and returns the
+     * area that has to be read back into the given pixels, or null if all of
+     * it has to be read back.
+     */
+    private Rectangle getReadbackBounds(Pixels pix, Rectangle damage, int width, int height) {
+        frameCount++;
+        final int index = (int) (frameCount % MAX_BUFFER_AGE);
+        if (damage == null) {
+            damageHistory[index] = null;
+        } else {
+            if (damageHistory[index] == null) {
+                damageHistory[index] = new Rectangle();
+            }
+            damageHistory[index].setBounds(damage);
+            damageHistory[index].intersectWith(new Rectangle(width, height));
+        }
+
+        final Long lastFrame = pixelsFrames.get(pix);
+        if (lastFrame == null || frameCount - lastFrame > MAX_BUFFER_AGE) {
+            return null;
+        }
+        readbackBounds.setBounds(0, 0, 0, 0);
+        for (long f = lastFrame + 1; f <= frameCount; f++) {
+            final Rectangle r = damageHistory[(int) (f % MAX_BUFFER_AGE)];
+            if (r == null) {
+                return null;
+            }
+            if (readbackBounds.isEmpty()) {
+                readbackBounds.setBounds(r);
+            } else if (!r.isEmpty()) {
+                readbackBounds.add(r);
+            }
+        }
+        return readbackBounds;
+    }
+
+    /**
+     * Reads the given area of the render target into the same area of the
+     * pixels, whose scanline stride is the given width.
+     */
+    private boolean readPixels(RTTexture rtt, int[] rawbits, IntBuffer bits, int width, Rectangle bounds) {
+        if (rawbits != null) {
+            for (int y = bounds.y; y < bounds.y + bounds.height; y++) {
+                final int offset = y * width + bounds.x;
+                bits.position(offset);
+                bits.put(rawbits, offset, bounds.width);
+            }
+            bits.rewind();
+            return true;
+        }
+        final int size = bounds.width * bounds.height;
+        if (readbackBuffer == null || readbackBuffer.capacity() < size) {
+            readbackBuffer = BufferUtil.newIntBuffer(size);
+        }
+        readbackBuffer.clear();
+        if (!rtt.readPixels(readbackBuffer, rtt.getContentX() + bounds.x, rtt.getContentY() + bounds.y,
+                            bounds.width, bounds.height)) {
+            return false;
+        }
+        for (int y = 0; y < bounds.height; y++) {
+            readbackBuffer.limit((y + 1) * bounds.width);
+            readbackBuffer.position(y * bounds.width);
+            bits.position((bounds.y + y) * width + bounds.x);
+            bits.put(readbackBuffer);
         }
+        bits.rewind();
+        return true;
     }
 
     private RTTexture resolveRenderTarget(Graphics g, int width, int height) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2016, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,7 @@ package com.sun.javafx.tk.quantum;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
+import javafx.application.Platform;
 import com.sun.javafx.geom.DirtyRegionContainer;
 import com.sun.javafx.geom.DirtyRegionPool;
 import com.sun.javafx.geom.RectBounds;
@@ -36,6 +37,7 @@ import com.sun.javafx.geom.transform.Affine3D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.javafx.sg.prism.NGCamera;
+import com.sun.javafx.sg.prism.NGImageView;
 import com.sun.javafx.sg.prism.NGNode;
 import com.sun.javafx.sg.prism.NGPerspectiveCamera;
 import com.sun.javafx.sg.prism.NodePath;
@@ -47,6 +49,7 @@ import com.sun.prism.RTTexture;
 import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture;
 import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.TextureUploadScheduler;
 import com.sun.prism.paint.Color;
 import com.sun.prism.paint.Paint;
 import com.sun.javafx.logging.PulseLogger;
@@ -99,6 +102,11 @@ abstract class ViewPainter implements Runnable {
     // and if dirty opts are turned off via a runtime flag, then these fields
     // are never initialized or used.
     private Rectangle dirtyRect;
+
+    // The area of the surface, in pixels, that was painted by the last call
+    // to paintImpl, or null if the whole surface was painted
+    private Rectangle damage;
+    private final Rectangle damageBounds = new Rectangle();
     private RectBounds clip;
     private RectBounds dirtyRegionTemp;
     private DirtyRegionPool dirtyRegionPool;
@@ -163,6 +171,31 @@ abstract class ViewPainter implements Runnable {
     }
 
     protected void paintImpl(final Graphics backBufferGraphics) {
+        if (!TextureUploadScheduler.isEnabled()) {
+            paintFrame(backBufferGraphics);
+            return;
+        }
+
+        boolean deferred;
+        TextureUploadScheduler.beginFrame();
+        try {
+            paintFrame(backBufferGraphics);
+        } finally {
+            TextureUploadScheduler.endFrame();
+            // Only now that every dirty region is painted, as painting a
+            // later region may clear the dirty flags of the whole tree
+            deferred = NGImageView.markDeferredViewsDirty();
+        }
+
+        // Make sure that another frame is painted for the images whose
+        // texture upload was deferred
+        if (deferred) {
+            final GlassScene scene = sceneState.getScene();
+            Platform.runLater(scene::sceneChanged);
+        }
+    }
+
+    private void paintFrame(final Graphics backBufferGraphics) {
         // We should not be painting anything with a width / height
         // that is <= 0, so we might as well bail right off.
         if (width <= 0 || height <= 0 || backBufferGraphics == null) {
@@ -173,6 +206,7 @@ abstract class ViewPainter implements Runnable {
         // This "g" variable might represent the back buffer graphics, or it
         // might be reassigned to the sceneBuffer graphics.
         Graphics g = backBufferGraphics;
+        damage = null;
         // Take into account the pixel scale factor for retina displays
         final float pixelScaleX = getPixelScaleFactorX();
         final float pixelScaleY = getPixelScaleFactorY();
@@ -259,6 +293,7 @@ abstract class ViewPainter implements Runnable {
         final int dirtyRegionSize = status == DirtyRegionContainer.DTR_OK ? dirtyRegionContainer.size() : 0;
 
         if (dirtyRegionSize > 0) {
+            damageBounds.setBounds(0, 0, 0, 0);
             // We set this flag on Graphics so that subsequent code in the render paths of
             // NGNode know whether they ought to be paying attention to dirty region
             // culling bits.
@@ -319,8 +354,17 @@ abstract class ViewPainter implements Runnable {
                     g.setClipRect(dirtyRect);
                     g.setClipRectIndex(i);
                     doPaint(g, getRootPath(i));
+                    if (damageBounds.isEmpty()) {
+                        damageBounds.setBounds(dirtyRect);
+                    } else {
+                        damageBounds.add(dirtyRect);
+                    }
                 }
             }
+            // The dirty opts debug output below draws over the whole surface
+            if (!showDirtyOpts) {
+                damage = damageBounds;
+            }
         } else {
             // There are no dirty regions, so just paint everything
             g.setHasPreCullingBits(false);
@@ -435,6 +479,15 @@ abstract class ViewPainter implements Runnable {
         return sceneState.isWindowVisible() && !sceneState.isWindowMinimized();
     }
 
+    /**
+     * Returns the area of the surface, in pixels, that was painted by the
+     * last call to paintImpl, or null if the whole surface was painted.
+     * The area is only valid until the next call to paintImpl.
+     */
+    protected final Rectangle getDamage() {
+        return damage;
+    }
+
     protected float getPixelScaleFactorX() {
         return presentable == null ? 1.0f : presentable.getPixelScaleFactorX();
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -32,4 +32,13 @@ public interface RTTexture extends Texture, RenderTarget {
     public boolean readPixels(Buffer pixels);
     public boolean readPixels(Buffer pixels, int x, int y, int width, int height);
     public boolean isVolatile();
+
+    /**
+     * Returns true if {@link #readPixels(Buffer, int, int, int, int)} can
+     * read an area smaller than the content of this texture into an
+     * {@code IntBuffer}.
+     */
+    public default boolean isReadPixelsAreaSupported() {
+        return false;
+    }
 }
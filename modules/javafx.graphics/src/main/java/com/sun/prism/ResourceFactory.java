@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2016, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -180,6 +180,23 @@ public interface ResourceFactory extends GraphicsResource {
      */
     public Texture getCachedTexture(Image image, Texture.WrapMode wrapMode, boolean useMipmap);
 
+    /**
+     * Returns a {@code Texture} for the given image like
+     * {@link #getCachedTexture(Image, Texture.WrapMode)}, unless the texture
+     * has to be created or updated and the image data uploaded in the current
+     * frame already used up the upload budget, in which case null is
+     * returned. The caller should then draw the image in a later frame.
+     *
+     * @param image the pixel data to be uploaded if the texture is new or
+     *     out of date
+     * @param wrapMode the mode that describes the behavior for samples
+     *     outside the content area
+     * @return a cached texture, or null if the upload was deferred
+     */
+    public default Texture getCachedTextureIfReady(Image image, Texture.WrapMode wrapMode) {
+        return getCachedTexture(image, wrapMode);
+    }
+
     /**
      * Returns true if the given {@code PixelFormat} is supported; otherwise
      * returns false.
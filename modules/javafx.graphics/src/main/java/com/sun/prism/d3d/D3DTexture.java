@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -72,6 +72,15 @@ class D3DTexture extends BaseTexture<D3DTextureResource>
         return new D3DTexture(this, newMode);
     }
 
+    private D3DTexture(D3DTexture pageTex, int x, int y, int w, int h) {
+        super(pageTex, x, y, w, h);
+    }
+
+    @Override
+    protected Texture createSubTexture(int x, int y, int w, int h) {
+        return new D3DTexture(this, x, y, w, h);
+    }
+
     public long getNativeSourceHandle() {
         return resource.getResource().getResource();
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -342,6 +342,11 @@ class ES2RTTexture extends ES2Texture<ES2RTTextureData>
                  getContentWidth(), getContentHeight());
     }
 
+    @Override
+    public boolean isReadPixelsAreaSupported() {
+        return true;
+    }
+
     @Override
     public int getFboID() {
         return resource.getResource().getFboID();
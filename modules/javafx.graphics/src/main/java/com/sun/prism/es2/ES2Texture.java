@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -79,6 +79,16 @@ class ES2Texture<T extends ES2TextureData> extends BaseTexture<ES2TextureResourc
         return new ES2Texture(this, newMode);
     }
 
+    private ES2Texture(ES2Texture<T> pageTex, int x, int y, int w, int h) {
+        super(pageTex, x, y, w, h);
+        this.context = pageTex.context;
+    }
+
+    @Override
+    protected Texture createSubTexture(int x, int y, int w, int h) {
+        return new ES2Texture<>(this, x, y, w, h);
+    }
+
     /**
      * Given a starting value and a maximum limit, returns the first
      * power-of-two greater than or equal to the starting value.  If the
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -51,6 +51,7 @@ public abstract class BaseResourceFactory implements ResourceFactory {
     private final WeakHashMap<ResourceFactoryListener,Boolean> listenerMap =
             new WeakHashMap<ResourceFactoryListener,Boolean>();
 
+    private TextureAtlas textureAtlas;
     private Texture regionTexture;
     private Texture glyphTexture;
     private boolean superShaderAllowed;
@@ -219,7 +220,13 @@ public abstract class BaseResourceFactory implements ResourceFactory {
                 return null;
             }
 
-            tex = createTexture(image, Usage.DEFAULT, wrapMode, useMipmap);
+            if (wrapMode == WrapMode.CLAMP_TO_EDGE && PrismSettings.textureAtlasEnabled &&
+                    getTextureAtlas().isAtlasCandidate(image)) {
+                tex = textureAtlas.allocate(image);
+            }
+            if (tex == null) {
+                tex = createTexture(image, Usage.DEFAULT, wrapMode, useMipmap);
+            }
             if (tex != null) {
                 tex.setLastImageSerial(idRect.getKey());
                 texCache.put(image, tex);
@@ -227,7 +234,10 @@ public abstract class BaseResourceFactory implements ResourceFactory {
         } else if (tex.getLastImageSerial() != idRect.getKey()) {
             // If the image was updated only once, then the image is partially updated.
             // Else whole image is updated.
-            if (idRect.getKey() - tex.getLastImageSerial() == 1 && idRect.getValue() != null) {
+            // Images in an atlas are always updated whole, to refresh the
+            // copies of their edges.
+            if (idRect.getKey() - tex.getLastImageSerial() == 1 && idRect.getValue() != null &&
+                    !isAtlasTexture(tex)) {
                 Rectangle dirtyRect = idRect.getValue();
                 tex.update(image.getPixelBuffer(), image.getPixelFormat(),
                         dirtyRect.x, dirtyRect.y, dirtyRect.x, dirtyRect.y,
@@ -241,6 +251,37 @@ public abstract class BaseResourceFactory implements ResourceFactory {
         return tex;
     }
 
+    private TextureAtlas getTextureAtlas() {
+        if (textureAtlas == null) {
+            textureAtlas = new TextureAtlas(this, clampTexCache);
+        }
+        return textureAtlas;
+    }
+
+    private static boolean isAtlasTexture(Texture tex) {
+        return tex instanceof BaseTexture && ((BaseTexture<?>) tex).getAtlasEntry() != null;
+    }
+
+    @Override
+    public Texture getCachedTextureIfReady(Image image, WrapMode wrapMode) {
+        if (TextureUploadScheduler.isEnabled() && needsUpload(image, wrapMode)) {
+            long size = getTextureResourcePool().estimateTextureSize(
+                    image.getWidth(), image.getHeight(), image.getPixelFormat());
+            if (!TextureUploadScheduler.reserve(size)) {
+                return null;
+            }
+        }
+        return getCachedTexture(image, wrapMode);
+    }
+
+    private boolean needsUpload(Image image, WrapMode wrapMode) {
+        Texture tex = (wrapMode == WrapMode.REPEAT
+                ? repeatTexCache
+                : clampTexCache).get(image);
+        return tex == null || tex.isSurfaceLost() ||
+               tex.getLastImageSerial() != image.getSerial().getIdRect().getKey();
+    }
+
     @Override
     public Texture createTexture(Image image, Usage usageHint, WrapMode wrapMode) {
         return createTexture(image, usageHint, wrapMode, false);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -54,6 +54,9 @@ public abstract class BaseTexture<T extends ManagedResource> implements Texture
     private boolean linearFiltering = true;
     private int lastImageSerial;
 
+    // The area of a TextureAtlas page that this texture is a view of, or null
+    private TextureAtlas.Entry atlasEntry;
+
     protected BaseTexture(BaseTexture<T> sharedTex, WrapMode newMode, boolean useMipmap) {
         this.resource = sharedTex.resource;
         this.format = sharedTex.format;
@@ -69,6 +72,27 @@ public abstract class BaseTexture<T extends ManagedResource> implements Texture
         this.useMipmap = useMipmap;
     }
 
+    /**
+     * Creates a view of the given area of the content of another texture,
+     * sharing the same {@code ManagedResource} reference. The view clamps
+     * to its own content, which relies on the owner of the area to pad it
+     * with copies of its edge pixels.
+     */
+    protected BaseTexture(BaseTexture<T> pageTex, int x, int y, int w, int h) {
+        this.resource = pageTex.resource;
+        this.format = pageTex.format;
+        this.wrapMode = WrapMode.CLAMP_TO_EDGE;
+        this.physicalWidth = pageTex.physicalWidth;
+        this.physicalHeight = pageTex.physicalHeight;
+        this.contentX = pageTex.contentX + x;
+        this.contentY = pageTex.contentY + y;
+        this.contentWidth = w;
+        this.contentHeight = h;
+        this.maxContentWidth = w;
+        this.maxContentHeight = h;
+        this.useMipmap = false;
+    }
+
     protected BaseTexture(T resource,
                           PixelFormat format, WrapMode wrapMode,
                           int width, int height)
@@ -197,6 +221,10 @@ public abstract class BaseTexture<T extends ManagedResource> implements Texture
             lock();
             return this;
         }
+        if (atlasEntry != null) {
+            // Only the whole page could be repeated
+            return null;
+        }
         switch (altMode) {
             case REPEAT:
                 if (wrapMode != WrapMode.CLAMP_TO_EDGE) {
@@ -227,6 +255,44 @@ public abstract class BaseTexture<T extends ManagedResource> implements Texture
      */
     protected abstract Texture createSharedTexture(WrapMode newMode);
 
+    /**
+     * Create a view of the given area of the content of this texture, which
+     * shares the same {@code ManagedResource} reference, for use by a
+     * {@link TextureAtlas}. Pipelines that do not support this return null.
+     *
+     * @return a new {@code Texture} object sharing the underlying resource,
+     * or null
+     */
+    protected Texture createSubTexture(int x, int y, int w, int h) {
+        return null;
+    }
+
+    /**
+     * Returns true if this texture and the given texture are backed by the
+     * same native texture, with the same wrap mode and filtering, so that
+     * binding one of them is the same as binding the other.
+     */
+    public final boolean isSameBinding(Texture tex) {
+        if (tex == this) {
+            return true;
+        }
+        if (!(tex instanceof BaseTexture)) {
+            return false;
+        }
+        final BaseTexture<?> other = (BaseTexture<?>) tex;
+        return other.resource == resource &&
+               other.wrapMode == wrapMode &&
+               other.linearFiltering == linearFiltering;
+    }
+
+    final void setAtlasEntry(TextureAtlas.Entry entry) {
+        atlasEntry = entry;
+    }
+
+    final TextureAtlas.Entry getAtlasEntry() {
+        return atlasEntry;
+    }
+
     @Override
     public final boolean getLinearFiltering() {
         return linearFiltering;
@@ -294,7 +360,12 @@ public abstract class BaseTexture<T extends ManagedResource> implements Texture
 
     @Override
     public final void dispose() {
-        resource.dispose();
+        if (atlasEntry != null) {
+            // The page is shared with other images, only give up our area
+            atlasEntry.dispose();
+        } else {
+            resource.dispose();
+        }
     }
 
     @Override
@@ -316,6 +387,11 @@ public abstract class BaseTexture<T extends ManagedResource> implements Texture
     public void update(Image img, int dstx, int dsty, int srcw, int srch,
                        boolean skipFlush)
     {
+        if (atlasEntry != null) {
+            // Also refresh the padding around our area of the page
+            atlasEntry.upload(img, skipFlush);
+            return;
+        }
         Buffer pbuffer = img.getPixelBuffer();
         int pos = pbuffer.position();
         update(pbuffer, img.getPixelFormat(),
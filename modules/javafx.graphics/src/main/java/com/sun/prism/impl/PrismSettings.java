@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -46,6 +46,7 @@ public final class PrismSettings {
     public static final boolean printAllocs;
     public static final boolean isVsyncEnabled;
     public static final boolean dirtyOptsEnabled;
+    public static final boolean displayListsEnabled;
     public static final boolean occlusionCullingEnabled;
     public static final boolean scrollCacheOpt;
     public static final boolean threadCheck;
@@ -79,6 +80,10 @@ public final class PrismSettings {
     public static final boolean disableEffects;
     public static final int glyphCacheWidth;
     public static final int glyphCacheHeight;
+    public static final long regionCacheSize;
+    public static final boolean textureAtlasEnabled;
+    public static final int textureAtlasPageSize;
+    public static final long textureUploadBudget;
     public static final String perfLog;
     public static final boolean perfLogExitFlush;
     public static final boolean perfLogFirstPaintFlush;
@@ -87,6 +92,9 @@ public final class PrismSettings {
     public static final boolean forceUploadingPainter;
     public static final boolean forceAlphaTestShader;
     public static final boolean forceNonAntialiasedShape;
+    public static final int swTileCount;
+    public static final int swTileMinArea;
+    public static final int rasterizerThreads;
 
     public static enum RasterizerType {
         JavaPisces("Java-based Pisces Rasterizer"),
@@ -135,6 +143,12 @@ public final class PrismSettings {
                                                "prism.occlusion.culling",
                                                true);
 
+        /*
+         * Retained display lists for unchanged scene graph subtrees, replayed
+         * instead of walking the subtree when it has to be repainted.
+         */
+        displayListsEnabled = getBoolean(systemProperties, "prism.displaylists", false);
+
         // The maximum number of dirty regions to use. The absolute max that we can
         // support at present is 15.
         dirtyRegionCount = Utils.clamp(0, getInt(systemProperties, "prism.dirtyregioncount", 6, null), 15);
@@ -370,6 +384,19 @@ public final class PrismSettings {
         glyphCacheHeight = getInt(systemProperties, "prism.glyphCacheHeight", 1024,
                 "Try -Dprism.glyphCacheHeight=<number>");
 
+        // Size, in bytes, of the texture used to cache region backgrounds
+        regionCacheSize = getLong(systemProperties, "prism.regioncachesize", 8 * 1024 * 1024,
+                "Try -Dprism.regioncachesize=<long>[kKmMgG]");
+
+        // Pack small cached images into shared texture pages
+        textureAtlasEnabled = getBoolean(systemProperties, "prism.textureatlas", false);
+        textureAtlasPageSize = getInt(systemProperties, "prism.textureatlaspagesize", 1024,
+                "Try -Dprism.textureatlaspagesize=<number>");
+
+        // Bytes of image data uploaded per frame, 0 uploads all images at once
+        textureUploadBudget = getLong(systemProperties, "prism.uploadbudget", 0,
+                "Try -Dprism.uploadbudget=<long>[kKmMgG]");
+
         /*
          * Performance Logger flags
          * Enable the performance logger, print on exit, print on first paint etc.
@@ -390,6 +417,32 @@ public final class PrismSettings {
         // Force non anti-aliasing (not smooth) shape rendering
         forceNonAntialiasedShape = getBoolean(systemProperties, "prism.forceNonAntialiasedShape", false);
 
+        /*
+         * Number of horizontal tiles the SW pipeline splits large fills and
+         * image blits into, each rasterized on its own worker thread. A value
+         * of "true" uses one tile per available processor; 1 (the default) disables
+         * tiled rendering.
+         */
+        String swTiles = systemProperties.getProperty("prism.sw.tiles");
+        swTileCount = swTiles == null ? 1 :
+                Math.max(1, parseInt(swTiles, 1, Runtime.getRuntime().availableProcessors(),
+                                     "Try -Dprism.sw.tiles=[true|<number>]"));
+        // Minimum destination area, in pixels, for a primitive to be tiled
+        swTileMinArea = getInt(systemProperties, "prism.sw.tileminarea", 256 * 256,
+                "Try -Dprism.sw.tileminarea=<number>");
+
+        /*
+         * Number of worker threads that rasterize the masks of the shapes of
+         * a group ahead of the render thread. A value of "true" uses one
+         * thread per available processor besides the render thread; 0 (the
+         * default) disables it. Only the Marlin rasterizers support it.
+         */
+        String rThreads = systemProperties.getProperty("prism.rasterizerthreads");
+        rasterizerThreads = rThreads == null ? 0 :
+                Math.max(0, parseInt(rThreads, 0,
+                                     Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                                     "Try -Dprism.rasterizerthreads=[true|<number>]"));
+
     }
 
     private static int parseInt(String s, int dflt, int trueDflt,
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl;
+
+import java.nio.Buffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.Image;
+import com.sun.prism.PixelFormat;
+import com.sun.prism.Texture;
+import com.sun.prism.Texture.Usage;
+import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.impl.packrect.RectanglePacker;
+
+/**
+ * Packs small images into shared texture pages, so that drawing many small
+ * images, such as the icons in the cells of a list or tree, does not need a
+ * texture bind and a flush of the vertex buffer per image.
+ * <p>
+ * Each image gets a view of its own area of a page, created through
+ * {@link BaseTexture#createSubTexture}. The area is padded with a copy of the
+ * edge pixels of the image on each side, so that the view samples as if it
+ * was a separate texture clamped to its edges.
+ * <p>
+ * The areas of a page are reference counted, and a page is disposed once
+ * none of its views are in use. Since the views keep their location, pages
+ * are compacted by retiring them: when a new page is needed and there are
+ * already {@link #MAX_PAGES} pages, the page with the fewest live images is
+ * removed from the texture cache and receives no new images, so that its
+ * images are reallocated on the newer pages as they are requested again.
+ * <p>
+ * All methods are called on the render thread.
+ */
+final class TextureAtlas {
+
+    private static final int MAX_PAGES = 4;
+
+    private final BaseResourceFactory factory;
+    private final Map<Image, Texture> texCache;
+    private final int pageSize;
+    private final int maxImageSize;
+    private final Map<PixelFormat, List<Page>> pages = new EnumMap<>(PixelFormat.class);
+    private boolean unsupported;
+
+    TextureAtlas(BaseResourceFactory factory, Map<Image, Texture> texCache) {
+        this.factory = factory;
+        this.texCache = texCache;
+        this.pageSize = Math.min(PrismSettings.textureAtlasPageSize,
+                                 factory.getMaximumTextureSize());
+        this.maxImageSize = pageSize / 16;
+    }
+
+    /**
+     * Returns true if the image is small enough to be packed into a page.
+     */
+    boolean isAtlasCandidate(Image image) {
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        return !unsupported &&
+               w > 0 && w <= maxImageSize &&
+               h > 0 && h <= maxImageSize;
+    }
+
+    /**
+     * Packs the image into a page and returns a locked texture for it, or
+     * null if the image could not be packed.
+     */
+    Texture allocate(Image image) {
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        final PixelFormat format = image.getPixelFormat();
+        List<Page> list = pages.get(format);
+        if (list == null) {
+            list = new ArrayList<>();
+            pages.put(format, list);
+        }
+        final Rectangle rect = new Rectangle(0, 0, w + 2, h + 2);
+        Page page = null;
+        for (Iterator<Page> it = list.iterator(); it.hasNext(); ) {
+            final Page p = it.next();
+            if (p.texture.isSurfaceLost()) {
+                // The images of the page have been removed from the cache
+                // when their textures were found to be lost
+                it.remove();
+                p.retired = true;
+                continue;
+            }
+            if (!p.retired && p.packer.add(rect)) {
+                page = p;
+                break;
+            }
+        }
+        if (page == null) {
+            retirePageIfNeeded(list);
+            page = createPage(format);
+            if (page == null || !page.packer.add(rect)) {
+                return null;
+            }
+            list.add(page);
+        }
+
+        final BaseTexture<?> tex = (BaseTexture<?>) page.texture.createSubTexture(rect.x + 1, rect.y + 1, w, h);
+        if (tex == null) {
+            unsupported = true;
+            if (page.liveCount == 0) {
+                page.dispose();
+            }
+            return null;
+        }
+        final Entry entry = new Entry(page, rect.x + 1, rect.y + 1, w, h);
+        tex.setAtlasEntry(entry);
+        Disposer.addRecord(tex, entry);
+        page.liveCount++;
+        tex.lock();
+        // Nothing has been drawn from the new area yet, so skip the flush
+        entry.upload(image, true);
+        tex.contentsUseful();
+        return tex;
+    }
+
+    private void retirePageIfNeeded(List<Page> list) {
+        int active = 0;
+        Page sparsest = null;
+        for (Page p : list) {
+            if (!p.retired) {
+                active++;
+                if (sparsest == null || p.liveCount < sparsest.liveCount) {
+                    sparsest = p;
+                }
+            }
+        }
+        if (active < MAX_PAGES || sparsest == null) {
+            return;
+        }
+        sparsest.retired = true;
+        for (Iterator<Texture> it = texCache.values().iterator(); it.hasNext(); ) {
+            final Texture t = it.next();
+            if (t instanceof BaseTexture) {
+                final Entry entry = ((BaseTexture<?>) t).getAtlasEntry();
+                if (entry != null && entry.page == sparsest) {
+                    it.remove();
+                }
+            }
+        }
+        if (sparsest.liveCount == 0) {
+            sparsest.dispose();
+        }
+    }
+
+    private Page createPage(PixelFormat format) {
+        final TextureResourcePool<?> pool = factory.getTextureResourcePool();
+        if (!pool.prepareForAllocation(pool.estimateTextureSize(pageSize, pageSize, format))) {
+            return null;
+        }
+        final Texture texture = factory.createTexture(format, Usage.DEFAULT,
+                WrapMode.CLAMP_NOT_NEEDED, pageSize, pageSize);
+        if (texture == null) {
+            return null;
+        }
+        // Probe for views before the page is made permanent, so that the
+        // pipelines that cannot create them do not keep an unused page
+        if (!(texture instanceof BaseTexture) || texture.getPixelFormat() != format ||
+                ((BaseTexture<?>) texture).createSubTexture(0, 0, 1, 1) == null) {
+            texture.dispose();
+            unsupported = true;
+            return null;
+        }
+        texture.contentsUseful();
+        // The page stays locked, as the views share its lock count
+        texture.makePermanent();
+        return new Page(this, texture);
+    }
+
+    private static final class Page {
+        final TextureAtlas atlas;
+        final BaseTexture<?> texture;
+        final RectanglePacker packer;
+        int liveCount;
+        boolean retired;
+
+        Page(TextureAtlas atlas, Texture texture) {
+            this.atlas = atlas;
+            this.texture = (BaseTexture<?>) texture;
+            this.packer = new RectanglePacker(texture,
+                    texture.getContentWidth(), texture.getContentHeight());
+        }
+
+        void release() {
+            liveCount--;
+            if (liveCount == 0 && retired) {
+                dispose();
+            }
+        }
+
+        void dispose() {
+            final List<Page> list = atlas.pages.get(texture.getPixelFormat());
+            if (list != null) {
+                list.remove(this);
+            }
+            texture.dispose();
+        }
+    }
+
+    /**
+     * The area of a page used by one image. It is released when the texture
+     * of the image is disposed or becomes unreachable.
+     */
+    static final class Entry implements Disposer.Record {
+        private final Page page;
+        private final int x, y, w, h;
+        private boolean disposed;
+
+        Entry(Page page, int x, int y, int w, int h) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+        }
+
+        /**
+         * Uploads the image into the area, padded on each side with a copy
+         * of its edge pixels.
+         */
+        void upload(Image img, boolean skipFlush) {
+            final BaseTexture<?> tex = page.texture;
+            final Buffer pbuffer = img.getPixelBuffer();
+            final int pos = pbuffer.position();
+            final PixelFormat format = img.getPixelFormat();
+            final int scan = img.getScanlineStride();
+            final int sx0 = img.getMinX();
+            final int sy0 = img.getMinY();
+            final int sx1 = sx0 + w - 1;
+            final int sy1 = sy0 + h - 1;
+            // the image, then the left and right columns including the
+            // corners, then the top and bottom rows
+            tex.update(pbuffer, format, x, y, sx0, sy0, w, h, scan, skipFlush);
+            tex.update(pbuffer, format, x - 1, y, sx0, sy0, 1, h, scan, true);
+            tex.update(pbuffer, format, x + w, y, sx1, sy0, 1, h, scan, true);
+            tex.update(pbuffer, format, x, y - 1, sx0, sy0, w, 1, scan, true);
+            tex.update(pbuffer, format, x, y + h, sx0, sy1, w, 1, scan, true);
+            tex.update(pbuffer, format, x - 1, y - 1, sx0, sy0, 1, 1, scan, true);
+            tex.update(pbuffer, format, x + w, y - 1, sx1, sy0, 1, 1, scan, true);
+            tex.update(pbuffer, format, x - 1, y + h, sx0, sy1, 1, 1, scan, true);
+            tex.update(pbuffer, format, x + w, y + h, sx1, sy1, 1, 1, scan, true);
+            pbuffer.position(pos);
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                page.release();
+            }
+        }
+    }
+}
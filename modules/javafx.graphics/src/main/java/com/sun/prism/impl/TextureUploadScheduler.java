@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl;
+
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
+/**
+ * Spreads the upload of image textures over several frames, so that a burst
+ * of new images, such as the thumbnails of a grid scrolling into view, does
+ * not stall a single frame.
+ * <p>
+ * Each frame may upload up to {@link PrismSettings#textureUploadBudget} bytes
+ * of image data through
+ * {@link com.sun.prism.ResourceFactory#getCachedTextureIfReady}. Images over
+ * the budget are not drawn, and the caller is expected to mark itself dirty
+ * once the frame is painted, so that it is drawn again in a later frame,
+ * once its upload fits in the budget. The first upload of a frame is always allowed, so that images
+ * larger than the budget are still shown.
+ * <p>
+ * Uploads are only deferred while a frame painted by the ViewPainter is
+ * active. Nothing would paint the images again after a snapshot, and the
+ * cached image of a node is not rendered again when only an image inside
+ * it is dirty, so those renders, and any render between frames, upload
+ * all of their images at once.
+ * <p>
+ * All methods are called on the render thread.
+ */
+public final class TextureUploadScheduler {
+
+    private static long bytesUploaded;
+    private static int deferredCount;
+    private static boolean frameActive;
+    private static int synchronousDepth;
+
+    private TextureUploadScheduler() {
+    }
+
+    /**
+     * Returns true if uploads are spread over several frames.
+     */
+    public static boolean isEnabled() {
+        return PrismSettings.textureUploadBudget > 0;
+    }
+
+    /**
+     * Resets the budget at the start of painting a frame.
+     */
+    public static void beginFrame() {
+        bytesUploaded = 0;
+        deferredCount = 0;
+        frameActive = true;
+    }
+
+    /**
+     * Ends painting a frame and returns true if some uploads were deferred
+     * to a later frame.
+     */
+    public static boolean endFrame() {
+        frameActive = false;
+        return deferredCount > 0;
+    }
+
+    /**
+     * Starts a render, such as that of a cached node image, in which every
+     * upload is done at once even while a frame is active. Calls may nest,
+     * and every call must be followed by a call to
+     * {@link #endSynchronousUploads}.
+     */
+    public static void beginSynchronousUploads() {
+        synchronousDepth++;
+    }
+
+    /**
+     * Ends a render started with {@link #beginSynchronousUploads}.
+     */
+    public static void endSynchronousUploads() {
+        synchronousDepth--;
+    }
+
+    /**
+     * Reserves the given number of bytes of the budget of the current frame
+     * for an upload, or returns false if the upload has to be deferred.
+     */
+    static boolean reserve(long bytes) {
+        return reserve(bytes, PrismSettings.textureUploadBudget);
+    }
+
+    // package for testing
+    static boolean reserve(long bytes, long budget) {
+        if (!frameActive || synchronousDepth > 0) {
+            return true;
+        }
+        if (bytesUploaded > 0 && bytesUploaded + bytes > budget) {
+            deferredCount++;
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Texture uploads deferred");
+            }
+            return false;
+        }
+        bytesUploaded += bytes;
+        return true;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2006, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2006, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -159,6 +159,38 @@ public class RectanglePacker {
         return newLevel.add(rect, x, y, requestedLength, requestedSize, vertical);
     }
 
+    /**
+     * Returns the number of levels (rows, or columns for a vertical packer)
+     * that have been allocated so far.
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * Stores the area of the backing store covered by the given level into
+     * {@code bounds}. Every rectangle packed into the level starts at the
+     * level's offset, that is at {@code bounds.y} for a horizontal packer
+     * and at {@code bounds.x} for a vertical one.
+     */
+    public void getLevelBounds(int index, Rectangle bounds) {
+        final Level level = levels.get(index);
+        if (vertical) {
+            bounds.setBounds(x + level.sizeOffset, y, level.size, length);
+        } else {
+            bounds.setBounds(x, y + level.sizeOffset, length, level.size);
+        }
+    }
+
+    /**
+     * Clears all Rectangles contained in the given level, so that its space
+     * can be reused by rectangles of up to the same size. The level itself
+     * keeps its position and size.
+     */
+    public void clearLevel(int index) {
+        levels.get(index).clear();
+    }
+
     /**
      * Clears all Rectangles contained in this RectanglePacker.
      */
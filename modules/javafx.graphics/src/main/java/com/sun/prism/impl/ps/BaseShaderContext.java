@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -39,6 +39,7 @@ import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture;
 import com.sun.prism.impl.BaseContext;
 import com.sun.prism.impl.BaseGraphics;
+import com.sun.prism.impl.BaseTexture;
 import com.sun.prism.paint.Color;
 import com.sun.prism.paint.Gradient;
 import com.sun.prism.paint.ImagePattern;
@@ -155,6 +156,10 @@ public abstract class BaseShaderContext extends BaseContext {
 
     private Shader externalShader;
 
+    // The gradient paint that was last validated for the new paint style,
+    // used to avoid flushing between consecutive fills with the same gradient
+    private Paint lastGradientPaint;
+
     private RTTexture lcdBuffer;
     private final ShaderFactory factory;
 
@@ -430,13 +435,25 @@ public abstract class BaseShaderContext extends BaseContext {
             Texture tex1;
             if (paint.getType().isGradient()) {
                 // we need to flush here in case the paint shader is staying
-                // the same but the paint parameters are changing; we do this
-                // unconditionally for now (in theory we could keep track
-                // of the last validated paint, and the shape bounds in the
-                // case of proportional gradients, but the case where the
-                // same paint parameters are used multiple times in a row
-                // is so rare that it's not worth optimizing this any further)
-                flushVertexBuffer();
+                // the same but the paint parameters are changing. With the
+                // new paint style the gradient geometry is passed per vertex
+                // and the only shader parameter is the row of the gradient
+                // in the cache texture, so consecutive fills with the same
+                // (still cached) gradient, such as the backgrounds of sibling
+                // regions, can share one batch. For the old paint style the
+                // parameters also depend on the shape bounds and transform,
+                // so we flush unconditionally in that case.
+                if (maskType.isNewPaintStyle()) {
+                    if (paint != lastGradientPaint ||
+                        !PaintHelper.isGradientCached((Gradient)paint))
+                    {
+                        flushVertexBuffer();
+                        lastGradientPaint = paint;
+                    }
+                } else {
+                    flushVertexBuffer();
+                    lastGradientPaint = null;
+                }
                 // we have to fetch the texture containing the gradient
                 // colors in advance since checkState() is responsible for
                 // binding the texture(s)
@@ -693,9 +710,13 @@ public abstract class BaseShaderContext extends BaseContext {
 
     private void setTexture(int texUnit, Texture tex) {
         if (tex != null) tex.assertLocked();
-        if (tex != state.lastTextures[texUnit]) {
-            flushVertexBuffer();
-            updateTexture(texUnit, tex);
+        Texture last = state.lastTextures[texUnit];
+        if (tex != last) {
+            // Images packed into the same atlas page share the binding
+            if (!(tex instanceof BaseTexture && ((BaseTexture<?>) tex).isSameBinding(last))) {
+                flushVertexBuffer();
+                updateTexture(texUnit, tex);
+            }
             state.lastTextures[texUnit] = tex;
         }
     }
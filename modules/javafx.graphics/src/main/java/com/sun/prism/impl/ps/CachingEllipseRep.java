@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,8 +25,10 @@
 
 package com.sun.prism.impl.ps;
 
+import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.Ellipse2D;
 import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.prism.Graphics;
 
 public class CachingEllipseRep extends CachingShapeRep {
@@ -38,6 +40,14 @@ public class CachingEllipseRep extends CachingShapeRep {
     CachingShapeRepState createState() {
         return new CachingEllipseRepState();
     }
+
+    @Override
+    public boolean isMaskRasterized(Graphics g, BaseTransform xform,
+                                    BaseBounds bounds, boolean stroke)
+    {
+        // an ellipse that is not cached is drawn by a shader
+        return false;
+    }
 }
 
 class CachingEllipseRepState extends CachingShapeRepState {
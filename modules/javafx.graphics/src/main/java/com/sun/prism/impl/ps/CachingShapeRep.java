@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -113,6 +113,18 @@ public class CachingShapeRep implements ShapeRep {
         drawState.render(g, shape,(RectBounds) bounds, g.getStroke());
     }
 
+    @Override
+    public boolean isMaskRasterized(Graphics g, BaseTransform xform,
+                                    BaseBounds bounds, boolean stroke)
+    {
+        final CachingShapeRepState state = stroke ? drawState : fillState;
+        if (state == null) {
+            // the first render never uses the mask cache
+            return g instanceof BaseShaderGraphics;
+        }
+        return state.isMaskRasterized(g, xform, (RectBounds) bounds);
+    }
+
     public void dispose() {
         if (fillState != null) {
             fillState.dispose();
@@ -426,6 +438,31 @@ class CachingShapeRepState {
         maskCache.unref(texData);
     }
 
+    /**
+     * Returns true if the next render with the given transform will render
+     * the shape the slow way, through {@link BaseShaderGraphics}, rather than
+     * with a mask texture from the cache. Returns false when in doubt, such
+     * as for a complex paint, which is only known when the shape is rendered.
+     */
+    boolean isMaskRasterized(Graphics g, BaseTransform xform, RectBounds shapeBounds) {
+        if (!(g instanceof BaseShaderGraphics)) {
+            return false;
+        }
+        if (lastXform == null || !equalsIgnoreTranslation(xform, lastXform)) {
+            // render() resets the render count
+            return 1 < CACHE_THRESHOLD;
+        }
+        if (renderCount + 1 < CACHE_THRESHOLD || tryCache == Boolean.FALSE) {
+            return true;
+        }
+        if (tryCache == null) {
+            final RectBounds xformBounds = xform.isIdentity() ? shapeBounds :
+                    (RectBounds) xform.transform(shapeBounds, new RectBounds());
+            return xformBounds.isEmpty() || !maskCache.hasRoom(xformBounds);
+        }
+        return false;
+    }
+
     void render(Graphics g, Shape shape, RectBounds shapeBounds, BasicStroke stroke) {
         // The following is safe; this method does not mutate xform
         BaseTransform xform = g.getTransformNoClone();
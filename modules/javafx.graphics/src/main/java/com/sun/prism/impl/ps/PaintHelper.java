@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -246,6 +246,16 @@ class PaintHelper {
         }
     }
 
+    /**
+     * Returns true if the colors of the given gradient are still present
+     * in the gradient cache textures, such that {@link #initGradient}
+     * would not update them.
+     */
+    static boolean isGradientCached(Gradient paint) {
+        long offset = paint.getGradientOffset();
+        return offset >= 0 && (offset > cacheOffset - MULTI_CACHE_SIZE);
+    }
+
     // Uses a least recently allocated algorithm for caching Gradient colors.
     // This could be optimized so that we never use the same color twice.
     // We always increment the cacheOffset (long) and keep the gradients stored
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,7 @@ package com.sun.prism.impl.shape;
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.Ellipse2D;
 import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.prism.Graphics;
 
 public class BasicEllipseRep extends BasicShapeRep {
@@ -46,4 +47,12 @@ public class BasicEllipseRep extends BasicShapeRep {
         Ellipse2D e = (Ellipse2D)shape;
         g.drawEllipse(e.x, e.y, e.width, e.height);
     }
+
+    @Override
+    public boolean isMaskRasterized(Graphics g, BaseTransform xform,
+                                    BaseBounds bounds, boolean stroke)
+    {
+        // an ellipse is drawn by a shader
+        return false;
+    }
 }
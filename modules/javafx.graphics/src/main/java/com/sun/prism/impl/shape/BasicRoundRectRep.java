@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -122,4 +122,12 @@ public class BasicRoundRectRep extends BasicShapeRep {
                                 TMP_ARR[2], TMP_ARR[3]);
         }
     }
+
+    @Override
+    public boolean isMaskRasterized(Graphics g, BaseTransform xform,
+                                    BaseBounds bounds, boolean stroke)
+    {
+        // a rounded rectangle is usually drawn by a shader
+        return false;
+    }
 }
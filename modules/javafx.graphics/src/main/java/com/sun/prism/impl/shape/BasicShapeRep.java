@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,7 +27,9 @@ package com.sun.prism.impl.shape;
 
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.prism.Graphics;
+import com.sun.prism.impl.ps.BaseShaderGraphics;
 import com.sun.prism.shape.ShapeRep;
 
 public class BasicShapeRep implements ShapeRep {
@@ -52,4 +54,11 @@ public class BasicShapeRep implements ShapeRep {
 
     public void dispose() {
     }
+
+    @Override
+    public boolean isMaskRasterized(Graphics g, BaseTransform xform,
+                                    BaseBounds bounds, boolean stroke)
+    {
+        return g instanceof BaseShaderGraphics;
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.shape;
+
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.logging.PulseLogger;
+import com.sun.prism.BasicStroke;
+import java.nio.ByteBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
+/**
+ * Rasterizes shape masks on worker threads ahead of the render thread.
+ * <p>
+ * The render thread requests the masks of the shapes it is about to draw
+ * with {@link #prefetch}, and {@link #take takes} them back when it draws
+ * each shape. A request copies the geometry, stroke, transform and clip, so
+ * the worker never sees them mutated. The resulting mask is copied out of
+ * the thread-local buffer of the worker's rasterizer context.
+ * <p>
+ * A request that no worker has started yet when its mask is needed is
+ * cancelled, and the render thread rasterizes the shape itself instead of
+ * waiting for the queue to drain. Requests are keyed by the identity of the
+ * shape they were made for, and are only valid until they are taken or
+ * {@link #discard discarded}, which the caller must do before the shape may
+ * be mutated.
+ * <p>
+ * All methods except the rasterization itself must be called on the render
+ * thread.
+ */
+final class MaskPrefetcher {
+
+    private static final class Request {
+        final Shape shape;
+        final BasicStroke stroke;
+        final RectBounds xformBounds;
+        final BaseTransform xform;
+        final boolean close;
+        final boolean antialiasedShape;
+        ForkJoinTask<MaskData> task;
+
+        Request(Shape shape, BasicStroke stroke, RectBounds xformBounds,
+                BaseTransform xform, boolean close, boolean antialiasedShape)
+        {
+            this.shape = shape.copy();
+            this.stroke = stroke == null ? null : stroke.copy();
+            this.xformBounds = xformBounds == null ? null : (RectBounds) xformBounds.copy();
+            this.xform = xform.copy();
+            this.close = close;
+            this.antialiasedShape = antialiasedShape;
+        }
+
+        boolean matches(BasicStroke stroke, RectBounds xformBounds,
+                        BaseTransform xform, boolean close, boolean antialiasedShape)
+        {
+            return this.close == close &&
+                   this.antialiasedShape == antialiasedShape &&
+                   (this.stroke == null ? stroke == null : this.stroke.equals(stroke)) &&
+                   (this.xformBounds == null ? xformBounds == null : this.xformBounds.equals(xformBounds)) &&
+                   this.xform.equals(xform);
+        }
+    }
+
+    private final ShapeRasterizer rasterizer;
+    private final ForkJoinPool pool;
+    private final Map<Shape, List<Request>> pending = new IdentityHashMap<>();
+
+    MaskPrefetcher(ShapeRasterizer rasterizer, int threads) {
+        this.rasterizer = rasterizer;
+        this.pool = AccessController.doPrivileged((PrivilegedAction<ForkJoinPool>) () ->
+            new ForkJoinPool(threads, p -> {
+                final ForkJoinWorkerThread t =
+                        ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                t.setName("Prism Rasterizer-" + t.getPoolIndex());
+                t.setDaemon(true);
+                return t;
+            }, null, true));
+    }
+
+    void prefetch(Shape shape, BasicStroke stroke, RectBounds xformBounds,
+                  BaseTransform xform, boolean close, boolean antialiasedShape)
+    {
+        final Request r = new Request(shape, stroke, xformBounds, xform, close, antialiasedShape);
+        r.task = pool.submit(() -> rasterize(r));
+        List<Request> requests = pending.get(shape);
+        if (requests == null) {
+            requests = new ArrayList<>(2);
+            pending.put(shape, requests);
+        }
+        requests.add(r);
+    }
+
+    private MaskData rasterize(Request r) {
+        final MaskData mask = rasterizer.getMaskData(r.shape, r.stroke, r.xformBounds,
+                                                     r.xform, r.close, r.antialiasedShape);
+        final int w = mask.getWidth();
+        final int h = mask.getHeight();
+        final byte[] pixels = new byte[w * h];
+        final ByteBuffer buf = mask.getMaskBuffer().duplicate();
+        buf.rewind();
+        buf.get(pixels);
+        return MaskData.create(pixels, mask.getOriginX(), mask.getOriginY(), w, h);
+    }
+
+    /**
+     * Returns the mask prefetched for the given arguments, waiting for it to
+     * be rasterized if needed, or null if it was not prefetched or no worker
+     * has started it yet.
+     */
+    MaskData take(Shape shape, BasicStroke stroke, RectBounds xformBounds,
+                  BaseTransform xform, boolean close, boolean antialiasedShape)
+    {
+        final List<Request> requests = pending.get(shape);
+        if (requests == null) {
+            return null;
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            final Request r = requests.get(i);
+            if (!r.matches(stroke, xformBounds, xform, close, antialiasedShape)) {
+                continue;
+            }
+            requests.remove(i);
+            if (requests.isEmpty()) {
+                pending.remove(shape);
+            }
+            if (r.task.cancel(false)) {
+                return null;
+            }
+            try {
+                final MaskData mask = r.task.get();
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Prefetched shape masks");
+                }
+                return mask;
+            } catch (ExecutionException e) {
+                // rasterize again on the render thread, which reports the failure
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cancels the requests made for the given shape that were not taken.
+     */
+    void discard(Shape shape) {
+        final List<Request> requests = pending.remove(shape);
+        if (requests != null) {
+            for (Request r : requests) {
+                r.task.cancel(false);
+            }
+        }
+    }
+
+    // package for testing
+    boolean awaitQuiescence(long timeout, TimeUnit unit) {
+        return pool.awaitQuiescence(timeout, unit);
+    }
+}
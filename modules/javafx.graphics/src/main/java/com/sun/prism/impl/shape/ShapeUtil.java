@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -37,6 +37,7 @@ import com.sun.prism.impl.PrismSettings.RasterizerType;
 public class ShapeUtil {
 
     private static final ShapeRasterizer shapeRasterizer;
+    private static final MaskPrefetcher maskPrefetcher;
     static {
         switch (PrismSettings.rasterizerSpec) {
             case JavaPisces:
@@ -53,6 +54,15 @@ public class ShapeUtil {
                 shapeRasterizer = new DMarlinRasterizer();
                 break;
         }
+        // Only the Marlin rasterizers can be used from several threads
+        if (PrismSettings.rasterizerThreads > 0 &&
+            (shapeRasterizer instanceof MarlinRasterizer ||
+             shapeRasterizer instanceof DMarlinRasterizer))
+        {
+            maskPrefetcher = new MaskPrefetcher(shapeRasterizer, PrismSettings.rasterizerThreads);
+        } else {
+            maskPrefetcher = null;
+        }
     }
 
     public static MaskData rasterizeShape(Shape shape,
@@ -61,9 +71,52 @@ public class ShapeUtil {
                                           BaseTransform xform,
                                           boolean close, boolean antialiasedShape)
     {
+        if (maskPrefetcher != null) {
+            MaskData maskData = maskPrefetcher.take(shape, stroke, xformBounds, xform, close, antialiasedShape);
+            if (maskData != null) {
+                return maskData;
+            }
+        }
         return shapeRasterizer.getMaskData(shape, stroke, xformBounds, xform, close, antialiasedShape);
     }
 
+    /**
+     * Returns true if masks can be rasterized ahead of time on worker
+     * threads with {@link #prefetchMask}.
+     */
+    public static boolean isMaskPrefetchEnabled() {
+        return maskPrefetcher != null;
+    }
+
+    /**
+     * Starts rasterizing the mask that a later call to
+     * {@link #rasterizeShape} with the same arguments will return, on a
+     * worker thread. Requests that are not consumed by
+     * {@code rasterizeShape} must be discarded with
+     * {@link #discardPrefetchedMasks} before the shape is mutated.
+     * Must be called on the render thread.
+     */
+    public static void prefetchMask(Shape shape,
+                                    BasicStroke stroke,
+                                    RectBounds xformBounds,
+                                    BaseTransform xform,
+                                    boolean close, boolean antialiasedShape)
+    {
+        if (maskPrefetcher != null) {
+            maskPrefetcher.prefetch(shape, stroke, xformBounds, xform, close, antialiasedShape);
+        }
+    }
+
+    /**
+     * Discards the masks prefetched for the given shape that were not used.
+     * Must be called on the render thread.
+     */
+    public static void discardPrefetchedMasks(Shape shape) {
+        if (maskPrefetcher != null) {
+            maskPrefetcher.discard(shape);
+        }
+    }
+
     public static Shape createCenteredStrokedShape(Shape s, BasicStroke stroke)
     {
         if (PrismSettings.rasterizerSpec == RasterizerType.DoubleMarlin) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,6 +27,7 @@ package com.sun.prism.shape;
 
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.prism.Graphics;
 
 public interface ShapeRep {
@@ -48,4 +49,17 @@ public interface ShapeRep {
     public void fill(Graphics g, Shape shape, BaseBounds bounds);
     public void draw(Graphics g, Shape shape, BaseBounds bounds);
     public void dispose();
+
+    /**
+     * Returns true if the next fill, or the next draw if {@code stroke} is
+     * true, of a shape with the given bounds to {@code g} rasterizes the
+     * shape with {@code ShapeUtil.rasterizeShape}, passing the final clip of
+     * {@code g} and the given transform. Only the masks of such shapes can be
+     * rasterized ahead of time.
+     */
+    public default boolean isMaskRasterized(Graphics g, BaseTransform xform,
+                                            BaseBounds bounds, boolean stroke)
+    {
+        return false;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -78,6 +78,7 @@ final class SWGraphics implements ReadbackGraphics {
     private final BaseTransform tx = new Affine2D();
 
     private CompositeMode compositeMode = CompositeMode.SRC_OVER;
+    private int piscesCompositeRule = RendererBase.COMPOSITE_SRC_OVER;
 
     private Rectangle clip;
     private final Rectangle finalClip = new Rectangle();
@@ -342,6 +343,7 @@ final class SWGraphics implements ReadbackGraphics {
             default:
                 throw new InternalError("Unrecognized composite mode: "+mode);
         }
+        this.piscesCompositeRule = piscesComp;
         this.pr.setCompositeRule(piscesComp);
     }
 
@@ -356,6 +358,13 @@ final class SWGraphics implements ReadbackGraphics {
         this.clear(Color.TRANSPARENT);
     }
 
+    private static int toArgb(Color c, float compositeAlpha) {
+        return ((int) (255 * c.getAlpha() * compositeAlpha) << 24) |
+               ((int) (c.getRed() * 255) << 16) |
+               ((int) (255 * c.getGreen()) << 8) |
+               ((int) (255 * c.getBlue()));
+    }
+
     /**
      * Clears the current {@code RenderTarget} with the given {@code Color}.
      * Note that this operation is affected by the current clip rectangle,
@@ -367,7 +376,15 @@ final class SWGraphics implements ReadbackGraphics {
             System.out.println("+ PR.clear: " + color);
         }
         this.swPaint.setColor(color, 1f);
-        pr.clearRect(0, 0, target.getPhysicalWidth(), target.getPhysicalHeight());
+        final int w = target.getPhysicalWidth();
+        final int h = target.getPhysicalHeight();
+        final SWTileRenderer tiles = target.getTileRenderer();
+        if (tiles != null && tiles.shouldTile(finalClip, 0, 0, w, h)) {
+            tiles.render(finalClip, RendererBase.COMPOSITE_SRC, toArgb(color, 1f),
+                         tpr -> tpr.clearRect(0, 0, w, h));
+        } else {
+            pr.clearRect(0, 0, w, h);
+        }
         getRenderTarget().setOpaque(color.isOpaque());
     }
 
@@ -455,8 +472,20 @@ final class SWGraphics implements ReadbackGraphics {
                 }
             } else {
                 swPaint.setPaintFromShape(this.paint, this.tx, null, this.nodeBounds, x, y, width, height);
-                this.pr.fillRect((int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES), (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES),
-                        (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES), (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES));
+                final int fx = (int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES);
+                final int fy = (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES);
+                final int fw = (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES);
+                final int fh = (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES);
+                final SWTileRenderer tiles = target.getTileRenderer();
+                if (tiles != null && this.paint.getType() == Paint.Type.COLOR &&
+                        tiles.shouldTile(finalClip, fx >> 16, fy >> 16, (fw >> 16) + 1, (fh >> 16) + 1))
+                {
+                    tiles.render(finalClip, piscesCompositeRule,
+                                 toArgb((Color)this.paint, swPaint.getCompositeAlpha()),
+                                 tpr -> tpr.fillRect(fx, fy, fw, fh));
+                } else {
+                    this.pr.fillRect(fx, fy, fw, fh);
+                }
             }
         } else {
             this.fillRoundRect(x, y, width, height, 0, 0);
@@ -693,10 +722,16 @@ final class SWGraphics implements ReadbackGraphics {
             imageMode = RendererBase.IMAGE_MODE_MULTIPLY;
             this.pr.setColor(255, 255, 255, (int)(255 * compositeAlpha));
         }
-        this.drawTexture(tex, imageMode, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, lEdge, rEdge, tEdge, bEdge);
+        this.drawTexture(tex, imageMode, true, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, lEdge, rEdge, tEdge, bEdge);
     }
 
-    private void drawTexture(Texture tex, int imageMode,
+    /*
+     * colorPaint tells whether the paint of pr that IMAGE_MODE_MULTIPLY
+     * multiplies the image with is the plain color of the composite alpha.
+     * Only then can the texture be drawn by the tile renderers, which are set
+     * up with a color; drawTextureVO multiplies with a gradient instead.
+     */
+    private void drawTexture(Texture tex, int imageMode, boolean colorPaint,
                             float dx1, float dy1, float dx2, float dy2,
                             float sx1, float sy1, float sx2, float sy2,
                             int lEdge, int rEdge, int tEdge, int bEdge) {
@@ -738,17 +773,40 @@ final class SWGraphics implements ReadbackGraphics {
         final int txMax = Math.min(tex.getContentWidth() - 1, SWUtils.fastCeil(Math.max(sx1, sx2)) - 1);
         final int tyMax = Math.min(tex.getContentHeight() - 1, SWUtils.fastCeil(Math.max(sy1, sy2)) - 1);
 
-        this.pr.drawImage(RendererBase.TYPE_INT_ARGB_PRE, imageMode,
-                data, tex.getContentWidth(), tex.getContentHeight(),
-                swTex.getOffset(), tex.getPhysicalWidth(),
-                piscesTx,
-                tex.getWrapMode() == Texture.WrapMode.REPEAT,
-                tex.getLinearFiltering(),
-                (int)(SWUtils.TO_PISCES * dstBBox.getMinX()), (int)(SWUtils.TO_PISCES * dstBBox.getMinY()),
-                (int)(SWUtils.TO_PISCES * dstBBox.getWidth()), (int)(SWUtils.TO_PISCES * dstBBox.getHeight()),
-                lEdge, rEdge, tEdge, bEdge,
-                txMin, tyMin, txMax, tyMax,
-                swTex.hasAlpha());
+        final int bboxX = (int)(SWUtils.TO_PISCES * dstBBox.getMinX());
+        final int bboxY = (int)(SWUtils.TO_PISCES * dstBBox.getMinY());
+        final int bboxW = (int)(SWUtils.TO_PISCES * dstBBox.getWidth());
+        final int bboxH = (int)(SWUtils.TO_PISCES * dstBBox.getHeight());
+        final SWTileRenderer tiles = target.getTileRenderer();
+        if (tiles != null && colorPaint && tex != target &&
+                tiles.shouldTile(finalClip, (int) dstBBox.getMinX(), (int) dstBBox.getMinY(),
+                                 (int) Math.ceil(dstBBox.getWidth()) + 1, (int) Math.ceil(dstBBox.getHeight()) + 1))
+        {
+            final int argb = imageMode == RendererBase.IMAGE_MODE_NORMAL ? 0xffffffff
+                    : ((int)(255 * swPaint.getCompositeAlpha()) << 24) | 0x00ffffff;
+            tiles.render(finalClip, piscesCompositeRule, argb,
+                         tpr -> tpr.drawImage(RendererBase.TYPE_INT_ARGB_PRE, imageMode,
+                                 data, tex.getContentWidth(), tex.getContentHeight(),
+                                 swTex.getOffset(), tex.getPhysicalWidth(),
+                                 piscesTx,
+                                 tex.getWrapMode() == Texture.WrapMode.REPEAT,
+                                 tex.getLinearFiltering(),
+                                 bboxX, bboxY, bboxW, bboxH,
+                                 lEdge, rEdge, tEdge, bEdge,
+                                 txMin, tyMin, txMax, tyMax,
+                                 swTex.hasAlpha()));
+        } else {
+            this.pr.drawImage(RendererBase.TYPE_INT_ARGB_PRE, imageMode,
+                    data, tex.getContentWidth(), tex.getContentHeight(),
+                    swTex.getOffset(), tex.getPhysicalWidth(),
+                    piscesTx,
+                    tex.getWrapMode() == Texture.WrapMode.REPEAT,
+                    tex.getLinearFiltering(),
+                    bboxX, bboxY, bboxW, bboxH,
+                    lEdge, rEdge, tEdge, bEdge,
+                    txMin, tyMin, txMax, tyMax,
+                    swTex.hasAlpha());
+        }
 
         if (PrismSettings.debug) {
             System.out.println("* drawTexture, DONE");
@@ -842,7 +900,7 @@ final class SWGraphics implements ReadbackGraphics {
         SWUtils.convertToPiscesTransform(this.tx, t6);
         this.pr.setLinearGradient(0, (int)(SWUtils.TO_PISCES * dy1), 0, (int)(SWUtils.TO_PISCES * dy2), fractions, argb,
                                   GradientColorMap.CYCLE_NONE, t6);
-        this.drawTexture(tex, RendererBase.IMAGE_MODE_MULTIPLY, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2,
+        this.drawTexture(tex, RendererBase.IMAGE_MODE_MULTIPLY, false, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2,
                 RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP,
                 RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP);
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -42,6 +42,7 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
 
     private PiscesRenderer pr;
     private JavaSurface surface;
+    private SWTileRenderer tileRenderer;
     private final Rectangle dimensions = new Rectangle();
     private boolean isOpaque;
 
@@ -56,6 +57,18 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
         return this.surface;
     }
 
+    /**
+     * Returns the renderer used to split large primitives into tiles
+     * rendered in parallel, or null if tiled rendering is disabled.
+     */
+    SWTileRenderer getTileRenderer() {
+        if (tileRenderer == null && PrismSettings.swTileCount > 1) {
+            tileRenderer = new SWTileRenderer(getDataNoClone(), getPhysicalWidth(), getPhysicalHeight(),
+                                              PrismSettings.swTileCount);
+        }
+        return tileRenderer;
+    }
+
     @Override
     public int[] getPixels() {
         if (contentWidth == physicalWidth) {
@@ -67,12 +80,35 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
 
     @Override
     public boolean readPixels(Buffer pixels, int x, int y, int width, int height) {
-        if (x != getContentX() || y != getContentY()
-                || width != getContentWidth() || height != getContentHeight())
+        if (x == getContentX() && y == getContentY()
+                && width == getContentWidth() && height == getContentHeight())
         {
-            throw new IllegalArgumentException("reading subtexture not yet supported!");
+            return readPixels(pixels);
+        }
+        if (x < getContentX() || y < getContentY() || width < 0 || height < 0
+                || x + width > getContentX() + getContentWidth()
+                || y + height > getContentY() + getContentHeight())
+        {
+            throw new IllegalArgumentException("area outside of the content: " +
+                    x + ", " + y + ", " + width + "x" + height);
+        }
+        if (!(pixels instanceof IntBuffer)) {
+            throw new IllegalArgumentException("reading subtexture only supported into an IntBuffer");
+        }
+
+        final int pixbuf[] = getDataNoClone();
+        final IntBuffer iPixels = (IntBuffer)pixels;
+        iPixels.clear();
+        for (int i = 0; i < height; i++) {
+            iPixels.put(pixbuf, (y + i)*physicalWidth + x, width);
         }
-        return readPixels(pixels);
+        iPixels.rewind();
+        return true;
+    }
+
+    @Override
+    public boolean isReadPixelsAreaSupported() {
+        return true;
     }
 
     @Override
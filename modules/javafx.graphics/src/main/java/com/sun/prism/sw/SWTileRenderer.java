@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.prism.impl.PrismSettings;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits an {@code SWRTTexture} into horizontal tiles and replays large
+ * primitives (clears, solid fills and image blits) on each tile in parallel.
+ * <p>
+ * Every tile owns its own {@code JavaSurface} and {@code PiscesRenderer}
+ * over the pixel array of the render target, so the native renderer state
+ * of one tile is never touched by another thread, and the clip of each tile
+ * is restricted to its own rows so that no two tiles write the same pixel.
+ * The scene graph itself is still traversed on the render thread only:
+ * an {@code NGNode} render pass updates dirty bits and cache filters and
+ * cannot be replayed concurrently.
+ */
+final class SWTileRenderer {
+
+    /**
+     * A single primitive to be replayed on every intersecting tile. The
+     * renderer passed in has already been set up with the tile clip, the
+     * composite rule and the color of the operation.
+     */
+    interface Op {
+        void render(PiscesRenderer pr);
+    }
+
+    private static ForkJoinPool pool;
+
+    @SuppressWarnings("removal")
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = AccessController.doPrivileged((PrivilegedAction<ForkJoinPool>) () ->
+                new ForkJoinPool(PrismSettings.swTileCount, p -> {
+                    final ForkJoinWorkerThread t =
+                            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    t.setName("SW Tile Renderer-" + t.getPoolIndex());
+                    t.setDaemon(true);
+                    return t;
+                }, null, false));
+        }
+        return pool;
+    }
+
+    private final PiscesRenderer[] renderers;
+    private final Rectangle[] tiles;
+    private final Rectangle tileClip = new Rectangle();
+
+    SWTileRenderer(int data[], int width, int height, int tileCount) {
+        tileCount = Math.max(1, Math.min(tileCount, height));
+        renderers = new PiscesRenderer[tileCount];
+        tiles = new Rectangle[tileCount];
+        final int tileHeight = (height + tileCount - 1) / tileCount;
+        for (int i = 0; i < tileCount; i++) {
+            final int y = i * tileHeight;
+            tiles[i] = new Rectangle(0, y, width, Math.min(tileHeight, height - y));
+            renderers[i] = new PiscesRenderer(new JavaSurface(data, RendererBase.TYPE_INT_ARGB_PRE, width, height));
+        }
+    }
+
+    /**
+     * Returns true if a primitive covering {@code bounds} is large enough,
+     * after clipping to {@code clip}, for tiling to pay off.
+     */
+    boolean shouldTile(Rectangle clip, int x, int y, int w, int h) {
+        if (tiles.length < 2) {
+            return false;
+        }
+        final int x0 = Math.max(x, clip.x);
+        final int y0 = Math.max(y, clip.y);
+        final long cw = (long) Math.min(x + w, clip.x + clip.width) - x0;
+        final long ch = (long) Math.min(y + h, clip.y + clip.height) - y0;
+        return cw > 0 && ch > 0 && cw * ch >= PrismSettings.swTileMinArea;
+    }
+
+    /**
+     * Renders {@code op} on every tile intersecting {@code clip} and waits
+     * for all of them to complete.
+     *
+     * @param clip the final device clip of the calling {@code SWGraphics}
+     * @param compositeRule one of the {@code RendererBase.COMPOSITE_*} rules
+     * @param argb the non-premultiplied color to set on each tile renderer
+     * @param op the primitive to render
+     */
+    void render(Rectangle clip, int compositeRule, int argb, Op op) {
+        int first = -1, last = -1;
+        for (int i = 0; i < tiles.length; i++) {
+            tileClip.setBounds(tiles[i]);
+            tileClip.intersectWith(clip);
+            if (!tileClip.isEmpty()) {
+                if (first < 0) {
+                    first = i;
+                }
+                last = i;
+            }
+        }
+        if (first < 0) {
+            return;
+        }
+        getPool().invoke(new TileTask(clip, compositeRule, argb, op, first, last + 1));
+    }
+
+    private final class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Rectangle clip;
+        private final int compositeRule;
+        private final int argb;
+        private final Op op;
+        private final int from, to;
+
+        TileTask(Rectangle clip, int compositeRule, int argb, Op op, int from, int to) {
+            this.clip = clip;
+            this.compositeRule = compositeRule;
+            this.argb = argb;
+            this.op = op;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new TileTask(clip, compositeRule, argb, op, from, mid),
+                          new TileTask(clip, compositeRule, argb, op, mid, to));
+                return;
+            }
+            final Rectangle r = new Rectangle(tiles[from]);
+            r.intersectWith(clip);
+            if (r.isEmpty()) {
+                return;
+            }
+            final PiscesRenderer pr = renderers[from];
+            pr.setClip(r.x, r.y, r.width, r.height);
+            pr.setCompositeRule(compositeRule);
+            pr.setColor((argb >> 16) & 0xff, (argb >> 8) & 0xff, argb & 0xff, (argb >>> 24));
+            op.render(pr);
+        }
+    }
+}
@@ -152,6 +152,40 @@ public final class Platform {
         PlatformImpl.runLater(runnable);
     }
 
+    /**
+     * Run the specified Runnable on the JavaFX Application Thread at some
+     * unspecified time in the future, unless another Runnable is posted with
+     * an equal key before this one has run. In that case, the earlier
+     * Runnable is discarded and only the latest one is executed, at the
+     * position of the earlier one in the event queue.
+     * This lets an application that updates some state faster than it can
+     * be shown, for example from a market data feed, post every update
+     * without flooding the JavaFX Application Thread.
+     * Runnables posted with different keys, and those posted with
+     * {@link #runLater(Runnable)}, are not affected.
+     * This method may be called from any thread. If it is called after the
+     * JavaFX runtime has been shutdown, the call will be ignored.
+     *
+     * <p>
+     * This method must not be called before the FX runtime has been
+     * initialized, see {@link #runLater(Runnable)}.
+     * </p>
+     *
+     * @param key the Object that identifies the state the Runnable updates,
+     * which must not be null; keys are compared with {@code equals}
+     * @param runnable the Runnable whose run method will be executed on the
+     * JavaFX Application Thread
+     *
+     * @throws NullPointerException if the key is null
+     *
+     * @throws IllegalStateException if the FX runtime has not been initialized
+     *
+     * @since 15
+     */
+    public static void runLaterCoalesced(Object key, Runnable runnable) {
+        PlatformImpl.runLaterCoalesced(key, runnable);
+    }
+
     // NOTE: Add the following if we decide to expose it publicly
 //    public static void runAndWait(Runnable runnable) {
 //        PlatformImpl.runAndWait(runnable);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,11 +28,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -86,30 +90,43 @@ final class CssStyleHelper {
      * Creates a new StyleHelper.
      */
     static CssStyleHelper createStyleHelper(final Node node) {
+        return createStyleHelper(node, null);
+    }
 
-        // need to know how far we are to root in order to init arrays.
-        // TODO: should we hang onto depth to avoid this nonsense later?
-        // TODO: is there some other way of knowing how far from the root a node is?
-        Styleable parent = node;
-        int depth = 0;
-        while(parent != null) {
-            depth++;
-            parent = parent.getStyleableParent();
-        }
+    /**
+     * Creates the style helper for the node, using the styles that were
+     * matched ahead of time if matchedStyles holds them for the node.
+     */
+    static CssStyleHelper createStyleHelper(final Node node, final MatchedStyles matchedStyles) {
 
-        // The List<CacheEntry> should only contain entries for those
-        // pseudo-class states that have styles. The StyleHelper's
-        // pseudoclassStateMask is a bitmask of those pseudoclasses that
-        // appear in the node's StyleHelper's smap. This list of
-        // pseudo-class masks is held by the StyleCacheKey. When a node is
-        // styled, its pseudoclasses and the pseudoclasses of its parents
-        // are gotten. By comparing the actual pseudo-class state to the
-        // pseudo-class states that apply, a CacheEntry can be created or
-        // fetched using only those pseudoclasses that matter.
-        final PseudoClassState[] triggerStates = new PseudoClassState[depth];
+        final MatchedStyles.Match match = matchedStyles != null ? matchedStyles.get(node) : null;
 
-        final StyleMap styleMap =
-                StyleManager.getInstance().findMatchingStyles(node, node.getSubScene(), triggerStates);
+        final int depth;
+        final PseudoClassState[] triggerStates;
+        final StyleMap styleMap;
+
+        if (match != null) {
+            depth = match.triggerStates.length;
+            triggerStates = match.triggerStates;
+            styleMap = match.styleMap;
+
+        } else {
+            // need to know how far we are to root in order to init arrays.
+            depth = getDepth(node);
+
+            // The List<CacheEntry> should only contain entries for those
+            // pseudo-class states that have styles. The StyleHelper's
+            // pseudoclassStateMask is a bitmask of those pseudoclasses that
+            // appear in the node's StyleHelper's smap. This list of
+            // pseudo-class masks is held by the StyleCacheKey. When a node is
+            // styled, its pseudoclasses and the pseudoclasses of its parents
+            // are gotten. By comparing the actual pseudo-class state to the
+            // pseudo-class states that apply, a CacheEntry can be created or
+            // fetched using only those pseudoclasses that matter.
+            triggerStates = new PseudoClassState[depth];
+
+            styleMap = StyleManager.getInstance().findMatchingStyles(node, node.getSubScene(), triggerStates);
+        }
 
         //
         // reuse the existing styleHelper if possible.
@@ -186,6 +203,191 @@ final class CssStyleHelper {
         return helper;
     }
 
+    // TODO: should we hang onto depth to avoid this nonsense later?
+    // TODO: is there some other way of knowing how far from the root a node is?
+    private static int getDepth(Styleable styleable) {
+        Styleable parent = styleable;
+        int depth = 0;
+        while(parent != null) {
+            depth++;
+            parent = parent.getStyleableParent();
+        }
+        return depth;
+    }
+
+    // A branch needs at least this many nodes to be matched on the cssExecutor
+    private static final int MIN_NODES_TO_MATCH_CONCURRENTLY = 256;
+
+    // Each task matches at least this many nodes
+    private static final int MIN_NODES_PER_TASK = 64;
+
+    /**
+     * Matches the styles of the nodes of the branch rooted at the given node
+     * on the cssExecutor of its Scene. Returns null if the Scene has no
+     * cssExecutor, if the branch is too small for this to pay off, or if the
+     * cssExecutor did not run all of the tasks. The caller then matches the
+     * styles of each node as it creates its style helper.
+     * <p>
+     * The nodes are visited in the same order as Node.reapplyCss visits them,
+     * which does not call this for a node whose children it might skip, and
+     * each task is handed a contiguous run of that order, that is a set of
+     * disjoint branches. Matching only reads the scene graph, which does not
+     * change since the calling thread waits until all of the tasks are done.
+     * Creating the style helpers from the matched styles has to be done top
+     * down on the calling thread, since a style helper depends on the style
+     * helpers of the node's parents.
+     * <p>
+     * The style, id and style classes that matching reads are read once on
+     * the calling thread before the tasks are run, so that a binding that one
+     * of them is bound to is evaluated on the calling thread, and the tasks
+     * only read values that are already valid.
+     */
+    static MatchedStyles matchStyles(final Node node) {
+
+        final Scene scene = node.getScene();
+        final Executor executor = scene != null ? scene.getCssExecutor() : null;
+        if (executor == null) return null;
+
+        final List<Node> nodes = new ArrayList<>();
+        addBranch(node, nodes);
+
+        final int nNodes = nodes.size();
+        if (nNodes < MIN_NODES_TO_MATCH_CONCURRENTLY) return null;
+
+        // Bound values are evaluated here rather than by the tasks. The ancestors
+        // are included since their ids, style classes and styles are matched too.
+        scene.getUserAgentStylesheet();
+        for (Node parent = node.getParent(); parent != null; parent = parent.getParent()) {
+            validateSelectorState(parent);
+        }
+        for (int n = 0; n < nNodes; n++) {
+            validateSelectorState(nodes.get(n));
+        }
+
+        final int nTasks = Math.min(nNodes / MIN_NODES_PER_TASK,
+                4 * Runtime.getRuntime().availableProcessors());
+
+        final MatchedStyles.Match[] matches = new MatchedStyles.Match[nNodes];
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>(nTasks);
+        boolean rejected = false;
+
+        // the first run of nodes is matched on this thread
+        for (int t = 1; t < nTasks; t++) {
+            final int from = (int) ((long) nNodes * t / nTasks);
+            final int to = (int) ((long) nNodes * (t + 1) / nTasks);
+            try {
+                tasks.add(CompletableFuture.runAsync(() -> matchStyles(nodes, from, to, matches), executor));
+            } catch (RejectedExecutionException e) {
+                rejected = true;
+                break;
+            }
+        }
+
+        // The tasks must be done before the scene graph can change again,
+        // even if some of them failed.
+        boolean failed = rejected;
+        try {
+            if (rejected == false) {
+                matchStyles(nodes, 0, nNodes / nTasks, matches);
+            }
+        } finally {
+            for (int t = 0, tMax = tasks.size(); t < tMax; t++) {
+                try {
+                    tasks.get(t).join();
+                } catch (RuntimeException e) {
+                    failed = true;
+                }
+            }
+            StyleManager.getInstance().reportSharedCacheCounters();
+        }
+
+        // Matching failed, so it is left to createStyleHelper, which will
+        // report the failure as it would without a cssExecutor.
+        if (failed) return null;
+
+        return new MatchedStyles(scene, nodes, matches);
+    }
+
+    private static void matchStyles(List<Node> nodes, int from, int to, MatchedStyles.Match[] matches) {
+        final StyleManager styleManager = StyleManager.getInstance();
+        for (int n = from; n < to; n++) {
+            final Node node = nodes.get(n);
+            final PseudoClassState[] triggerStates = new PseudoClassState[getDepth(node)];
+            final StyleMap styleMap = styleManager.findMatchingStyles(node, node.getSubScene(), triggerStates);
+            matches[n] = new MatchedStyles.Match(styleMap, triggerStates);
+        }
+    }
+
+    // Reads the properties that matching reads and an application may bind,
+    // which validates them and evaluates the bindings on this thread
+    private static void validateSelectorState(Node node) {
+        node.getStyle();
+        node.getId();
+        node.getStyleClass();
+        if (node instanceof SubScene) {
+            ((SubScene) node).getUserAgentStylesheet();
+        }
+    }
+
+    // Adds the node and its descendants in the order in which Node.reapplyCss visits them
+    private static void addBranch(Node node, List<Node> nodes) {
+        nodes.add(node);
+        if (node instanceof Parent) {
+            final List<Node> children = ((Parent) node).getChildren();
+            for (int n = 0, nMax = children.size(); n < nMax; n++) {
+                addBranch(children.get(n), nodes);
+            }
+        } else if (node instanceof SubScene) {
+            final Node subSceneRoot = ((SubScene) node).getRoot();
+            if (subSceneRoot != null) {
+                addBranch(subSceneRoot, nodes);
+            }
+        }
+    }
+
+    /**
+     * The styles that {@link #matchStyles(Node)} matched for the nodes of a
+     * branch. The styles of a node are only valid as long as the scene graph
+     * has not changed in a way that causes CSS to be reapplied to some node of
+     * the Scene, which is tracked by Scene.cssReapplyCount.
+     */
+    static final class MatchedStyles {
+
+        static final class Match {
+            final StyleMap styleMap;
+            final PseudoClassState[] triggerStates;
+
+            Match(StyleMap styleMap, PseudoClassState[] triggerStates) {
+                this.styleMap = styleMap;
+                this.triggerStates = triggerStates;
+            }
+        }
+
+        private final Scene scene;
+        private final int cssReapplyCount;
+        private final Map<Node, Match> matches;
+
+        private MatchedStyles(Scene scene, List<Node> nodes, Match[] matches) {
+            this.scene = scene;
+            this.cssReapplyCount = scene.cssReapplyCount;
+            this.matches = new IdentityHashMap<>(nodes.size());
+            for (int n = 0, nMax = nodes.size(); n < nMax; n++) {
+                this.matches.put(nodes.get(n), matches[n]);
+            }
+        }
+
+        /**
+         * Gets the styles matched for the node, or null if there are none or
+         * if they are no longer valid. The styles of a node are used at most once.
+         */
+        Match get(Node node) {
+            if (cssReapplyCount != scene.cssReapplyCount || node.getScene() != scene) {
+                return null;
+            }
+            return matches.remove(node);
+        }
+    }
+
     private static void updateParentTriggerStates(Styleable styleable, int depth, PseudoClassState[] triggerStates) {
         // make sure parent's transition states include the pseudo-classes
         // found when matching selectors
@@ -323,8 +525,8 @@ final class CssStyleHelper {
 
         if (parentHelper != null && parentHelper.cacheContainer != null) {
 
-            int[] parentIds = parentHelper.cacheContainer.styleCacheKey.getStyleMapIds();
-            int[] nodeIds = node.styleHelper.cacheContainer.styleCacheKey.getStyleMapIds();
+            long[] parentIds = parentHelper.cacheContainer.styleCacheKey.getStyleMapIds();
+            long[] nodeIds = node.styleHelper.cacheContainer.styleCacheKey.getStyleMapIds();
 
             if (parentIds.length == nodeIds.length - 1) {
 
@@ -361,7 +563,7 @@ final class CssStyleHelper {
                 int depth) {
 
             int ctr = 0;
-            int[] smapIds = new int[depth];
+            long[] smapIds = new long[depth];
             smapIds[ctr++] = this.smapId = styleMap.getId();
 
             //
@@ -430,7 +632,7 @@ final class CssStyleHelper {
         private final CssMetaData<Styleable,Font> fontProp;
 
         // The id of StyleMap that contains the styles that apply to this node
-        private final int smapId;
+        private final long smapId;
 
         // All nodes with the same set of styles share the same cache of
         // calculated values. But one node might have a different font-size
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -105,7 +105,6 @@ import java.security.AccessControlContext;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -870,7 +869,7 @@ public abstract class Node implements EventTarget, Styleable {
       */
      public final ObservableMap<Object, Object> getProperties() {
         if (properties == null) {
-            properties = FXCollections.observableMap(new HashMap<Object, Object>());
+            properties = FXCollections.observableHashMap();
         }
         return properties;
     }
@@ -8899,21 +8898,27 @@ public abstract class Node implements EventTarget, Styleable {
      */
     @Override
     public String getTypeSelector() {
+        return TYPE_SELECTORS.get(getClass());
+    }
 
-        final Class<?> clazz = getClass();
-        final Package pkg = clazz.getPackage();
+    // The type selector is queried for every node and its ancestors when
+    // selectors are matched, so it is only computed once for each class.
+    private static final ClassValue<String> TYPE_SELECTORS = new ClassValue<String>() {
+        @Override protected String computeValue(Class<?> clazz) {
+            final Package pkg = clazz.getPackage();
 
-        // package could be null. not likely, but could be.
-        int plen = 0;
-        if (pkg != null) {
-            plen = pkg.getName().length();
-        }
+            // package could be null. not likely, but could be.
+            int plen = 0;
+            if (pkg != null) {
+                plen = pkg.getName().length();
+            }
 
-        final int clen = clazz.getName().length();
-        final int pos = (0 < plen && plen < clen) ? plen + 1 : 0;
+            final int clen = clazz.getName().length();
+            final int pos = (0 < plen && plen < clen) ? plen + 1 : 0;
 
-        return clazz.getName().substring(pos);
-    }
+            return clazz.getName().substring(pos);
+        }
+    };
 
     /**
      * {@inheritDoc}
@@ -9411,7 +9416,10 @@ public abstract class Node implements EventTarget, Styleable {
 
     final void reapplyCSS() {
 
-        if (getScene() == null) return;
+        final Scene scene = getScene();
+        if (scene == null) return;
+
+        scene.cssReapplyCount += 1;
 
         if (cssFlag == CssFlags.REAPPLY) return;
 
@@ -9458,6 +9466,21 @@ public abstract class Node implements EventTarget, Styleable {
     // over other CSS states.
     //
     private void reapplyCss() {
+        // The styles of a large branch may be matched on the Scene's cssExecutor.
+        // If the children might be skipped, which is only known once the style
+        // helper of this node is created, they are matched when they are visited.
+        final boolean matchChildren = mightSkipChildrenOnReapply();
+        reapplyCss(matchChildren ? null : CssStyleHelper.matchStyles(this), matchChildren);
+    }
+
+    // Whether reapplyCss might not visit the children of this node, in which
+    // case it depends on whether the style helper of this node changes
+    private boolean mightSkipChildrenOnReapply() {
+        return this instanceof Parent && styleHelper != null &&
+               getParent() != null && getParent().cssFlag == CssFlags.CLEAN;
+    }
+
+    private void reapplyCss(CssStyleHelper.MatchedStyles matchedStyles, boolean matchChildren) {
 
         // Hang on to current styleHelper so we can know whether
         // createStyleHelper returned the same styleHelper
@@ -9466,7 +9489,7 @@ public abstract class Node implements EventTarget, Styleable {
         // CSS state is "REAPPLY"
         cssFlag = CssFlags.REAPPLY;
 
-        styleHelper = CssStyleHelper.createStyleHelper(this);
+        styleHelper = CssStyleHelper.createStyleHelper(this, matchedStyles);
 
         // REAPPLY to my children, too.
         if (this instanceof Parent) {
@@ -9495,7 +9518,11 @@ public abstract class Node implements EventTarget, Styleable {
                 List<Node> children = ((Parent) this).getChildren();
                 for (int n = 0, nMax = children.size(); n < nMax; n++) {
                     Node child = children.get(n);
-                    child.reapplyCss();
+                    if (matchChildren) {
+                        child.reapplyCss();
+                    } else {
+                        child.reapplyCss(matchedStyles, false);
+                    }
                 }
             }
 
@@ -9504,7 +9531,7 @@ public abstract class Node implements EventTarget, Styleable {
             // SubScene root is a Parent, but reapplyCss is a private method in Node
             final Node subSceneRoot = ((SubScene)this).getRoot();
             if (subSceneRoot != null) {
-                subSceneRoot.reapplyCss();
+                subSceneRoot.reapplyCss(matchedStyles, false);
             }
 
         } else if (styleHelper == null) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -88,6 +88,7 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 import com.sun.javafx.logging.PulseLogger;
 
@@ -1697,6 +1698,63 @@ public class Scene implements EventTarget {
         userAgentStylesheetProperty().set(url);
     }
 
+    /**
+     * The {@code Executor} used to match the selectors of the stylesheets
+     * that apply to this {@code Scene} against its nodes. When CSS is
+     * reapplied to a large branch of the scene graph, for example when a
+     * {@code Parent} with many descendants is added to the scene, the matching
+     * is split across tasks that are run by this executor while the JavaFX
+     * Application Thread waits for them to complete. The matched styles are
+     * still calculated and applied to the nodes on the JavaFX Application
+     * Thread. If the executor is {@code null}, which is the default, or if it
+     * rejects a task, the matching is done on the JavaFX Application Thread.
+     * <p>
+     * The executor must not run the tasks on the JavaFX Application Thread,
+     * unless it runs them immediately on the thread that submits them.
+     * </p>
+     * <p>
+     * Matching calls methods that applications may override on the threads
+     * of the executor, such as {@link javafx.scene.layout.Region#getUserAgentStylesheet()},
+     * {@link Node#getTypeSelector()} and {@link Node#getStyleableParent()},
+     * and it may load the stylesheets that these methods return. When an
+     * executor is set, these methods must be thread-safe, and must not
+     * modify the scene graph.
+     * </p>
+     * <p>
+     * The style, id and style classes of the nodes, and the user agent
+     * stylesheets of the {@code Scene} and its {@code SubScene}s, are read on
+     * the JavaFX Application Thread before the tasks are run, so a binding
+     * that one of these properties is bound to is evaluated on that thread,
+     * not on the threads of the executor.
+     * </p>
+     *
+     * @defaultValue null
+     * @since 15
+     */
+    private ObjectProperty<Executor> cssExecutor;
+
+    public final void setCssExecutor(Executor value) {
+        cssExecutorProperty().set(value);
+    }
+
+    public final Executor getCssExecutor() {
+        return cssExecutor == null ? null : cssExecutor.get();
+    }
+
+    public final ObjectProperty<Executor> cssExecutorProperty() {
+        if (cssExecutor == null) {
+            cssExecutor = new SimpleObjectProperty<>(this, "cssExecutor");
+        }
+        return cssExecutor;
+    }
+
+    /*
+     * Counts the calls to Node.reapplyCSS() for the nodes of this scene. Styles
+     * matched ahead of time by CssStyleHelper.matchStyles are discarded if the
+     * count changes before they are used.
+     */
+    int cssReapplyCount;
+
     /**
      * Retrieves the depth buffer attribute for this scene.
      * @return the depth buffer attribute.
@@ -6179,7 +6237,7 @@ public class Scene implements EventTarget {
       */
      public final ObservableMap<Object, Object> getProperties() {
         if (properties == null) {
-            properties = FXCollections.observableMap(new HashMap<Object, Object>());
+            properties = FXCollections.observableHashMap();
         }
         return properties;
     }
@@ -161,6 +161,10 @@ public class StyleManagerShim {
         return sm.findMatchingStyles(node, subScene, triggerStates);
     }
 
+    public SharedStyleCache<?,?> get_sharedCaches() {
+        return StyleManager.sharedCaches;
+    }
+
     public boolean stylesheetContainerMap_containsKey(String k) {
         return sm.stylesheetContainerMap.containsKey(k);
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -30,6 +30,7 @@ import com.sun.javafx.geom.DirtyRegionPool;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.prism.Graphics;
 
 public class NGGroupShim extends NGGroup {
 
@@ -55,4 +56,8 @@ public class NGGroupShim extends NGGroup {
                 dirtyRegionContainer, tx, pvTx);
     }
 
+    public boolean renderDisplayList(Graphics g) {
+        return super.renderDisplayList(g, getChildren());
+    }
+
 }
@@ -29,6 +29,7 @@ import com.sun.javafx.geom.DirtyRegionPool;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.prism.Graphics;
 
 public abstract class NGNodeShim extends NGNode {
 
@@ -89,4 +90,8 @@ public abstract class NGNodeShim extends NGNode {
         return node.hasOpaqueRegion();
     }
 
+    public static void renderContent(NGNode node, Graphics g) {
+        node.renderContent(g);
+    }
+
 }
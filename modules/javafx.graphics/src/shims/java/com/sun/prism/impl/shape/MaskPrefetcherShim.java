@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.prism.impl.shape;
+
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.BasicStroke;
+import java.util.concurrent.TimeUnit;
+
+public class MaskPrefetcherShim {
+
+    private final ShapeRasterizer rasterizer = new MarlinRasterizer();
+    private final MaskPrefetcher prefetcher = new MaskPrefetcher(rasterizer, 1);
+
+    public void prefetch(Shape shape, BasicStroke stroke, RectBounds xformBounds,
+                         BaseTransform xform, boolean close, boolean antialiasedShape)
+    {
+        prefetcher.prefetch(shape, stroke, xformBounds, xform, close, antialiasedShape);
+    }
+
+    public MaskData take(Shape shape, BasicStroke stroke, RectBounds xformBounds,
+                         BaseTransform xform, boolean close, boolean antialiasedShape)
+    {
+        return prefetcher.take(shape, stroke, xformBounds, xform, close, antialiasedShape);
+    }
+
+    public void discard(Shape shape) {
+        prefetcher.discard(shape);
+    }
+
+    public boolean awaitQuiescence(long timeout, TimeUnit unit) {
+        return prefetcher.awaitQuiescence(timeout, unit);
+    }
+
+    public MaskData rasterize(Shape shape, BasicStroke stroke, RectBounds xformBounds,
+                              BaseTransform xform, boolean close, boolean antialiasedShape)
+    {
+        return rasterizer.getMaskData(shape, stroke, xformBounds, xform, close, antialiasedShape);
+    }
+}
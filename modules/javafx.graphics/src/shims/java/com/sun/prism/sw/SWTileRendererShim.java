@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.prism.RTTexture;
+
+public class SWTileRendererShim {
+
+    public interface Op {
+        void render(PiscesRenderer pr);
+    }
+
+    private final SWTileRenderer renderer;
+
+    public SWTileRendererShim(int data[], int width, int height, int tileCount) {
+        renderer = new SWTileRenderer(data, width, height, tileCount);
+    }
+
+    public boolean shouldTile(Rectangle clip, int x, int y, int w, int h) {
+        return renderer.shouldTile(clip, x, y, w, h);
+    }
+
+    public void render(Rectangle clip, int compositeRule, int argb, Op op) {
+        renderer.render(clip, compositeRule, argb, op::render);
+    }
+
+    /**
+     * Creates a render target whose primitives are split into tileCount
+     * tiles, whatever prism.sw.tiles is set to. A tileCount of 1 disables
+     * tiling.
+     */
+    public static RTTexture createRenderTarget(int width, int height, int tileCount) {
+        return new SWRTTexture(new SWResourceFactory(null), width, height) {
+            private SWTileRenderer tileRenderer;
+
+            @Override
+            SWTileRenderer getTileRenderer() {
+                if (tileRenderer == null && tileCount > 1) {
+                    tileRenderer = new SWTileRenderer(getDataNoClone(), width, height, tileCount);
+                }
+                return tileRenderer;
+            }
+        };
+    }
+
+    public static int[] getPixels(RTTexture renderTarget) {
+        return ((SWRTTexture) renderTarget).getDataNoClone();
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.application;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import com.sun.javafx.application.RunLaterQueueShim;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RunLaterQueueTest {
+
+    // longer than a slice of the queue
+    private static final long SLOW_MILLIS = 10;
+
+    private Queue<Runnable> events;
+    private boolean accepting;
+    private RunLaterQueueShim queue;
+    private List<String> log;
+
+    @Before
+    public void setUp() {
+        events = new ArrayDeque<>();
+        accepting = true;
+        queue = new RunLaterQueueShim(r -> accepting && events.add(r));
+        log = new ArrayList<>();
+    }
+
+    // handles the native events, as the event loop of the FX Application Thread
+    private void runEvents() {
+        Runnable event;
+        while ((event = events.poll()) != null) {
+            event.run();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(SLOW_MILLIS);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void testRunnablesShareOneEvent() {
+        assertTrue(queue.add(() -> log.add("a")));
+        assertTrue(queue.add(() -> log.add("b")));
+        assertTrue(queue.add(() -> log.add("c")));
+        assertEquals(1, events.size());
+
+        runEvents();
+        assertEquals(List.of("a", "b", "c"), log);
+    }
+
+    @Test
+    public void testEventsPostedDuringSliceRunBeforeNextSlice() {
+        queue.add(() -> {
+            log.add("a");
+            events.add(() -> log.add("input"));
+            sleep();
+        });
+        queue.add(() -> log.add("b"));
+
+        runEvents();
+        assertEquals(List.of("a", "input", "b"), log);
+    }
+
+    @Test
+    public void testQueueIsDrainedFromNestedEventLoop() {
+        queue.add(() -> {
+            log.add("enter");
+            // a nested event loop that exits once b was run
+            for (int i = 0; i < 100 && !log.contains("b"); i++) {
+                final Runnable event = events.poll();
+                if (event != null) {
+                    event.run();
+                }
+            }
+            log.add("exit");
+        });
+        queue.add(() -> log.add("b"));
+
+        runEvents();
+        assertEquals(List.of("enter", "b", "exit"), log);
+    }
+
+    @Test
+    public void testRunnableAddedDuringSliceIsRun() {
+        queue.add(() -> {
+            log.add("a");
+            queue.add(() -> log.add("b"));
+        });
+
+        runEvents();
+        assertEquals(List.of("a", "b"), log);
+    }
+
+    @Test
+    public void testSliceAfterFailingRunnableIsPosted() {
+        queue.add(() -> {
+            throw new IllegalStateException();
+        });
+        queue.add(() -> log.add("b"));
+        try {
+            events.poll().run();
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        runEvents();
+        assertEquals(List.of("b"), log);
+    }
+
+    @Test
+    public void testCoalescedRunnableIsReplaced() {
+        assertTrue(queue.addCoalesced("key", () -> log.add("a")));
+        assertFalse(queue.addCoalesced("key", () -> log.add("b")));
+        assertTrue(queue.addCoalesced("other", () -> log.add("c")));
+
+        runEvents();
+        assertEquals(List.of("b", "c"), log);
+
+        assertTrue(queue.addCoalesced("key", () -> log.add("d")));
+        runEvents();
+        assertEquals(List.of("b", "c", "d"), log);
+    }
+
+    @Test
+    public void testRejectedPost() {
+        accepting = false;
+        assertFalse(queue.add(() -> log.add("a")));
+
+        accepting = true;
+        assertTrue(queue.add(() -> log.add("b")));
+        runEvents();
+        assertEquals(List.of("a", "b"), log);
+    }
+}
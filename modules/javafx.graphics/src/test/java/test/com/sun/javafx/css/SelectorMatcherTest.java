@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.SelectorMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javafx.css.CssParser;
+import javafx.css.PseudoClass;
+import javafx.css.Rule;
+import javafx.css.Selector;
+import javafx.css.Stylesheet;
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SelectorMatcherTest {
+
+    private Group root;
+    private Group middle;
+    private Rectangle leaf;
+
+    @Before
+    public void setUp() {
+        leaf = new Rectangle();
+        leaf.getStyleClass().add("leaf");
+
+        middle = new Group(leaf);
+        middle.getStyleClass().add("middle");
+        middle.setId("center");
+
+        root = new Group(middle);
+        root.getStyleClass().addAll("root", "outer");
+    }
+
+    private static List<Selector> parseSelectors(String stylesheetText) {
+        final Stylesheet stylesheet = new CssParser().parse(stylesheetText);
+        final List<Selector> selectors = new ArrayList<>();
+        for (Rule rule : stylesheet.getRules()) {
+            selectors.addAll(rule.getSelectors());
+        }
+        return selectors;
+    }
+
+    private static void assertMatches(List<Selector> selectors, Rectangle node, boolean... expected) {
+        final long[] matches = new long[selectors.size() / Long.SIZE + 1];
+        final boolean matched = new SelectorMatcher(selectors).match(node, null, matches);
+
+        boolean anyExpected = false;
+        for (int s = 0; s < expected.length; s++) {
+            final boolean isSet = (matches[s / Long.SIZE] & (1l << s)) != 0;
+            assertEquals(selectors.get(s).toString(), expected[s], isSet);
+            assertEquals(selectors.get(s).toString(), selectors.get(s).applies(node), isSet);
+            anyExpected |= expected[s];
+        }
+        assertEquals(anyExpected, matched);
+    }
+
+    @Test
+    public void testSimpleSelectors() {
+        final List<Selector> selectors = parseSelectors(
+                ".leaf { -fx-fill: red; }" +
+                "Rectangle.leaf { -fx-fill: red; }" +
+                ".leaf.other { -fx-fill: red; }" +
+                "Rectangle:dir(rtl) { -fx-fill: red; }");
+        assertMatches(selectors, leaf, true, true, false, false);
+    }
+
+    @Test
+    public void testDescendantSelectors() {
+        final List<Selector> selectors = parseSelectors(
+                ".root .leaf { -fx-fill: red; }" +
+                ".outer.root .leaf { -fx-fill: red; }" +
+                "Group .leaf { -fx-fill: red; }" +
+                "#center .leaf { -fx-fill: red; }" +
+                ".root .middle .leaf { -fx-fill: red; }" +
+                ".nowhere .leaf { -fx-fill: red; }" +
+                "#elsewhere .leaf { -fx-fill: red; }" +
+                "Rectangle .leaf { -fx-fill: red; }" +
+                ".middle .root .leaf { -fx-fill: red; }");
+        assertMatches(selectors, leaf, true, true, true, true, true, false, false, false, false);
+    }
+
+    @Test
+    public void testChildSelectors() {
+        final List<Selector> selectors = parseSelectors(
+                ".middle > .leaf { -fx-fill: red; }" +
+                ".root > .leaf { -fx-fill: red; }" +
+                ".root > .middle > .leaf { -fx-fill: red; }" +
+                ".root > #center .leaf { -fx-fill: red; }");
+        assertMatches(selectors, leaf, true, false, true, true);
+    }
+
+    @Test
+    public void testAncestorWithSeveralStyleClassesRequired() {
+        // each class is present on some ancestor, but no single ancestor has both
+        final List<Selector> selectors = parseSelectors(".root.middle .leaf { -fx-fill: red; }");
+        assertMatches(selectors, leaf, false);
+    }
+
+    @Test
+    public void testMatchAfterAncestorChanges() {
+        final List<Selector> selectors = parseSelectors(".nowhere .leaf { -fx-fill: red; }");
+        final SelectorMatcher matcher = new SelectorMatcher(selectors);
+
+        long[] matches = new long[1];
+        assertFalse(matcher.match(leaf, null, matches));
+        assertEquals(0, matches[0]);
+
+        middle.getStyleClass().add("nowhere");
+        matches = new long[1];
+        assertTrue(matcher.match(leaf, null, matches));
+        assertEquals(1, matches[0]);
+    }
+
+    @Test
+    public void testTriggerStatesOfMatchingSelectors() {
+        final List<Selector> selectors = parseSelectors(
+                ".root:hover .leaf:pressed { -fx-fill: red; }" +
+                ".nowhere:focused .leaf { -fx-fill: red; }");
+        final Set<PseudoClass>[] triggerStates = new Set[3];
+        final long[] matches = new long[1];
+        assertTrue(new SelectorMatcher(selectors).match(leaf, triggerStates, matches));
+        assertEquals(1, matches[0]);
+
+        assertTrue(triggerStates[0].contains(PseudoClass.getPseudoClass("pressed")));
+        assertNull(triggerStates[1]);
+        assertTrue(triggerStates[2].contains(PseudoClass.getPseudoClass("hover")));
+        assertFalse(triggerStates[2].contains(PseudoClass.getPseudoClass("focused")));
+    }
+
+    @Test
+    public void testManySelectors() {
+        final StringBuilder text = new StringBuilder();
+        for (int n = 0; n < 100; n++) {
+            text.append(n % 2 == 0 ? ".root" : ".none" + n).append(" .leaf { -fx-fill: red; }");
+        }
+        final List<Selector> selectors = parseSelectors(text.toString());
+        final boolean[] expected = new boolean[100];
+        for (int n = 0; n < 100; n++) {
+            expected[n] = n % 2 == 0;
+        }
+        assertMatches(selectors, leaf, expected);
+    }
+}
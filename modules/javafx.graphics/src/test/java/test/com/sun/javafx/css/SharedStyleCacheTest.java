@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.SharedStyleCache;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SharedStyleCacheTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxSizeMustBePositive() {
+        new SharedStyleCache<String, String>(0);
+    }
+
+    @Test
+    public void testGetAndPut() {
+        final SharedStyleCache<String, String> cache = new SharedStyleCache<>(4);
+        assertNull(cache.get("a"));
+        cache.put("a", "A");
+        assertEquals("A", cache.get("a"));
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        final SharedStyleCache<String, String> cache = new SharedStyleCache<>(2);
+        cache.put("a", "A");
+        cache.put("b", "B");
+
+        // "a" becomes the most recently used entry, so "b" is evicted
+        assertEquals("A", cache.get("a"));
+        cache.put("c", "C");
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    public void testClear() {
+        final SharedStyleCache<String, String> cache = new SharedStyleCache<>(2);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void testRemoveIf() {
+        final SharedStyleCache<String, String> cache = new SharedStyleCache<>(4);
+        cache.put("a", "A");
+        cache.put("ab", "AB");
+        cache.put("b", "B");
+        cache.removeIf(key -> key.startsWith("a"));
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get("a"));
+        assertNull(cache.get("ab"));
+        assertEquals("B", cache.get("b"));
+    }
+}
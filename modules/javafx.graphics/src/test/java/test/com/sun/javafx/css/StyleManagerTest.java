@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -692,6 +692,71 @@ public class StyleManagerTest {
         assertEquals(Color.RED, obj);
     }
 
+    @Test
+    public void testFindMatchingStyles_sharedBetweenScenes() {
+
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        sm.setDefaultUserAgentStylesheet("/test/com/sun/javafx/css/ua0.css");
+
+        Rectangle rect1 = new Rectangle();
+        rect1.getStyleClass().add("rect");
+        Scene scene1 = new Scene(new Group(rect1));
+        StyleMap matchingStyles1 = sm.findMatchingStyles(rect1, null, null);
+
+        Rectangle rect2 = new Rectangle();
+        rect2.getStyleClass().add("rect");
+        Scene scene2 = new Scene(new Group(rect2));
+        StyleMap matchingStyles2 = sm.findMatchingStyles(rect2, null, null);
+
+        // the second Scene finds the Cache made for the first one
+        assertSame(matchingStyles1, matchingStyles2);
+    }
+
+    @Test
+    public void testSharedCaches_userAgentStylesheetChanged() {
+
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        sm.setDefaultUserAgentStylesheet("/test/com/sun/javafx/css/ua0.css");
+
+        Rectangle rect = new Rectangle();
+        rect.getStyleClass().add("rect");
+        Scene scene = new Scene(new Group(rect));
+        StyleMap matchingStyles = sm.findMatchingStyles(rect, null, null);
+        assertTrue(matchingStyles.getCascadingStyles().containsKey("-fx-fill"));
+        assertTrue(sm.get_sharedCaches().size() > 0);
+
+        // the Caches made from ua0.css must no longer be used
+        sm.setDefaultUserAgentStylesheet("/test/com/sun/javafx/css/ua1.css");
+
+        matchingStyles = sm.findMatchingStyles(rect, null, null);
+        assertFalse(matchingStyles.getCascadingStyles().containsKey("-fx-fill"));
+        assertTrue(matchingStyles.getCascadingStyles().containsKey("-fx-stroke"));
+    }
+
+    @Test
+    public void testSharedCaches_stylesheetRemoved() {
+
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        sm.setDefaultUserAgentStylesheet("/test/com/sun/javafx/css/ua0.css");
+
+        Rectangle rect = new Rectangle();
+        rect.getStyleClass().add("rect");
+        Group group = new Group(rect);
+        group.getStylesheets().add("/test/com/sun/javafx/css/ua2.css");
+        Scene scene = new Scene(new Group(group));
+        sm.findMatchingStyles(rect, null, null);
+
+        final int size = sm.get_sharedCaches().size();
+
+        // the Caches made from ua2.css must no longer be kept
+        group.getStylesheets().remove("/test/com/sun/javafx/css/ua2.css");
+        assertTrue(sm.get_sharedCaches().size() < size);
+
+        StyleMap matchingStyles = sm.findMatchingStyles(rect, null, null);
+        assertTrue(matchingStyles.getCascadingStyles().containsKey("-fx-fill"));
+        assertFalse(matchingStyles.getCascadingStyles().containsKey("-fx-stroke"));
+    }
+
     @Test
     public void testFindMatchingStyles_defaultStyleSheet_sceneUserAgentStylesheet() {
 
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.sg.prism.NGGroupShim;
+import com.sun.javafx.sg.prism.NGNodeShim;
+import com.sun.prism.Graphics;
+import com.sun.prism.RTTexture;
+import com.sun.prism.ReadbackGraphics;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DisplayListTest {
+    private NGGroupShim group;
+    private CountingNode child;
+    private CountingGraphics g;
+
+    @Before
+    public void setup() {
+        child = new CountingNode();
+        child.setContentBounds(new RectBounds(0, 0, 10, 10));
+        child.setTransformedBounds(new RectBounds(0, 0, 10, 10), false);
+        group = new NGGroupShim();
+        group.add(-1, child);
+        group.clearDirtyTree();
+        g = new CountingGraphics();
+    }
+
+    private void render() {
+        assertTrue(group.renderDisplayList(g));
+    }
+
+    @Test
+    public void testRecordedListIsReplayed() {
+        render();
+        assertEquals(1, child.renders);
+        assertEquals(1, g.fills);
+
+        render();
+        assertEquals(1, child.renders);
+        assertEquals(2, g.fills);
+    }
+
+    @Test
+    public void testReplayedAtWholePixelTranslation() {
+        render();
+        g.translate(3, -2);
+        render();
+        assertEquals(1, child.renders);
+        assertEquals(2, g.fills);
+    }
+
+    @Test
+    public void testNotReplayedAtFractionalTranslation() {
+        render();
+        g.translate(0.5f, 0);
+        render();
+        assertEquals(2, child.renders);
+
+        g.translate(0, 0.25f);
+        render();
+        assertEquals(3, child.renders);
+
+        // The list recorded at the last translation is replayed again
+        g.translate(1, 1);
+        render();
+        assertEquals(3, child.renders);
+        assertEquals(4, g.fills);
+    }
+
+    @Test
+    public void testNotReplayedAtDifferentScale() {
+        render();
+        g.scale(2, 2);
+        render();
+        assertEquals(2, child.renders);
+    }
+
+    @Test
+    public void testNotReplayedAtDifferentPixelScale() {
+        render();
+        g.setPixelScaleFactors(2, 2);
+        render();
+        assertEquals(2, child.renders);
+    }
+
+    @Test
+    public void testTranslatingChildInvalidatesList() {
+        render();
+        child.setTransformMatrix(BaseTransform.getTranslateInstance(5, 0));
+        group.clearDirtyTree();
+        render();
+        assertEquals(2, child.renders);
+    }
+
+    @Test
+    public void testChangingChildInvalidatesList() {
+        render();
+        child.setOpacity(0.5f);
+        group.clearDirtyTree();
+        render();
+        assertEquals(2, child.renders);
+
+        render();
+        assertEquals(2, child.renders);
+        assertEquals(3, g.fills);
+    }
+
+    @Test
+    public void testListIsNotRecordedWhileDirty() {
+        child.setOpacity(0.5f);
+        assertFalse(group.renderDisplayList(g));
+        assertEquals(0, child.renders);
+    }
+
+    static final class CountingNode extends NGNodeShim {
+        int renders;
+
+        @Override
+        protected void renderContent(Graphics g) {
+            renders++;
+            g.fillRect(0, 0, 10, 10);
+        }
+
+        @Override
+        protected boolean hasOverlappingContents() {
+            return false;
+        }
+    }
+
+    static final class CountingGraphics extends TestGraphics implements ReadbackGraphics {
+        int fills;
+
+        @Override
+        public void fillRect(float x, float y, float width, float height) {
+            fills++;
+        }
+
+        @Override
+        public boolean canReadBack() {
+            return false;
+        }
+
+        @Override
+        public RTTexture readBack(Rectangle view) {
+            return null;
+        }
+
+        @Override
+        public void releaseReadBackBuffer(RTTexture view) {
+        }
+    }
+}
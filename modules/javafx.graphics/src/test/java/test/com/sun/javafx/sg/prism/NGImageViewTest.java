@@ -25,10 +25,16 @@
 
 package test.com.sun.javafx.sg.prism;
 
+import java.lang.reflect.Proxy;
 import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.sg.prism.NGGroup;
 import com.sun.javafx.sg.prism.NGImageView;
+import com.sun.javafx.sg.prism.NGNode;
 import com.sun.javafx.sg.prism.NGNodeShim;
 import com.sun.prism.Image;
+import com.sun.prism.ResourceFactory;
+import com.sun.prism.Texture;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
@@ -52,6 +58,11 @@ public class NGImageViewTest extends NGTestBase {
         imageView.setViewport(0, 0, 0, 0, 16, 16);
     }
 
+    @After
+    public void tearDown() {
+        NGImageView.markDeferredViewsDirty();
+    }
+
     /**
      * ImageView always reports true for this
      */
@@ -100,4 +111,72 @@ public class NGImageViewTest extends NGTestBase {
         assertEquals(new RectBounds(10, 10, 26, 26),
             NGNodeShim.computeOpaqueRegion(imageView, new RectBounds()));
     }
+
+    /**
+     * An image whose texture upload was deferred while painting one dirty
+     * region must stay dirty, even if painting a later region of the same
+     * frame clears the dirty flags of the tree.
+     */
+    @Test
+    public void deferredUploadIsDrawnInNextFrame() {
+        NGGroup root = createGroup(imageView);
+        root.clearDirtyTree();
+        UploadGraphics g = new UploadGraphics();
+
+        // The first dirty region defers the upload of the image
+        NGNodeShim.renderContent(imageView, g);
+        assertEquals(0, g.draws);
+        // The render root path of the second one is empty
+        root.clearDirtyTree();
+
+        assertTrue(NGImageView.markDeferredViewsDirty());
+        assertEquals(NGNode.DirtyFlag.DIRTY, NGNodeShim.dirty(imageView));
+        assertTrue(NGNodeShim.childDirty(root));
+
+        // The next frame draws the image
+        root.clearDirtyTree();
+        g.texture = (Texture) Proxy.newProxyInstance(Texture.class.getClassLoader(),
+                new Class<?>[] { Texture.class }, (proxy, method, args) -> null);
+        NGNodeShim.renderContent(imageView, g);
+        assertEquals(1, g.draws);
+        assertFalse(NGImageView.markDeferredViewsDirty());
+        assertEquals(NGNode.DirtyFlag.CLEAN, NGNodeShim.dirty(imageView));
+    }
+
+    /**
+     * Graphics whose resource factory defers the upload of every image
+     * while its texture is null.
+     */
+    private static final class UploadGraphics extends TestGraphics {
+        private final ResourceFactory factory;
+        Texture texture;
+        int draws;
+
+        UploadGraphics() {
+            factory = new TestResourceFactory() {
+                @Override
+                public int getMaximumTextureSize() {
+                    return 4096;
+                }
+
+                @Override
+                public Texture getCachedTextureIfReady(Image image, Texture.WrapMode wrapMode) {
+                    return texture;
+                }
+            };
+        }
+
+        @Override
+        public ResourceFactory getResourceFactory() {
+            return factory;
+        }
+
+        @Override
+        public void drawTexture(Texture tex,
+                                float dx1, float dy1, float dx2, float dy2,
+                                float sx1, float sy1, float sx2, float sy2)
+        {
+            draws++;
+        }
+    }
 }
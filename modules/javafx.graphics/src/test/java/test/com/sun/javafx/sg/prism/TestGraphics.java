@@ -177,7 +177,7 @@ public class TestGraphics extends BaseGraphics {
         }
     }
 
-    private static class TestResourceFactory implements ResourceFactory {
+    static class TestResourceFactory implements ResourceFactory {
         @Override public boolean isDeviceReady() { return true; }
 
         @Override public TextureResourcePool getTextureResourcePool() { return null; }
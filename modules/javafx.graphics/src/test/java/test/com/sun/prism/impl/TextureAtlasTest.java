@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl;
+
+import java.nio.Buffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.sun.prism.Image;
+import com.sun.prism.MediaFrame;
+import com.sun.prism.Mesh;
+import com.sun.prism.MeshView;
+import com.sun.prism.PhongMaterial;
+import com.sun.prism.PixelFormat;
+import com.sun.prism.Presentable;
+import com.sun.prism.PresentableState;
+import com.sun.prism.RTTexture;
+import com.sun.prism.Texture;
+import com.sun.prism.Texture.Usage;
+import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.impl.BaseResourceFactory;
+import com.sun.prism.impl.BaseResourcePool;
+import com.sun.prism.impl.BaseTexture;
+import com.sun.prism.impl.ManagedResource;
+import com.sun.prism.impl.TextureAtlasShim;
+import com.sun.prism.impl.TextureResourcePool;
+import com.sun.prism.shape.ShapeRep;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TextureAtlasTest {
+
+    private static final int PAGE_SIZE = 256;
+
+    private static Image createImage(int w, int h) {
+        return Image.fromIntArgbPreData(new int[w * h], w, h);
+    }
+
+    @Test
+    public void testImagesArePackedIntoOnePage() {
+        final TestResourceFactory factory = new TestResourceFactory(true);
+        final TextureAtlasShim atlas = new TextureAtlasShim(factory, new HashMap<>());
+
+        final List<Texture> textures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Image image = createImage(16, 8 + i);
+            assertTrue(atlas.isAtlasCandidate(image));
+            final Texture tex = atlas.allocate(image);
+            assertNotNull(tex);
+            assertEquals(16, tex.getContentWidth());
+            assertEquals(8 + i, tex.getContentHeight());
+            assertEquals(WrapMode.CLAMP_TO_EDGE, tex.getWrapMode());
+            assertTrue(tex.isLocked());
+            textures.add(tex);
+        }
+        assertEquals(1, factory.pages.size());
+        final TestTexture page = factory.pages.get(0);
+        // each image is uploaded with its padding in 9 parts
+        assertEquals(9 * textures.size(), page.updates);
+
+        for (int i = 0; i < textures.size(); i++) {
+            final Texture a = textures.get(i);
+            // the padded area lies within the page
+            assertTrue(a.getContentX() >= 1 && a.getContentY() >= 1);
+            assertTrue(a.getContentX() + a.getContentWidth() < PAGE_SIZE);
+            assertTrue(a.getContentY() + a.getContentHeight() < PAGE_SIZE);
+            for (int j = i + 1; j < textures.size(); j++) {
+                final Texture b = textures.get(j);
+                final boolean disjoint =
+                        a.getContentX() + a.getContentWidth() + 1 < b.getContentX() ||
+                        b.getContentX() + b.getContentWidth() + 1 < a.getContentX() ||
+                        a.getContentY() + a.getContentHeight() + 1 < b.getContentY() ||
+                        b.getContentY() + b.getContentHeight() + 1 < a.getContentY();
+                assertTrue("padded areas overlap", disjoint);
+            }
+        }
+    }
+
+    @Test
+    public void testLargeImageIsNotCandidate() {
+        final TestResourceFactory factory = new TestResourceFactory(true);
+        final TextureAtlasShim atlas = new TextureAtlasShim(factory, new HashMap<>());
+        assertTrue(atlas.isAtlasCandidate(createImage(PAGE_SIZE / 16, 1)));
+        assertFalse(atlas.isAtlasCandidate(createImage(PAGE_SIZE / 16 + 1, 1)));
+        assertFalse(atlas.isAtlasCandidate(createImage(1, PAGE_SIZE / 16 + 1)));
+    }
+
+    @Test
+    public void testViewsOfOnePageHaveSameBinding() {
+        final TestResourceFactory factory = new TestResourceFactory(true);
+        final TextureAtlasShim atlas = new TextureAtlasShim(factory, new HashMap<>());
+        final BaseTexture a = (BaseTexture) atlas.allocate(createImage(8, 8));
+        final BaseTexture b = (BaseTexture) atlas.allocate(createImage(4, 4));
+
+        assertTrue(a.isSameBinding(a));
+        assertTrue(a.isSameBinding(b));
+        assertTrue(b.isSameBinding(a));
+
+        b.setLinearFiltering(false);
+        assertFalse(a.isSameBinding(b));
+        b.setLinearFiltering(true);
+
+        final Texture other = factory.createTexture(PixelFormat.INT_ARGB_PRE,
+                Usage.DEFAULT, WrapMode.CLAMP_TO_EDGE, 8, 8);
+        assertFalse(a.isSameBinding(other));
+        assertFalse(a.isSameBinding(null));
+    }
+
+    @Test
+    public void testUnsupportedPipelineKeepsNoPage() {
+        final TestResourceFactory factory = new TestResourceFactory(false);
+        final TextureAtlasShim atlas = new TextureAtlasShim(factory, new HashMap<>());
+        final Image image = createImage(8, 8);
+
+        assertNull(atlas.allocate(image));
+        assertFalse(atlas.isAtlasCandidate(image));
+        assertEquals(1, factory.pages.size());
+        final TestTexture page = factory.pages.get(0);
+        assertTrue(page.isSurfaceLost());
+        assertEquals(0, factory.pool.managed());
+    }
+
+    private static final class TestPool extends BaseResourcePool<Object>
+            implements TextureResourcePool<Object> {
+        TestPool() {
+            super(Long.MAX_VALUE / 2, Long.MAX_VALUE / 2);
+        }
+
+        @Override
+        public long size(Object resource) {
+            return ((Long) resource).longValue();
+        }
+
+        @Override
+        public long estimateTextureSize(int width, int height, PixelFormat format) {
+            return (long) width * height * format.getBytesPerPixelUnit();
+        }
+
+        @Override
+        public long estimateRTTextureSize(int width, int height, boolean hasDepth) {
+            return (long) width * height * 4;
+        }
+    }
+
+    private static final class TestResource extends ManagedResource<Object> {
+        TestResource(long size, TestPool pool) {
+            super(Long.valueOf(size), pool);
+        }
+    }
+
+    private static final class TestTexture extends BaseTexture<TestResource> {
+        private final boolean views;
+        int updates;
+
+        TestTexture(TestResource resource, PixelFormat format, WrapMode wrapMode,
+                    int width, int height, boolean views) {
+            super(resource, format, wrapMode, width, height);
+            this.views = views;
+        }
+
+        private TestTexture(TestTexture pageTex, int x, int y, int w, int h) {
+            super(pageTex, x, y, w, h);
+            this.views = false;
+        }
+
+        @Override
+        protected Texture createSharedTexture(WrapMode newMode) {
+            return null;
+        }
+
+        @Override
+        protected Texture createSubTexture(int x, int y, int w, int h) {
+            return views ? new TestTexture(this, x, y, w, h) : null;
+        }
+
+        @Override
+        public void update(Buffer buffer, PixelFormat format,
+                           int dstx, int dsty, int srcx, int srcy,
+                           int srcw, int srch, int srcscan, boolean skipFlush) {
+            updates++;
+        }
+
+        @Override
+        public void update(MediaFrame frame, boolean skipFlush) {
+        }
+    }
+
+    private static final class TestResourceFactory extends BaseResourceFactory {
+        private final boolean views;
+        final TestPool pool = new TestPool();
+        final List<TestTexture> pages = new ArrayList<>();
+
+        TestResourceFactory(boolean views) {
+            this.views = views;
+        }
+
+        @Override
+        public TextureResourcePool getTextureResourcePool() {
+            return pool;
+        }
+
+        @Override
+        public Texture createTexture(PixelFormat formatHint, Usage usageHint,
+                                     WrapMode wrapMode, int w, int h) {
+            final TestResource resource = new TestResource(
+                    pool.estimateTextureSize(w, h, formatHint), pool);
+            final TestTexture tex = new TestTexture(resource, formatHint, wrapMode, w, h, views);
+            if (w == PAGE_SIZE && h == PAGE_SIZE) {
+                pages.add(tex);
+            }
+            return tex;
+        }
+
+        @Override
+        public Texture createTexture(PixelFormat formatHint, Usage usageHint,
+                                     WrapMode wrapMode, int w, int h, boolean useMipmap) {
+            return createTexture(formatHint, usageHint, wrapMode, w, h);
+        }
+
+        @Override
+        public int getMaximumTextureSize() {
+            return PAGE_SIZE;
+        }
+
+        @Override public Texture createTexture(MediaFrame frame) { return null; }
+        @Override public boolean isFormatSupported(PixelFormat format) { return true; }
+        @Override public int getRTTWidth(int w, WrapMode wrapMode) { return w; }
+        @Override public int getRTTHeight(int h, WrapMode wrapMode) { return h; }
+        @Override public RTTexture createRTTexture(int width, int height, WrapMode wrapMode) { return null; }
+        @Override public RTTexture createRTTexture(int width, int height, WrapMode wrapMode, boolean msaa) { return null; }
+        @Override public boolean isCompatibleTexture(Texture tex) { return true; }
+        @Override public Presentable createPresentable(PresentableState pState) { return null; }
+        @Override public ShapeRep createPathRep() { return null; }
+        @Override public ShapeRep createRoundRectRep() { return null; }
+        @Override public ShapeRep createEllipseRep() { return null; }
+        @Override public ShapeRep createArcRep() { return null; }
+        @Override public PhongMaterial createPhongMaterial() { return null; }
+        @Override public MeshView createMeshView(Mesh mesh) { return null; }
+        @Override public Mesh createMesh() { return null; }
+        @Override public void dispose() { }
+    }
+}
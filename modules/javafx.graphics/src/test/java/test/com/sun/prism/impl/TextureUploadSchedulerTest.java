@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.prism.impl;
+
+import com.sun.prism.impl.TextureUploadScheduler;
+import com.sun.prism.impl.TextureUploadSchedulerShim;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TextureUploadSchedulerTest {
+
+    private static final long BUDGET = 1000;
+
+    @After
+    public void tearDown() {
+        TextureUploadScheduler.endFrame();
+    }
+
+    @Test
+    public void testDeferredOverBudget() {
+        TextureUploadScheduler.beginFrame();
+        assertTrue(TextureUploadSchedulerShim.reserve(600, BUDGET));
+        assertTrue(TextureUploadSchedulerShim.reserve(400, BUDGET));
+        assertFalse(TextureUploadSchedulerShim.reserve(1, BUDGET));
+        assertTrue(TextureUploadScheduler.endFrame());
+    }
+
+    @Test
+    public void testFirstUploadOfFrameAlwaysAllowed() {
+        TextureUploadScheduler.beginFrame();
+        assertTrue(TextureUploadSchedulerShim.reserve(5000, BUDGET));
+        assertFalse(TextureUploadSchedulerShim.reserve(1, BUDGET));
+        assertTrue(TextureUploadScheduler.endFrame());
+
+        TextureUploadScheduler.beginFrame();
+        assertTrue(TextureUploadSchedulerShim.reserve(1, BUDGET));
+        assertFalse(TextureUploadScheduler.endFrame());
+    }
+
+    @Test
+    public void testNotDeferredOutsideOfFrame() {
+        // A snapshot renders between frames, after a frame spent the budget
+        TextureUploadScheduler.beginFrame();
+        assertTrue(TextureUploadSchedulerShim.reserve(5000, BUDGET));
+        TextureUploadScheduler.endFrame();
+
+        assertTrue(TextureUploadSchedulerShim.reserve(5000, BUDGET));
+        assertTrue(TextureUploadSchedulerShim.reserve(5000, BUDGET));
+    }
+
+    @Test
+    public void testNotDeferredInSynchronousRender() {
+        TextureUploadScheduler.beginFrame();
+        assertTrue(TextureUploadSchedulerShim.reserve(5000, BUDGET));
+
+        TextureUploadScheduler.beginSynchronousUploads();
+        try {
+            assertTrue(TextureUploadSchedulerShim.reserve(5000, BUDGET));
+            TextureUploadScheduler.beginSynchronousUploads();
+            TextureUploadScheduler.endSynchronousUploads();
+            assertTrue(TextureUploadSchedulerShim.reserve(5000, BUDGET));
+        } finally {
+            TextureUploadScheduler.endSynchronousUploads();
+        }
+
+        assertFalse(TextureUploadSchedulerShim.reserve(5000, BUDGET));
+        assertTrue(TextureUploadScheduler.endFrame());
+    }
+}
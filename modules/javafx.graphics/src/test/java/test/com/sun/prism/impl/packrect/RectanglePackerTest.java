@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl.packrect;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.impl.packrect.RectanglePacker;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class RectanglePackerTest {
+
+    @Test
+    public void levelBoundsContainPackedRectangles() {
+        RectanglePacker packer = new RectanglePacker(null, 10, 20, 100, 100, false);
+        Rectangle r = new Rectangle(0, 0, 30, 16);
+        assertTrue(packer.add(r));
+        assertEquals(1, packer.getLevelCount());
+        Rectangle bounds = new Rectangle();
+        packer.getLevelBounds(0, bounds);
+        assertEquals(new Rectangle(10, 20, 100, 16), bounds);
+        assertEquals(bounds.y, r.y);
+    }
+
+    @Test
+    public void verticalLevelBoundsContainPackedRectangles() {
+        RectanglePacker packer = new RectanglePacker(null, 100, 0, 100, 100, true);
+        Rectangle r = new Rectangle(0, 0, 16, 80);
+        assertTrue(packer.add(r));
+        Rectangle bounds = new Rectangle();
+        packer.getLevelBounds(0, bounds);
+        assertEquals(new Rectangle(100, 0, 16, 100), bounds);
+        assertEquals(bounds.x, r.x);
+    }
+
+    @Test
+    public void clearLevelAllowsReuse() {
+        RectanglePacker packer = new RectanglePacker(null, 0, 0, 64, 16, false);
+        Rectangle r = new Rectangle(0, 0, 64, 16);
+        assertTrue(packer.add(r));
+        r.setBounds(0, 0, 8, 16);
+        assertFalse(packer.add(r));
+
+        packer.clearLevel(0);
+        r.setBounds(0, 0, 32, 16);
+        assertTrue(packer.add(r));
+        assertEquals(0, r.x);
+        assertEquals(0, r.y);
+        assertEquals(1, packer.getLevelCount());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.prism.impl.shape;
+
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.ps.CachingShapeRep;
+import com.sun.prism.impl.shape.BasicShapeRep;
+import com.sun.prism.impl.shape.MaskData;
+import com.sun.prism.impl.shape.MaskPrefetcherShim;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MaskPrefetcherTest {
+
+    private MaskPrefetcherShim prefetcher;
+    private Path2D path;
+    private BasicStroke stroke;
+    private RectBounds clip;
+    private BaseTransform xform;
+
+    @Before
+    public void setUp() {
+        prefetcher = new MaskPrefetcherShim();
+        path = new Path2D();
+        path.moveTo(10, 10);
+        path.lineTo(60, 20);
+        path.lineTo(30, 70);
+        path.closePath();
+        stroke = new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10);
+        clip = new RectBounds(0, 0, 200, 200);
+        xform = BaseTransform.getTranslateInstance(3.5, 4);
+    }
+
+    private static void assertMaskEquals(MaskData expected, MaskData actual) {
+        assertEquals(expected.getOriginX(), actual.getOriginX());
+        assertEquals(expected.getOriginY(), actual.getOriginY());
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        final ByteBuffer e = expected.getMaskBuffer().duplicate();
+        final ByteBuffer a = actual.getMaskBuffer().duplicate();
+        e.rewind();
+        a.rewind();
+        for (int i = 0; i < expected.getWidth() * expected.getHeight(); i++) {
+            assertEquals(e.get(), a.get());
+        }
+    }
+
+    @Test
+    public void testPrefetchedMasksAreTaken() {
+        prefetcher.prefetch(path, null, clip, xform, true, true);
+        prefetcher.prefetch(path, stroke, clip, xform, true, true);
+        assertTrue(prefetcher.awaitQuiescence(10, TimeUnit.SECONDS));
+
+        final MaskData fill = prefetcher.take(path, null, clip, xform, true, true);
+        assertNotNull(fill);
+        assertMaskEquals(prefetcher.rasterize(path, null, clip, xform, true, true), fill);
+
+        final MaskData draw = prefetcher.take(path, stroke, clip, xform, true, true);
+        assertNotNull(draw);
+        assertMaskEquals(prefetcher.rasterize(path, stroke, clip, xform, true, true), draw);
+
+        // a mask is only taken once
+        assertNull(prefetcher.take(path, null, clip, xform, true, true));
+    }
+
+    @Test
+    public void testMaskWithOtherArgumentsIsNotTaken() {
+        prefetcher.prefetch(path, null, clip, xform, true, true);
+        assertTrue(prefetcher.awaitQuiescence(10, TimeUnit.SECONDS));
+
+        // such as the transformed shape bounds a cached mask is made with
+        final RectBounds shapeBounds = new RectBounds(13.5f, 14, 63.5f, 74);
+        assertNull(prefetcher.take(path, null, shapeBounds, xform, true, true));
+        assertNull(prefetcher.take(path, null, clip, BaseTransform.IDENTITY_TRANSFORM, true, true));
+        assertNull(prefetcher.take(path, null, clip, xform, true, false));
+
+        prefetcher.discard(path);
+        assertNull(prefetcher.take(path, null, clip, xform, true, true));
+    }
+
+    @Test
+    public void testMaskIsOnlyRasterizedThroughShaderGraphics() {
+        final RectBounds bounds = new RectBounds(10, 10, 60, 70);
+        assertFalse(new BasicShapeRep().isMaskRasterized(null, xform, bounds, false));
+        assertFalse(new CachingShapeRep().isMaskRasterized(null, xform, bounds, false));
+        assertFalse(new CachingShapeRep().isMaskRasterized(null, xform, bounds, true));
+    }
+}
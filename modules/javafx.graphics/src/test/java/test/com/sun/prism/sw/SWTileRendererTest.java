@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.sw;
+
+import com.sun.glass.utils.NativeLibLoader;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.prism.RTTexture;
+import com.sun.prism.sw.SWTileRendererShim;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+public class SWTileRendererTest {
+
+    // not a multiple of the tile count, so that the last tile is shorter
+    private static final int WIDTH = 97;
+    private static final int HEIGHT = 61;
+    private static final int TILES = 4;
+
+    private static boolean nativeLoaded;
+
+    private int[] tiled;
+    private int[] untiled;
+    private SWTileRendererShim tileRenderer;
+    private PiscesRenderer renderer;
+
+    @BeforeClass
+    public static void loadNative() {
+        try {
+            NativeLibLoader.loadLibrary("prism_sw");
+            nativeLoaded = true;
+        } catch (UnsatisfiedLinkError e) {
+            nativeLoaded = false;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        assumeTrue("prism_sw is not available", nativeLoaded);
+        tiled = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < tiled.length; i++) {
+            tiled[i] = (i % 7 == 0) ? 0xff102030 : 0x80402010;
+        }
+        untiled = tiled.clone();
+        tileRenderer = new SWTileRendererShim(tiled, WIDTH, HEIGHT, TILES);
+        renderer = new PiscesRenderer(new JavaSurface(untiled, RendererBase.TYPE_INT_ARGB_PRE, WIDTH, HEIGHT));
+    }
+
+    // renders op on the tiles and, as SWGraphics does without tiles, on a
+    // single renderer
+    private void render(Rectangle clip, int compositeRule, int argb, SWTileRendererShim.Op op) {
+        tileRenderer.render(clip, compositeRule, argb, op);
+
+        renderer.setClip(clip.x, clip.y, clip.width, clip.height);
+        renderer.setCompositeRule(compositeRule);
+        renderer.setColor((argb >> 16) & 0xff, (argb >> 8) & 0xff, argb & 0xff, (argb >>> 24));
+        op.render(renderer);
+    }
+
+    @Test
+    public void testClear() {
+        render(new Rectangle(0, 0, WIDTH, HEIGHT), RendererBase.COMPOSITE_SRC, 0xff336699,
+               pr -> pr.clearRect(0, 0, WIDTH, HEIGHT));
+        assertArrayEquals(untiled, tiled);
+    }
+
+    @Test
+    public void testClearWithinClip() {
+        render(new Rectangle(5, 13, 60, 31), RendererBase.COMPOSITE_SRC, 0x80ff0000,
+               pr -> pr.clearRect(0, 0, WIDTH, HEIGHT));
+        assertArrayEquals(untiled, tiled);
+    }
+
+    @Test
+    public void testFillAcrossTiles() {
+        final Rectangle clip = new Rectangle(0, 0, WIDTH, HEIGHT);
+        render(clip, RendererBase.COMPOSITE_SRC_OVER, 0x9900ff80,
+               pr -> pr.fillRect(3 << 16, 10 << 16, 80 << 16, 45 << 16));
+        // a fractional rectangle has antialiased edges on the tile borders
+        render(clip, RendererBase.COMPOSITE_SRC_OVER, 0x40ffffff,
+               pr -> pr.fillRect((7 << 16) + 0x8000, (14 << 16) + 0x4000, 50 << 16, (33 << 16) + 0x2000));
+        assertArrayEquals(untiled, tiled);
+    }
+
+    @Test
+    public void testClipOutsideOfTiles() {
+        render(new Rectangle(WIDTH, HEIGHT, 10, 10), RendererBase.COMPOSITE_SRC, 0xffffffff,
+               pr -> pr.clearRect(0, 0, WIDTH, HEIGHT));
+        assertArrayEquals(untiled, tiled);
+    }
+
+    @Test
+    public void testVerticalOpacityThroughGraphics() {
+        // large enough to be tiled with the default prism.sw.tileminarea
+        final int size = 300;
+        final RTTexture image = SWTileRendererShim.createRenderTarget(size, size, 1);
+        Arrays.fill(SWTileRendererShim.getPixels(image), 0xffffffff);
+        final RTTexture tiledTarget = SWTileRendererShim.createRenderTarget(size, size, TILES);
+        final RTTexture untiledTarget = SWTileRendererShim.createRenderTarget(size, size, 1);
+
+        // drawTextureVO multiplies the image with a gradient, as a Reflection does
+        tiledTarget.createGraphics().drawTextureVO(image, 1f, 0f, 0, 0, size, size, 0, 0, size, size);
+        untiledTarget.createGraphics().drawTextureVO(image, 1f, 0f, 0, 0, size, size, 0, 0, size, size);
+
+        final int[] pixels = SWTileRendererShim.getPixels(tiledTarget);
+        assertArrayEquals(SWTileRendererShim.getPixels(untiledTarget), pixels);
+        assertTrue((pixels[(size - 1) * size] >>> 24) < 0x10);
+    }
+
+    @Test
+    public void testSingleTileIsNotTiled() {
+        final SWTileRendererShim single = new SWTileRendererShim(new int[WIDTH * HEIGHT], WIDTH, HEIGHT, 1);
+        assertFalse(single.shouldTile(new Rectangle(0, 0, WIDTH, HEIGHT), 0, 0, WIDTH, HEIGHT));
+    }
+}
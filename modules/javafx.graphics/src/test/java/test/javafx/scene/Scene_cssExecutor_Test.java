@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringBinding;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class Scene_cssExecutor_Test {
+
+    private ExecutorService pool;
+    private AtomicInteger taskCount;
+    private Executor countingExecutor;
+
+    @Before
+    public void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+        taskCount = new AtomicInteger();
+        countingExecutor = task -> {
+            taskCount.incrementAndGet();
+            pool.execute(task);
+        };
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static Scene createScene(Group root) {
+        final Scene scene = new Scene(root);
+        scene.getStylesheets().add(
+                Scene_cssExecutor_Test.class.getResource("Scene_cssExecutor_Test.css").toExternalForm());
+        return scene;
+    }
+
+    private static Group createBranch(int rows, int columns) {
+        final Group branch = new Group();
+        for (int r = 0; r < rows; r++) {
+            final Group row = new Group();
+            row.getStyleClass().add("row");
+            if (r % 2 == 1) {
+                row.getStyleClass().add("odd");
+            }
+            for (int c = 0; c < columns; c++) {
+                final Rectangle cell = new Rectangle(10, 10);
+                cell.getStyleClass().add("cell");
+                if (c == 0) {
+                    cell.getStyleClass().add("first");
+                }
+                row.getChildren().add(cell);
+            }
+            branch.getChildren().add(row);
+        }
+        return branch;
+    }
+
+    private static void assertStyled(Group branch) {
+        for (int r = 0; r < branch.getChildren().size(); r++) {
+            final Group row = (Group) branch.getChildren().get(r);
+            for (int c = 0; c < row.getChildren().size(); c++) {
+                final Rectangle cell = (Rectangle) row.getChildren().get(c);
+                assertEquals(r % 2 == 1 ? Color.BLUE : Color.RED, cell.getFill());
+                assertEquals(c == 0 ? Color.GREEN : null, cell.getStroke());
+            }
+        }
+    }
+
+    @Test
+    public void testLargeBranchIsMatchedOnExecutor() {
+        final Group root = new Group();
+        final Scene scene = createScene(root);
+        scene.setCssExecutor(countingExecutor);
+
+        final Group branch = createBranch(20, 20);
+        root.getChildren().add(branch);
+        root.applyCss();
+
+        assertTrue(taskCount.get() > 0);
+        assertStyled(branch);
+    }
+
+    @Test
+    public void testStylesAreTheSameWithoutExecutor() {
+        final Group root = new Group();
+        final Scene scene = createScene(root);
+
+        final Group branch = createBranch(20, 20);
+        root.getChildren().add(branch);
+        root.applyCss();
+
+        assertEquals(0, taskCount.get());
+        assertStyled(branch);
+    }
+
+    @Test
+    public void testSmallBranchIsMatchedOnCallingThread() {
+        final Group root = new Group();
+        final Scene scene = createScene(root);
+        scene.setCssExecutor(countingExecutor);
+
+        final Group branch = createBranch(2, 5);
+        root.getChildren().add(branch);
+        root.applyCss();
+
+        assertEquals(0, taskCount.get());
+        assertStyled(branch);
+    }
+
+    @Test
+    public void testRejectingExecutorFallsBackToCallingThread() {
+        final Group root = new Group();
+        final Scene scene = createScene(root);
+        scene.setCssExecutor(task -> {
+            throw new RejectedExecutionException();
+        });
+
+        final Group branch = createBranch(20, 20);
+        root.getChildren().add(branch);
+        root.applyCss();
+
+        assertStyled(branch);
+    }
+
+    @Test
+    public void testBranchChangedAfterMatchingIsRestyled() {
+        final Group root = new Group();
+        final Scene scene = createScene(root);
+        scene.setCssExecutor(countingExecutor);
+
+        final Group branch = createBranch(20, 20);
+        root.getChildren().add(branch);
+        root.applyCss();
+
+        final Group row = (Group) branch.getChildren().get(0);
+        row.getStyleClass().add("odd");
+        root.applyCss();
+
+        for (int c = 0; c < row.getChildren().size(); c++) {
+            assertEquals(Color.BLUE, ((Rectangle) row.getChildren().get(c)).getFill());
+        }
+    }
+
+    @Test
+    public void testChildrenThatAreNotRestyledAreNotMatched() {
+        final Group root = new Group();
+        final Scene scene = createScene(root);
+        scene.setCssExecutor(countingExecutor);
+
+        final Group branch = createBranch(20, 20);
+        branch.getStyleClass().add("branch");
+        root.getChildren().add(branch);
+        root.applyCss();
+        assertEquals(0.5, branch.getOpacity(), 0);
+        final int tasks = taskCount.get();
+
+        // CSS is reapplied to the branch, but its styles do not change, so
+        // its children are not visited
+        branch.getStyleClass().add("other");
+        branch.getStyleClass().remove("other");
+        root.applyCss();
+
+        assertEquals(tasks, taskCount.get());
+        assertStyled(branch);
+    }
+
+    @Test
+    public void testBoundStyleAndIdAreEvaluatedOnCallingThread() {
+        final Group root = new Group();
+        final Scene scene = createScene(root);
+        // Each task is done before the next one is submitted, so the tasks
+        // match their nodes before the calling thread matches its own
+        scene.setCssExecutor(task -> {
+            taskCount.incrementAndGet();
+            try {
+                pool.submit(task).get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RejectedExecutionException(e);
+            }
+        });
+
+        // The bindings are shared by all of the cells
+        final Thread callingThread = Thread.currentThread();
+        final AtomicInteger otherThreadCount = new AtomicInteger();
+        final StringProperty strokeWidth = new SimpleStringProperty("1");
+        final StringBinding style = Bindings.createStringBinding(() -> {
+            if (Thread.currentThread() != callingThread) otherThreadCount.incrementAndGet();
+            return "-fx-stroke-width: " + strokeWidth.get() + ";";
+        }, strokeWidth);
+        final StringBinding id = Bindings.createStringBinding(() -> {
+            if (Thread.currentThread() != callingThread) otherThreadCount.incrementAndGet();
+            return "cell" + strokeWidth.get();
+        }, strokeWidth);
+
+        final Group branch = createBranch(20, 20);
+        for (int r = 0; r < branch.getChildren().size(); r++) {
+            for (Node cell : ((Group) branch.getChildren().get(r)).getChildren()) {
+                cell.styleProperty().bind(style);
+                cell.idProperty().bind(id);
+            }
+        }
+        root.getChildren().add(branch);
+        root.applyCss();
+
+        // CSS is reapplied to the whole scene graph after the bindings
+        // are invalidated, so they are evaluated again while matching
+        taskCount.set(0);
+        strokeWidth.set("2");
+        root.getStyleClass().add("other");
+        root.applyCss();
+
+        assertTrue(taskCount.get() > 0);
+        assertEquals(0, otherThreadCount.get());
+        assertStyled(branch);
+        final Rectangle cell = (Rectangle) ((Group) branch.getChildren().get(0)).getChildren().get(0);
+        assertEquals("cell2", cell.getId());
+        assertEquals(2, cell.getStrokeWidth(), 0);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -29,6 +29,7 @@ import com.sun.javafx.cursor.CursorFrame;
 import com.sun.javafx.event.EventHandlerManager;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.Executor;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.geometry.NodeOrientation;
@@ -84,6 +85,7 @@ public final class Scene_properties_Test extends PropertiesTestBase {
             config(testScene, "root", new Group(), new Pane()),
             config(testScene, "cursor", null, CursorShim.getCursor("TestCursor")),
             config(testScene, "cursor", Cursor.DEFAULT, Cursor.CROSSHAIR),
+            config(testScene, "cssExecutor", null, (Executor) Runnable::run),
             config(testScene, "eventDispatcher",
                    null,
                    new EventHandlerManager(null)),
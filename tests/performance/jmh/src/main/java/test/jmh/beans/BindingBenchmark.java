@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.beans;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.NumberBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures propagation of changes through chains of bound properties and
+ * through a binding that depends on several properties, with and without
+ * {@link Bindings#runAsBatch(Runnable)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BindingBenchmark {
+
+    @Param({"1", "10"})
+    public int chainLength;
+
+    private IntegerProperty head;
+    private IntegerProperty tail;
+    private IntegerProperty a;
+    private IntegerProperty b;
+    private IntegerProperty c;
+    private NumberBinding sum;
+    private int value;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        head = new SimpleIntegerProperty();
+        tail = head;
+        for (int i = 0; i < chainLength; i++) {
+            final IntegerProperty next = new SimpleIntegerProperty();
+            next.bind(tail);
+            tail = next;
+        }
+        tail.addListener((observable, oldValue, newValue) -> blackhole.consume(newValue));
+
+        a = new SimpleIntegerProperty();
+        b = new SimpleIntegerProperty();
+        c = new SimpleIntegerProperty();
+        sum = a.add(b).add(c);
+        sum.addListener((observable, oldValue, newValue) -> blackhole.consume(newValue));
+    }
+
+    @Benchmark
+    public int setChainHead() {
+        head.set(++value);
+        return tail.get();
+    }
+
+    @Benchmark
+    public int setSumOperands() {
+        value++;
+        a.set(value);
+        b.set(value);
+        c.set(value);
+        return sum.intValue();
+    }
+
+    @Benchmark
+    public int setSumOperandsAsBatch() {
+        value++;
+        Bindings.runAsBatch(() -> {
+            a.set(value);
+            b.set(value);
+            c.set(value);
+        });
+        return sum.intValue();
+    }
+}
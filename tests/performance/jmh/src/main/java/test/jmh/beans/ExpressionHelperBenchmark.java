@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.beans;
+
+import java.util.concurrent.TimeUnit;
+
+import com.sun.javafx.binding.ExpressionHelper;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures adding and removing listeners through {@link ExpressionHelper} and
+ * firing events to them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExpressionHelperBenchmark {
+
+    @Param({"1", "2", "16"})
+    public int listenerCount;
+
+    private ObservableValue<Object> observable;
+    private InvalidationListener[] invalidationListeners;
+    private ChangeListener<Object>[] changeListeners;
+    private ExpressionHelper<Object> populatedHelper;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp(Blackhole blackhole) {
+        observable = new SimpleObjectProperty<>(new Object());
+        invalidationListeners = new InvalidationListener[listenerCount];
+        changeListeners = new ChangeListener[listenerCount];
+        for (int i = 0; i < listenerCount; i++) {
+            invalidationListeners[i] = o -> blackhole.consume(o);
+            changeListeners[i] = (o, oldValue, newValue) -> blackhole.consume(newValue);
+        }
+
+        for (int i = 0; i < listenerCount; i++) {
+            populatedHelper = ExpressionHelper.addListener(populatedHelper, observable, invalidationListeners[i]);
+        }
+    }
+
+    @Benchmark
+    public ExpressionHelper<Object> addRemoveInvalidationListenersFifo() {
+        ExpressionHelper<Object> helper = null;
+        for (InvalidationListener listener : invalidationListeners) {
+            helper = ExpressionHelper.addListener(helper, observable, listener);
+        }
+        for (InvalidationListener listener : invalidationListeners) {
+            helper = ExpressionHelper.removeListener(helper, listener);
+        }
+        return helper;
+    }
+
+    @Benchmark
+    public ExpressionHelper<Object> addRemoveInvalidationListenersLifo() {
+        ExpressionHelper<Object> helper = null;
+        for (InvalidationListener listener : invalidationListeners) {
+            helper = ExpressionHelper.addListener(helper, observable, listener);
+        }
+        for (int i = invalidationListeners.length - 1; i >= 0; i--) {
+            helper = ExpressionHelper.removeListener(helper, invalidationListeners[i]);
+        }
+        return helper;
+    }
+
+    @Benchmark
+    public ExpressionHelper<Object> addRemoveChangeListeners() {
+        ExpressionHelper<Object> helper = null;
+        for (ChangeListener<Object> listener : changeListeners) {
+            helper = ExpressionHelper.addListener(helper, observable, listener);
+        }
+        for (ChangeListener<Object> listener : changeListeners) {
+            helper = ExpressionHelper.removeListener(helper, listener);
+        }
+        return helper;
+    }
+
+    @Benchmark
+    public void fireInvalidationEvent() {
+        ExpressionHelper.fireValueChangedEvent(populatedHelper);
+    }
+}
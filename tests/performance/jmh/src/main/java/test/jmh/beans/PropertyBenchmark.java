@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.beans;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures get and set of simple properties with a varying number and kind of
+ * registered listeners.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyBenchmark {
+
+    @Param({"0", "1", "4"})
+    public int listenerCount;
+
+    @Param({"invalidation", "change"})
+    public String listenerKind;
+
+    private DoubleProperty doubleProperty;
+    private ObjectProperty<Object> objectProperty;
+    private double doubleValue;
+    private int counter;
+    private Object[] values;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        doubleProperty = new SimpleDoubleProperty();
+        objectProperty = new SimpleObjectProperty<>();
+        values = new Object[] {new Object(), new Object()};
+
+        for (int i = 0; i < listenerCount; i++) {
+            if ("invalidation".equals(listenerKind)) {
+                final InvalidationListener listener = observable -> blackhole.consume(observable);
+                doubleProperty.addListener(listener);
+                objectProperty.addListener(listener);
+            } else {
+                final ChangeListener<Object> listener = (observable, oldValue, newValue) -> blackhole.consume(newValue);
+                doubleProperty.addListener(listener);
+                objectProperty.addListener(listener);
+            }
+        }
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return doubleProperty.get();
+    }
+
+    @Benchmark
+    public double setDouble() {
+        doubleValue += 1.0;
+        doubleProperty.set(doubleValue);
+        return doubleProperty.get();
+    }
+
+    /**
+     * Setting the current value returns early in the property, so this only
+     * measures that comparison and never reaches the listeners. See
+     * {@link UnchangedValueBenchmark} for listeners notified of an unchanged
+     * value.
+     */
+    @Benchmark
+    public double setDoubleUnchanged() {
+        doubleProperty.set(doubleValue);
+        return doubleProperty.get();
+    }
+
+    @Benchmark
+    public Object getObject() {
+        return objectProperty.get();
+    }
+
+    @Benchmark
+    public Object setObject() {
+        objectProperty.set(values[counter++ & 1]);
+        return objectProperty.get();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.beans;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.binding.IntegerBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ChangeListener;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the notification of change listeners of primitive bindings that
+ * are invalidated, but whose value does not change. The listener helper
+ * then compares the new primitive value with the last one without boxing
+ * it, and no listener is called, so these benchmarks should not allocate
+ * in the steady state. Run them with the GC profiler to check this:
+ * <pre>
+ * gradle -PBUILD_JMH=true -PJMH_INCLUDE=UnchangedValueBenchmark -PJMH_ARGS="-prof gc" :jmh:jmh
+ * </pre>
+ * The expected {@code gc.alloc.rate.norm} is about 0 B/op. One listener is
+ * handled by a single listener helper, more listeners by the generic one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UnchangedValueBenchmark {
+
+    @Param({"1", "4"})
+    public int listenerCount;
+
+    private DoubleProperty doubleSource;
+    private DoubleBinding doubleBinding;
+    private IntegerProperty integerSource;
+    private IntegerBinding integerBinding;
+    private int counter;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        doubleSource = new SimpleDoubleProperty();
+        doubleBinding = new DoubleBinding() {
+            {
+                bind(doubleSource);
+            }
+
+            @Override
+            protected double computeValue() {
+                return Math.floor(doubleSource.get());
+            }
+        };
+        integerSource = new SimpleIntegerProperty();
+        integerBinding = new IntegerBinding() {
+            {
+                bind(integerSource);
+            }
+
+            @Override
+            protected int computeValue() {
+                return integerSource.get() / 2;
+            }
+        };
+
+        final ChangeListener<Number> listener = (observable, oldValue, newValue) -> blackhole.consume(newValue);
+        for (int i = 0; i < listenerCount; i++) {
+            doubleBinding.addListener(listener);
+            integerBinding.addListener(listener);
+        }
+    }
+
+    /**
+     * The source alternates between 0.25 and 0.5, so the binding is
+     * invalidated every time and always recomputed to 0.
+     */
+    @Benchmark
+    public double invalidateDoubleBinding() {
+        doubleSource.set((counter++ & 1) == 0 ? 0.25 : 0.5);
+        return doubleBinding.get();
+    }
+
+    /**
+     * The source alternates between 2 and 3, so the binding is invalidated
+     * every time and always recomputed to 1.
+     */
+    @Benchmark
+    public int invalidateIntegerBinding() {
+        integerSource.set(2 + (counter++ & 1));
+        return integerBinding.get();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableListBase;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the aggregation of sub changes into a single change event. The
+ * change builder of {@link ObservableListBase} is package private, so it is
+ * driven through the protected {@code next*} methods of a minimal list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListChangeBuilderBenchmark {
+
+    @Param({"10", "1000"})
+    public int changeCount;
+
+    private ChangeList list;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        list = new ChangeList(changeCount);
+        list.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                blackhole.consume(change.getFrom());
+                blackhole.consume(change.getTo());
+            }
+        });
+    }
+
+    @Benchmark
+    public void sequentialAdds() {
+        list.sequentialAdds();
+    }
+
+    @Benchmark
+    public void scatteredAdds() {
+        list.scatteredAdds();
+    }
+
+    @Benchmark
+    public void sequentialRemoves() {
+        list.sequentialRemoves();
+    }
+
+    @Benchmark
+    public void scatteredUpdates() {
+        list.scatteredUpdates();
+    }
+
+    @Benchmark
+    public void mixedChanges() {
+        list.mixedChanges();
+    }
+
+    /**
+     * A list that does not hold any data itself but reports prepared sub
+     * changes. Only the positions reported to the listener are relevant.
+     */
+    private static final class ChangeList extends ObservableListBase<Integer> {
+
+        private final int changeCount;
+        private final List<Integer> removed = new ArrayList<>();
+
+        ChangeList(int changeCount) {
+            this.changeCount = changeCount;
+            this.removed.add(0);
+        }
+
+        @Override
+        public Integer get(int index) {
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return 2 * changeCount;
+        }
+
+        void sequentialAdds() {
+            beginChange();
+            for (int i = 0; i < changeCount; i++) {
+                nextAdd(i, i + 1);
+            }
+            endChange();
+        }
+
+        void scatteredAdds() {
+            beginChange();
+            for (int i = 0; i < changeCount; i++) {
+                nextAdd(2 * i, 2 * i + 1);
+            }
+            endChange();
+        }
+
+        void sequentialRemoves() {
+            beginChange();
+            for (int i = 0; i < changeCount; i++) {
+                nextRemove(0, removed);
+            }
+            endChange();
+        }
+
+        void scatteredUpdates() {
+            beginChange();
+            for (int i = changeCount - 1; i >= 0; i--) {
+                nextUpdate(2 * i);
+            }
+            endChange();
+        }
+
+        void mixedChanges() {
+            beginChange();
+            for (int i = 0; i < changeCount; i++) {
+                switch (i % 3) {
+                    case 0:
+                        nextAdd(i, i + 1);
+                        break;
+                    case 1:
+                        nextRemove(i, removed);
+                        break;
+                    default:
+                        nextSet(i, i);
+                        break;
+                }
+            }
+            endChange();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures bulk operations on the list returned by
+ * {@link FXCollections#observableArrayList()} with a listener attached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObservableListBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Integer> elements;
+    private List<Integer> evenElements;
+    private ObservableList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void createElements() {
+        final Random random = new Random(42);
+        elements = new ArrayList<>(size);
+        evenElements = new ArrayList<>(size / 2);
+        for (int i = 0; i < size; i++) {
+            final Integer element = random.nextInt(size);
+            elements.add(element);
+            if ((element & 1) == 0) {
+                evenElements.add(element);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createList(Blackhole blackhole) {
+        list = FXCollections.observableArrayList(elements);
+        list.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                blackhole.consume(change.getFrom());
+                blackhole.consume(change.getTo());
+            }
+        });
+    }
+
+    @Benchmark
+    public ObservableList<Integer> addAll() {
+        list.addAll(elements);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> addAllAtIndex() {
+        list.addAll(size / 2, elements);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> setAll() {
+        list.setAll(elements);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> removeAll() {
+        list.removeAll(evenElements);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> retainAll() {
+        list.retainAll(evenElements);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> removeRange() {
+        list.remove(size / 4, size - size / 4);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> sort() {
+        FXCollections.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> reverse() {
+        Collections.reverse(list);
+        return list;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.collections;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how {@link SortedList} and {@link FilteredList} follow changes of
+ * their source list and of their comparator and predicate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransformationListBenchmark {
+
+    private static final Predicate<Integer> EVEN = i -> (i & 1) == 0;
+    private static final Predicate<Integer> ODD = i -> (i & 1) != 0;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Integer> elements;
+    private List<Integer> batch;
+    private ObservableList<Integer> source;
+    private SortedList<Integer> sorted;
+    private FilteredList<Integer> filtered;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void createElements() {
+        final Random random = new Random(42);
+        elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(random.nextInt());
+        }
+        batch = new ArrayList<>(elements.subList(0, Math.max(1, size / 10)));
+    }
+
+    @Setup(Level.Invocation)
+    public void createLists(Blackhole blackhole) {
+        source = FXCollections.observableArrayList(elements);
+        sorted = new SortedList<>(source, Comparator.naturalOrder());
+        filtered = new FilteredList<>(source, EVEN);
+
+        final ListChangeListener<Integer> listener = change -> {
+            while (change.next()) {
+                blackhole.consume(change.getFrom());
+            }
+        };
+        sorted.addListener(listener);
+        filtered.addListener(listener);
+    }
+
+    @Benchmark
+    public int addSingle() {
+        source.add(counter++);
+        return sorted.size() + filtered.size();
+    }
+
+    @Benchmark
+    public int addAll() {
+        source.addAll(batch);
+        return sorted.size() + filtered.size();
+    }
+
+    @Benchmark
+    public int removeSingle() {
+        source.remove(source.size() / 2);
+        return sorted.size() + filtered.size();
+    }
+
+    @Benchmark
+    public int removeAll() {
+        source.removeAll(batch);
+        return sorted.size() + filtered.size();
+    }
+
+    @Benchmark
+    public int setSingle() {
+        source.set(source.size() / 2, counter++);
+        return sorted.size() + filtered.size();
+    }
+
+    @Benchmark
+    public int sortSource() {
+        FXCollections.sort(source);
+        return sorted.size() + filtered.size();
+    }
+
+    @Benchmark
+    public int changeComparator() {
+        sorted.setComparator(Comparator.reverseOrder());
+        return sorted.size();
+    }
+
+    @Benchmark
+    public int changePredicate() {
+        filtered.setPredicate(ODD);
+        return filtered.size();
+    }
+}